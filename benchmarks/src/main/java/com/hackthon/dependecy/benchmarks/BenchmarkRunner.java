@@ -0,0 +1,71 @@
+package com.hackthon.dependecy.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Entry point of benchmarks.jar.
+ *
+ * Without "compare" it runs JMH with the given arguments (filters, -f, -wi, ...) and, unless
+ * a result format is given, writes JSON results to target/jmh-result.json. "compare old.json
+ * new.json" lines up two result files by benchmark and parameters and prints the change in
+ * score, flagging changes larger than the combined error margins.
+ */
+public class BenchmarkRunner {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals("compare")) {
+            compare(Path.of(args[1]), Path.of(args[2]));
+            return;
+        }
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            Files.createDirectories(Path.of("target"));
+            options.addAll(List.of("-rf", "json", "-rff", "target/jmh-result.json"));
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+
+    private static void compare(Path before, Path after) throws IOException {
+        Map<String, JsonNode> baseline = index(before);
+        Map<String, JsonNode> current = index(after);
+        System.out.printf("%-75s %14s %14s %9s%n", "Benchmark", "Before", "After", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue().path("primaryMetric");
+            JsonNode then = baseline.containsKey(entry.getKey()) ? baseline.get(entry.getKey()).path("primaryMetric") : null;
+            String unit = now.path("scoreUnit").asText();
+            if (then == null) {
+                System.out.printf("%-75s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.path("score").asDouble(), "new", unit);
+                continue;
+            }
+            double oldScore = then.path("score").asDouble();
+            double newScore = now.path("score").asDouble();
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            double margin = then.path("scoreError").asDouble(0) + now.path("scoreError").asDouble(0);
+            boolean significant = !Double.isNaN(margin) && Math.abs(newScore - oldScore) > margin;
+            System.out.printf("%-75s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), oldScore, newScore, change, unit,
+                    significant ? "" : "  (within error)");
+        }
+    }
+
+    // benchmark name plus sorted parameters -> result
+    private static Map<String, JsonNode> index(Path results) throws IOException {
+        Map<String, JsonNode> indexed = new TreeMap<>();
+        for (JsonNode result : OBJECT_MAPPER.readTree(Files.readAllBytes(results))) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.hackthon.dependecy.benchmarks.", ""));
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            indexed.put(key.toString(), result);
+        }
+        return indexed;
+    }
+}
@@ -0,0 +1,57 @@
+package com.hackthon.dependecy.benchmarks;
+
+import com.hackthon.dependecy.DependencyGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Turning dependency:tree output into OSS Index package URLs. "regex" is the pattern the
+// vulnerability services used to scrape the text tree (compiled once, as the best case for
+// that approach); "parseGraph" parses the same text into a DependencyGraph, which is what the
+// subprocess resolver does now; "graphPackageUrls" is the cost once a graph is already in hand.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CoordinateExtractionBenchmark {
+
+    private static final Pattern LEGACY = Pattern.compile("\\s*[-+\\\\| ]*([\\w.-]+):([\\w.-]+):[\\w.-]+:([\\d.]+):[\\w.-]+");
+
+    @Param({"300", "3000"})
+    public int nodes;
+
+    private String tree;
+    private DependencyGraph graph;
+
+    @Setup
+    public void setUp() {
+        graph = Fixtures.graph(nodes, 42);
+        tree = graph.render();
+    }
+
+    @Benchmark
+    public List<String> regex() {
+        Matcher matcher = LEGACY.matcher(tree);
+        List<String> coordinates = new ArrayList<>();
+        while (matcher.find()) {
+            coordinates.add("pkg:maven/" + matcher.group(1) + "/" + matcher.group(2) + "@" + matcher.group(3));
+        }
+        return coordinates;
+    }
+
+    @Benchmark
+    public List<String> parseGraph() {
+        return DependencyGraph.parse(tree).packageUrls();
+    }
+
+    @Benchmark
+    public List<String> graphPackageUrls() {
+        return graph.packageUrls();
+    }
+}
@@ -0,0 +1,74 @@
+package com.hackthon.dependecy.benchmarks;
+
+import com.hackthon.dependecy.MavenDependencyRequest;
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Parsing the <dependency> XML posted to /dependency-tree and /vulnerability. "controllerDom" is
+// the controllers' path (a new DocumentBuilderFactory per request, then DOM lookups);
+// "reusedBuilder" keeps one DocumentBuilder per thread; "stax" reads the same fields with a
+// streaming parser and never builds a tree.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DependencyXmlParsingBenchmark {
+
+    @Param({"0", "20"})
+    public int exclusions;
+
+    private String xml;
+    private DocumentBuilder builder;
+    private XMLInputFactory staxFactory;
+
+    @Setup
+    public void setUp() throws Exception {
+        xml = Fixtures.dependencyXml(exclusions);
+        builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        staxFactory = XMLInputFactory.newFactory();
+    }
+
+    @Benchmark
+    public MavenDependencyRequest controllerDom() throws Exception {
+        return MavenDependencyRequest.fromXml(xml);
+    }
+
+    @Benchmark
+    public MavenDependencyRequest reusedBuilder() throws Exception {
+        builder.reset();
+        Document document = builder.parse(new InputSource(new StringReader(xml)));
+        return MavenDependencyRequest.fromElement(document.getDocumentElement());
+    }
+
+    @Benchmark
+    public List<String> stax() throws Exception {
+        XMLStreamReader reader = staxFactory.createXMLStreamReader(new StringReader(xml));
+        List<String> values = new ArrayList<>();
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (name.equals("groupId") || name.equals("artifactId") || name.equals("version")) {
+                        values.add(reader.getElementText().trim());
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,99 @@
+package com.hackthon.dependecy.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackthon.dependecy.DependencyGraph;
+
+import java.util.*;
+
+// Deterministic inputs shaped like real workloads: dependency trees with a few hundred or a few
+// thousand nodes (the sizes Spring Boot starters and large enterprise poms produce), the
+// dependency XML the controllers receive, and OSS Index component-report responses.
+final class Fixtures {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String[] SCOPES = {"compile", "compile", "compile", "runtime", "test", "provided"};
+    private static final String[] QUALIFIERS = {"", "", "", "", "", "", "", "", ".Final", "-jre"};
+
+    private Fixtures() {
+    }
+
+    // Pre-order tree: each new node hangs off some node on the current path, depth at most 9
+    static DependencyGraph graph(int nodes, long seed) {
+        Random random = new Random(seed);
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        Deque<Integer> path = new ArrayDeque<>();
+        for (int i = 0; i < nodes; i++) {
+            int pops = path.size() >= 9 ? 1 + random.nextInt(3) : random.nextInt(3);
+            for (int p = 0; p < pops && !path.isEmpty(); p++) {
+                path.pop();
+            }
+            int parent = path.isEmpty() ? -1 : path.peek();
+            int group = random.nextInt(Math.max(8, nodes / 10));
+            String version = (1 + random.nextInt(6)) + "." + random.nextInt(20) + "." + random.nextInt(10)
+                    + QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+            int node = builder.add(parent, "org.example.group" + group, "artifact-" + group + "-" + random.nextInt(40),
+                    "jar", null, version, SCOPES[random.nextInt(SCOPES.length)], random.nextInt(30) == 0);
+            path.push(node);
+        }
+        return builder.build();
+    }
+
+    // A <dependency> element with the given number of exclusions
+    static String dependencyXml(int exclusions) {
+        StringBuilder xml = new StringBuilder("""
+                <dependency>
+                    <groupId>org.springframework.boot</groupId>
+                    <artifactId>spring-boot-starter-web</artifactId>
+                    <version>3.4.4</version>
+                """);
+        if (exclusions > 0) {
+            xml.append("    <exclusions>\n");
+            for (int i = 0; i < exclusions; i++) {
+                xml.append("""
+                                <exclusion>
+                                    <groupId>org.example.group%d</groupId>
+                                    <artifactId>artifact-%d</artifactId>
+                                </exclusion>
+                        """.formatted(i, i));
+            }
+            xml.append("    </exclusions>\n");
+        }
+        return xml.append("</dependency>\n").toString();
+    }
+
+    // Response body for a batch of package URLs; about one in ten components has advisories
+    static String ossIndexResponse(List<String> coordinates, long seed) {
+        Random random = new Random(seed);
+        List<Map<String, Object>> reports = new ArrayList<>();
+        for (String coordinate : coordinates) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("coordinates", coordinate);
+            report.put("description", "Component description for " + coordinate);
+            report.put("reference", "https://ossindex.sonatype.org/component/" + coordinate);
+            List<Map<String, Object>> vulnerabilities = new ArrayList<>();
+            if (random.nextInt(10) == 0) {
+                for (int v = 0, count = 1 + random.nextInt(3); v < count; v++) {
+                    String id = UUID.nameUUIDFromBytes((coordinate + v).getBytes()).toString();
+                    Map<String, Object> vulnerability = new LinkedHashMap<>();
+                    vulnerability.put("id", id);
+                    vulnerability.put("displayName", "CVE-2024-" + (10000 + random.nextInt(80000)));
+                    vulnerability.put("title", "[CVE] Improper Input Validation");
+                    vulnerability.put("description", "A flaw was found that allows a remote attacker to ".repeat(6));
+                    vulnerability.put("cvssScore", Math.round(random.nextDouble() * 100) / 10.0);
+                    vulnerability.put("cvssVector", "CVSS:3.1/AV:N/AC:L/PR:N/UI:N/S:U/C:H/I:H/A:H");
+                    vulnerability.put("cwe", "CWE-20");
+                    vulnerability.put("reference", "https://ossindex.sonatype.org/vulnerability/" + id);
+                    vulnerability.put("externalReferences", List.of("https://nvd.nist.gov/vuln/detail/" + id));
+                    vulnerabilities.add(vulnerability);
+                }
+            }
+            report.put("vulnerabilities", vulnerabilities);
+            reports.add(report);
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(reports);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hackthon.dependecy.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackthon.dependecy.NpmDependencyResolver;
+import com.hackthon.dependecy.NpmRegistryCache;
+import com.hackthon.dependecy.NpmRegistryStubServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// npm registry cache lookups against a local stub registry, all from a warm cache.
+// "cacheHit" is one NpmRegistryCache read (sketch update, LRU touch, document parse);
+// "legacyMapHit" is the controller's former two-map check with the JSON already stringified;
+// "resolveTree" is a whole transitive resolution served from the cache.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NpmRegistryCacheBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Param({"300", "3000"})
+    public int packages;
+
+    private NpmRegistryStubServer registry;
+    private final ConcurrentHashMap<String, String> legacyCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> legacyTimestamps = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        registry = NpmRegistryStubServer.start(0, packages, 3, 0, 0, null);
+        // Must be set before NpmRegistryClient is first loaded in this fork
+        System.setProperty("npm.registry.url", registry.url());
+        System.setProperty("npm.cache.ttl-seconds", "86400");
+        System.setProperty("npm.resolver.max-packages", String.valueOf(packages * 2));
+        NpmDependencyResolver.resolveTree("pkg-0", "^1.0.0");
+        for (int i = 0; i < packages; i++) {
+            JsonNode dependencies = NpmRegistryCache.packument("pkg-" + i).path("versions").path("1.1.0").path("dependencies");
+            legacyCache.put("pkg-" + i, OBJECT_MAPPER.writeValueAsString(dependencies));
+            legacyTimestamps.put("pkg-" + i, System.currentTimeMillis());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.stop();
+    }
+
+    @Benchmark
+    public JsonNode cacheHit() throws Exception {
+        return NpmRegistryCache.packument("pkg-" + ThreadLocalRandom.current().nextInt(packages));
+    }
+
+    @Benchmark
+    public String legacyMapHit() {
+        String key = "pkg-" + ThreadLocalRandom.current().nextInt(packages);
+        String cached = legacyCache.get(key);
+        Long timestamp = legacyTimestamps.get(key);
+        return timestamp != null && System.currentTimeMillis() - timestamp < 60 * 60 * 1000 ? cached : null;
+    }
+
+    @Benchmark
+    public Map<String, Object> resolveTree() throws Exception {
+        return NpmDependencyResolver.resolveTree("pkg-0", "^1.0.0");
+    }
+}
@@ -0,0 +1,99 @@
+package com.hackthon.dependecy.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.hackthon.dependecy.ComponentReport;
+import com.hackthon.dependecy.DependencyGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Decoding OSS Index component-report responses. "gsonMaps" is jsonStringToMap as the services
+// wrote it (Gson into List<HashMap<String, Object>>); the Jackson variants decode the same
+// body into maps and into a tree, and "jacksonRecords" binds each array element to a
+// ComponentReport one at a time, as the OSS Index scheduler now does. One batch is at most 128 components, so the 3000-node
+// fixture is decoded as the sequence of batch responses a full scan receives.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OssIndexPayloadBenchmark {
+
+    private static final int BATCH_SIZE = 128;
+    private static final Gson GSON = new Gson();
+    private static final Type GSON_TYPE = new TypeToken<List<HashMap<String, Object>>>(){}.getType();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<HashMap<String, Object>>> JACKSON_TYPE = new TypeReference<>() {
+    };
+    private static final ObjectReader REPORT_READER = OBJECT_MAPPER.readerFor(ComponentReport.class);
+
+    @Param({"300", "3000"})
+    public int nodes;
+
+    private String[] responses;
+
+    @Setup
+    public void setUp() {
+        DependencyGraph graph = Fixtures.graph(nodes, 42);
+        List<String> coordinates = graph.packageUrls();
+        responses = new String[(coordinates.size() + BATCH_SIZE - 1) / BATCH_SIZE];
+        for (int i = 0; i < responses.length; i++) {
+            int from = i * BATCH_SIZE;
+            responses[i] = Fixtures.ossIndexResponse(coordinates.subList(from, Math.min(from + BATCH_SIZE, coordinates.size())), i);
+        }
+    }
+
+    @Benchmark
+    public int gsonMaps() {
+        int reports = 0;
+        for (String response : responses) {
+            List<HashMap<String, Object>> result = GSON.fromJson(response, GSON_TYPE);
+            reports += result.size();
+        }
+        return reports;
+    }
+
+    @Benchmark
+    public int jacksonMaps() throws Exception {
+        int reports = 0;
+        for (String response : responses) {
+            List<HashMap<String, Object>> result = OBJECT_MAPPER.readValue(response, JACKSON_TYPE);
+            reports += result.size();
+        }
+        return reports;
+    }
+
+    @Benchmark
+    public int jacksonTree() throws Exception {
+        int reports = 0;
+        for (String response : responses) {
+            JsonNode result = OBJECT_MAPPER.readTree(response);
+            reports += result.size();
+        }
+        return reports;
+    }
+
+    @Benchmark
+    public int jacksonRecords() throws Exception {
+        int reports = 0;
+        for (String response : responses) {
+            try (MappingIterator<ComponentReport> result = REPORT_READER.readValues(response)) {
+                while (result.hasNextValue()) {
+                    result.nextValue();
+                    reports++;
+                }
+            }
+        }
+        return reports;
+    }
+}
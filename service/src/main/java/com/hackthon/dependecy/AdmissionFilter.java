@@ -0,0 +1,154 @@
+package com.hackthon.dependecy;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control in front of the scan endpoints, checked before the request body is read.
+ *
+ * A POST under one of admission.paths counts as in flight from the moment it arrives until its
+ * response completes (streamed and SSE responses included). It is turned away with 429 and
+ * Retry-After when its client already has admission.per-client.max-in-flight requests in flight,
+ * or when admission.max-backlog requests are in flight across all clients, so one busy client
+ * cannot fill the resolution queue and a spike is refused quickly instead of timing out.
+ * Identical requests coalesced by SingleFlight still count, since each holds a connection.
+ *
+ * The client is the remote address, or the first value of admission.client-header (for example
+ * X-Forwarded-For behind a proxy) when that is configured. A limit of 0 disables the check.
+ */
+@Component
+public class AdmissionFilter implements Filter {
+
+    private static final int PER_CLIENT = AppSettings.getInt("admission.per-client.max-in-flight", 8);
+    private static final int MAX_BACKLOG = AppSettings.getInt("admission.max-backlog", 64);
+    private static final String CLIENT_HEADER = AppSettings.get("admission.client-header", "");
+    private static final String RETRY_AFTER_SECONDS = AppSettings.get("admission.retry-after-seconds", "2");
+    private static final List<String> PATHS = List.of(AppSettings.get("admission.paths",
+            "/dependency-tree,/vulnerability,/npm-dependency").split(","));
+
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final ConcurrentHashMap<String, AtomicInteger> PER_CLIENT_IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final AtomicLong ADMITTED = new AtomicLong();
+    private static final AtomicLong CLIENT_REJECTIONS = new AtomicLong();
+    private static final AtomicLong BACKLOG_REJECTIONS = new AtomicLong();
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        if (!"POST".equals(request.getMethod()) || !guarded(request.getRequestURI())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String client = client(request);
+        AtomicInteger clientCount = PER_CLIENT_IN_FLIGHT.compute(client, (key, count) -> {
+            AtomicInteger current = count == null ? new AtomicInteger() : count;
+            current.incrementAndGet();
+            return current;
+        });
+        int total = IN_FLIGHT.incrementAndGet();
+        String rejection = null;
+        if (PER_CLIENT > 0 && clientCount.get() > PER_CLIENT) {
+            CLIENT_REJECTIONS.incrementAndGet();
+            rejection = "Too many concurrent requests from this client (limit " + PER_CLIENT + "); retry later";
+        } else if (MAX_BACKLOG > 0 && total > MAX_BACKLOG) {
+            BACKLOG_REJECTIONS.incrementAndGet();
+            rejection = "Scan backlog is full (" + MAX_BACKLOG + " requests in flight); retry later";
+        }
+        if (rejection != null) {
+            release(client);
+            response.setStatus(429);
+            response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"" + rejection + "\"}");
+            return;
+        }
+
+        ADMITTED.incrementAndGet();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming and SSE responses keep going after this thread returns
+                async = true;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release(client);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            }
+        } finally {
+            if (!async) {
+                release(client);
+            }
+        }
+    }
+
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("inFlight", IN_FLIGHT.get());
+        stats.put("clients", PER_CLIENT_IN_FLIGHT.size());
+        stats.put("perClientLimit", PER_CLIENT);
+        stats.put("maxBacklog", MAX_BACKLOG);
+        stats.put("admitted", ADMITTED.get());
+        stats.put("clientRejections", CLIENT_REJECTIONS.get());
+        stats.put("backlogRejections", BACKLOG_REJECTIONS.get());
+        return stats;
+    }
+
+    public static int inFlight() {
+        return IN_FLIGHT.get();
+    }
+
+    private static boolean guarded(String uri) {
+        for (String path : PATHS) {
+            String prefix = path.trim();
+            if (!prefix.isEmpty() && (uri.equals(prefix) || uri.startsWith(prefix + "/"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String client(HttpServletRequest request) {
+        if (!CLIENT_HEADER.isEmpty()) {
+            String header = request.getHeader(CLIENT_HEADER);
+            if (header != null && !header.isBlank()) {
+                return header.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    // Drops the client's entry once it has nothing in flight, so the map only holds active clients
+    private static void release(String client) {
+        IN_FLIGHT.decrementAndGet();
+        PER_CLIENT_IN_FLIGHT.computeIfPresent(client, (key, count) -> count.decrementAndGet() == 0 ? null : count);
+    }
+}
@@ -0,0 +1,43 @@
+package com.hackthon.dependecy;
+
+import java.util.Locale;
+
+// Reads service tunables from JVM system properties (-Dname=value), falling back to the
+// matching environment variable (dots and dashes become underscores, upper-cased) and then
+// to the supplied default.
+public final class AppSettings {
+
+    private AppSettings() {
+    }
+
+    public static String get(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(name.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String name, int defaultValue) {
+        String value = get(name, null);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String name, long defaultValue) {
+        String value = get(name, null);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String value = get(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
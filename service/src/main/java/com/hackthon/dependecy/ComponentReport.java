@@ -0,0 +1,45 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One component report in OSS Index's component-report shape, as returned by every
+ * vulnerability endpoint. Reports from OSS Index are bound straight into this record while the
+ * response is still arriving, and the local OSV database builds the same record, so a report is
+ * held once and serialized from the record itself rather than copied through generic maps.
+ *
+ * A report with an error (a failed OSS Index batch, or coordinates nobody could answer) has no
+ * coordinates; absent fields are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ComponentReport(String coordinates, String description, String reference,
+                              List<Vulnerability> vulnerabilities, String source, String error, String responseCode) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Vulnerability(String id, String displayName, String title, String description, Double cvssScore,
+                                String cvssVector, String cwe, String cve, String reference,
+                                List<String> externalReferences) {
+    }
+
+    public static ComponentReport error(String message) {
+        return error(message, null);
+    }
+
+    public static ComponentReport error(String message, String responseCode) {
+        return new ComponentReport(null, null, null, null, null, message, responseCode);
+    }
+
+    // Not a bean getter, so Jackson keeps serializing the "error" component as is
+    public boolean failed() {
+        return error != null || coordinates == null;
+    }
+
+    public boolean hasVulnerabilities() {
+        return vulnerabilities != null && !vulnerabilities.isEmpty();
+    }
+}
@@ -0,0 +1,129 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+// Reads an OSS Index component-report array as the response body arrives. Bytes go into
+// Jackson's non-blocking parser, each array element is bound to a ComponentReport the moment its
+// closing brace is seen and handed to the consumer, and nothing but the element being parsed is
+// buffered. The body completes with null once the whole array was read, or with a description
+// of what was wrong with it; it never completes exceptionally for malformed JSON, so a bad
+// payload is not retried like a transport error.
+final class ComponentReportSubscriber implements HttpResponse.BodySubscriber<String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Consumer<ComponentReport> consumer;
+    private final CompletableFuture<String> body = new CompletableFuture<>();
+    private final JsonParser parser;
+    private Flow.Subscription subscription;
+    private TokenBuffer element;
+    private int depth;
+    private boolean arrayClosed;
+
+    ComponentReportSubscriber(Consumer<ComponentReport> consumer) {
+        this.consumer = consumer;
+        try {
+            this.parser = OBJECT_MAPPER.getFactory().createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Jackson has no non-blocking parser", e);
+        }
+    }
+
+    @Override
+    public CompletionStage<String> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        if (body.isDone()) {
+            return;
+        }
+        try {
+            for (ByteBuffer buffer : buffers) {
+                ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).feedInput(buffer);
+                drain();
+            }
+            subscription.request(1);
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (body.isDone()) {
+            return;
+        }
+        try {
+            parser.getNonBlockingInputFeeder().endOfInput();
+            drain();
+            body.complete(arrayClosed ? null : "Truncated component-report array");
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    // Consumes every token available so far; depth 1 is inside the top-level array
+    private void drain() throws IOException {
+        for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.NOT_AVAILABLE;
+             token = parser.nextToken()) {
+            if (depth == 0) {
+                if (token != JsonToken.START_ARRAY || arrayClosed) {
+                    throw new IOException("Expected a JSON array of component reports but got " + token);
+                }
+                depth = 1;
+                continue;
+            }
+            if (depth == 1 && token == JsonToken.END_ARRAY) {
+                depth = 0;
+                arrayClosed = true;
+                continue;
+            }
+            if (depth == 1) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a component report object but got " + token);
+                }
+                element = new TokenBuffer(parser);
+            }
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd() && --depth == 1) {
+                try (JsonParser report = element.asParser(OBJECT_MAPPER)) {
+                    consumer.accept(OBJECT_MAPPER.readValue(report, ComponentReport.class));
+                }
+                element = null;
+            }
+        }
+    }
+
+    private void fail(Exception e) {
+        body.complete("Unreadable OSS Index response: " + e.getMessage());
+        subscription.cancel();
+    }
+}
@@ -0,0 +1,47 @@
+package com.hackthon.dependecy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
+
+@SpringBootApplication
+public class DependecyApplication {
+
+	private static final Logger LOG = LoggerFactory.getLogger(DependecyApplication.class);
+
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+
+		// Expose the Prometheus scrape endpoint unless application properties say otherwise
+		SpringApplication application = new SpringApplication(DependecyApplication.class);
+		Map<String, Object> defaults = new HashMap<>();
+		defaults.put("management.endpoints.web.exposure.include", "health,info,metrics,prometheus");
+		// Gzip larger responses for clients that send Accept-Encoding: gzip; streamed NDJSON is
+		// flushed through the compressor record by record
+		defaults.put("server.compression.enabled", "true");
+		defaults.put("server.compression.mime-types",
+				"application/json,application/x-ndjson,application/x-jackson-smile,text/plain,text/html");
+		defaults.put("server.compression.min-response-size", "2KB");
+		// execution.mode=virtual: Tomcat handles each request on its own virtual thread
+		if (VirtualThreads.isEnabled()) {
+			defaults.put("spring.threads.virtual.enabled", "true");
+		} else if (VirtualThreads.isRequested()) {
+			LOG.warn("execution.mode=virtual needs Java 21 or later; using platform threads");
+		}
+		application.setDefaultProperties(defaults);
+		application.run(args);
+		PipelineMetrics.registerGauges();
+		Prewarmer.start();
+		NpmDependencyController controller = new NpmDependencyController();
+	//	String result = controller.executeCommand("npm audit --json");
+		//System.out.println("Audit Result: " + result);
+	}
+
+}
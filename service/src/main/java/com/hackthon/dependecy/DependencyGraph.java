@@ -0,0 +1,504 @@
+package com.hackthon.dependecy;
+
+import java.util.*;
+
+/**
+ * Compact, immutable form of a resolved Maven dependency tree.
+ *
+ * Nodes are numbered 0..size()-1 in the order dependency:tree prints them (pre-order), and
+ * every per-node attribute lives in a parallel int array. Coordinate parts are interned into
+ * a single string pool so an artifact id or version repeated across thousands of nodes is
+ * stored once, and children are kept as CSR-style offsets into one adjacency array. The
+ * first-level dependencies are the nodes with depth 1 and parent -1.
+ *
+ * Declarations that mediation dropped (dependency:tree -Dverbose prints them as "omitted for
+ * conflict/duplicate/cycle") are kept apart from the nodes: each records the node that declared
+ * it and the coordinates it asked for, so size(), render() and the other node views are the
+ * plain resolved tree, while index() can still answer where else an artifact was requested.
+ *
+ * A resolution that could not follow every edge (a POM that was not found, Maven failing) still
+ * yields the part it did resolve, with unresolved() saying what is missing; such a graph is not
+ * complete and must not be cached as the artifact's tree.
+ */
+public final class DependencyGraph {
+
+    private final String[] strings;
+    private final int[] groupIds;
+    private final int[] artifactIds;
+    private final int[] types;
+    private final int[] classifiers;
+    private final int[] versions;
+    private final int[] scopes;
+    private final int[] depths;
+    private final int[] parents;
+    private final BitSet optional;
+    private final int[] childOffsets;
+    private final int[] childIndex;
+    private final int[] roots;
+    // OMITTED_FIELDS ints per dropped declaration: declaring node, then the interned coordinates
+    private final int[] omitted;
+    private final List<String> unresolved;
+    private volatile DependencyGraphIndex index;
+
+    private static final int OMITTED_FIELDS = 7;
+
+    private DependencyGraph(Builder builder) {
+        int size = builder.size;
+        this.strings = builder.pool.toArray(new String[0]);
+        this.groupIds = Arrays.copyOf(builder.groupIds, size);
+        this.artifactIds = Arrays.copyOf(builder.artifactIds, size);
+        this.types = Arrays.copyOf(builder.types, size);
+        this.classifiers = Arrays.copyOf(builder.classifiers, size);
+        this.versions = Arrays.copyOf(builder.versions, size);
+        this.scopes = Arrays.copyOf(builder.scopes, size);
+        this.depths = Arrays.copyOf(builder.depths, size);
+        this.parents = Arrays.copyOf(builder.parents, size);
+        this.optional = (BitSet) builder.optional.clone();
+        this.omitted = Arrays.copyOf(builder.omitted, builder.omittedCount * OMITTED_FIELDS);
+        this.unresolved = List.copyOf(builder.unresolved);
+
+        // Count children per node, then lay them out contiguously in node order
+        this.childOffsets = new int[size + 1];
+        int rootCount = 0;
+        for (int node = 0; node < size; node++) {
+            if (parents[node] >= 0) {
+                childOffsets[parents[node] + 1]++;
+            } else {
+                rootCount++;
+            }
+        }
+        for (int node = 0; node < size; node++) {
+            childOffsets[node + 1] += childOffsets[node];
+        }
+        this.childIndex = new int[childOffsets[size]];
+        this.roots = new int[rootCount];
+        int[] fill = Arrays.copyOf(childOffsets, size);
+        int rootFill = 0;
+        for (int node = 0; node < size; node++) {
+            if (parents[node] >= 0) {
+                childIndex[fill[parents[node]]++] = node;
+            } else {
+                roots[rootFill++] = node;
+            }
+        }
+    }
+
+    public int size() {
+        return depths.length;
+    }
+
+    // What the resolver could not resolve; empty for a complete tree
+    public List<String> unresolved() {
+        return unresolved;
+    }
+
+    public boolean isComplete() {
+        return unresolved.isEmpty();
+    }
+
+    public String groupId(int node) {
+        return strings[groupIds[node]];
+    }
+
+    public String artifactId(int node) {
+        return strings[artifactIds[node]];
+    }
+
+    public String type(int node) {
+        return strings[types[node]];
+    }
+
+    // Null when the artifact has no classifier
+    public String classifier(int node) {
+        return classifiers[node] < 0 ? null : strings[classifiers[node]];
+    }
+
+    public String version(int node) {
+        return strings[versions[node]];
+    }
+
+    public String scope(int node) {
+        return strings[scopes[node]];
+    }
+
+    public boolean isOptional(int node) {
+        return optional.get(node);
+    }
+
+    // First-level dependencies have depth 1
+    public int depth(int node) {
+        return depths[node];
+    }
+
+    // -1 for first-level dependencies
+    public int parent(int node) {
+        return parents[node];
+    }
+
+    public int[] roots() {
+        return roots.clone();
+    }
+
+    public int childCount(int node) {
+        return childOffsets[node + 1] - childOffsets[node];
+    }
+
+    public int child(int node, int position) {
+        return childIndex[childOffsets[node] + position];
+    }
+
+    public int[] children(int node) {
+        return Arrays.copyOfRange(childIndex, childOffsets[node], childOffsets[node + 1]);
+    }
+
+    // Declarations mediation dropped, numbered 0..omittedCount()-1
+    public int omittedCount() {
+        return omitted.length / OMITTED_FIELDS;
+    }
+
+    // Node whose declaration was dropped; -1 for a repeated first-level dependency
+    public int omittedParent(int entry) {
+        return omitted[entry * OMITTED_FIELDS];
+    }
+
+    public String omittedGroupId(int entry) {
+        return strings[omitted[entry * OMITTED_FIELDS + 1]];
+    }
+
+    public String omittedArtifactId(int entry) {
+        return strings[omitted[entry * OMITTED_FIELDS + 2]];
+    }
+
+    // The version the dropped declaration asked for, after dependency management
+    public String omittedVersion(int entry) {
+        return strings[omitted[entry * OMITTED_FIELDS + 5]];
+    }
+
+    public String omittedKey(int entry) {
+        return omittedGroupId(entry) + ":" + omittedArtifactId(entry);
+    }
+
+    public String omittedCoordinates(int entry) {
+        int base = entry * OMITTED_FIELDS;
+        return strings[omitted[base + 1]] + ":" + strings[omitted[base + 2]] + ":" + strings[omitted[base + 3]]
+                + (omitted[base + 4] >= 0 ? ":" + strings[omitted[base + 4]] : "")
+                + ":" + strings[omitted[base + 5]] + ":" + strings[omitted[base + 6]];
+    }
+
+    // Forward and reverse adjacency for path, conflict and dependent queries; built on first use
+    // and kept with the graph, so a cached tree is indexed once
+    public DependencyGraphIndex index() {
+        DependencyGraphIndex current = index;
+        if (current == null) {
+            current = new DependencyGraphIndex(this);
+            index = current;
+        }
+        return current;
+    }
+
+    // Copy of the subtree rooted at node, with node as its only first-level dependency.
+    // Pre-order numbering keeps a subtree contiguous: it ends at the next node that is not deeper.
+    public DependencyGraph subtree(int node) {
+        Builder builder = new Builder();
+        int[] mapped = new int[size()];
+        int end = node + 1;
+        while (end < size() && depths[end] > depths[node]) {
+            end++;
+        }
+        for (int current = node; current < end; current++) {
+            int parent = current == node ? -1 : mapped[parents[current]];
+            mapped[current] = builder.add(parent, groupId(current), artifactId(current), type(current),
+                    classifier(current), version(current), scope(current), isOptional(current));
+        }
+        for (int entry = 0; entry < omittedCount(); entry++) {
+            int parent = omittedParent(entry);
+            if (parent >= node && parent < end) {
+                int base = entry * OMITTED_FIELDS;
+                builder.addOmitted(mapped[parent], strings[omitted[base + 1]], strings[omitted[base + 2]],
+                        strings[omitted[base + 3]], omitted[base + 4] < 0 ? null : strings[omitted[base + 4]],
+                        strings[omitted[base + 5]], strings[omitted[base + 6]]);
+            }
+        }
+        return builder.build();
+    }
+
+    // Like subtree(node), but complete on its own: where mediation resolved one of the subtree's
+    // declarations to a node outside it (another first-level dependency pulled the artifact in
+    // first), that node and its own subtree are copied in at the declaration, once per artifact.
+    public DependencyGraph fullSubtree(int node) {
+        int end = node + 1;
+        while (end < size() && depths[end] > depths[node]) {
+            end++;
+        }
+        Map<String, Integer> resolved = new HashMap<>();
+        for (int current = 0; current < size(); current++) {
+            resolved.putIfAbsent(key(current), current);
+        }
+        Map<Integer, List<Integer>> omittedByParent = new HashMap<>();
+        for (int entry = 0; entry < omittedCount(); entry++) {
+            omittedByParent.computeIfAbsent(omittedParent(entry), parent -> new ArrayList<>()).add(entry);
+        }
+        Builder builder = new Builder();
+        copyWithShared(builder, -1, node, node, end, resolved, omittedByParent, new HashSet<>());
+        return builder.build();
+    }
+
+    private void copyWithShared(Builder builder, int parent, int node, int start, int end, Map<String, Integer> resolved,
+                                Map<Integer, List<Integer>> omittedByParent, Set<String> included) {
+        int mapped = builder.add(parent, groupId(node), artifactId(node), type(node), classifier(node), version(node),
+                scope(node), isOptional(node));
+        included.add(key(node));
+        for (int child : children(node)) {
+            // The subtree itself is always copied whole; shared nodes only once
+            if ((child >= start && child < end) || !included.contains(key(child))) {
+                copyWithShared(builder, mapped, child, start, end, resolved, omittedByParent, included);
+            }
+        }
+        for (int entry : omittedByParent.getOrDefault(node, List.of())) {
+            Integer winner = resolved.get(omittedKey(entry));
+            if (winner != null && (winner < start || winner >= end) && !included.contains(omittedKey(entry))) {
+                copyWithShared(builder, mapped, winner, start, end, resolved, omittedByParent, included);
+            }
+        }
+    }
+
+    public int maxDepth() {
+        int max = 0;
+        for (int depth : depths) {
+            max = Math.max(max, depth);
+        }
+        return max;
+    }
+
+    // groupId:artifactId
+    public String key(int node) {
+        return groupId(node) + ":" + artifactId(node);
+    }
+
+    // groupId:artifactId:type[:classifier]:version:scope, as printed by dependency:tree
+    public String coordinates(int node) {
+        String classifier = classifier(node);
+        return groupId(node) + ":" + artifactId(node) + ":" + type(node)
+                + (classifier != null ? ":" + classifier : "")
+                + ":" + version(node) + ":" + scope(node);
+    }
+
+    // Package URL as understood by OSS Index, with the full version including qualifiers
+    public String packageUrl(int node) {
+        return "pkg:maven/" + groupId(node) + "/" + artifactId(node) + "@" + version(node);
+    }
+
+    // Distinct package URLs of every node, in tree order
+    public List<String> packageUrls() {
+        Set<String> urls = new LinkedHashSet<>();
+        for (int node = 0; node < size(); node++) {
+            urls.add(packageUrl(node));
+        }
+        return new ArrayList<>(urls);
+    }
+
+    // Renders the tree in dependency:tree's text format, one line per node
+    public String render() {
+        return render(false);
+    }
+
+    // verbose also prints the dropped declarations, as dependency:tree -Dverbose does, after the
+    // real children of the node that declared them; parse() reads them back
+    public String render(boolean verbose) {
+        StringBuilder output = new StringBuilder();
+        int[] dropped = verbose ? index().omittedDeclaredBy(-1) : new int[0];
+        for (int i = 0; i < roots.length; i++) {
+            render(roots[i], "", i == roots.length - 1 && dropped.length == 0, verbose, output);
+        }
+        renderOmitted(dropped, "", output);
+        return output.toString();
+    }
+
+    private void render(int node, String prefix, boolean last, boolean verbose, StringBuilder output) {
+        output.append(prefix).append(last ? "\\- " : "+- ").append(coordinates(node));
+        if (isOptional(node)) {
+            output.append(" (optional)");
+        }
+        output.append('\n');
+        String childPrefix = prefix + (last ? "   " : "|  ");
+        int[] dropped = verbose ? index().omittedDeclaredBy(node) : new int[0];
+        int count = childCount(node);
+        for (int i = 0; i < count; i++) {
+            render(child(node, i), childPrefix, i == count - 1 && dropped.length == 0, verbose, output);
+        }
+        renderOmitted(dropped, childPrefix, output);
+    }
+
+    private void renderOmitted(int[] entries, String prefix, StringBuilder output) {
+        for (int i = 0; i < entries.length; i++) {
+            int entry = entries[i];
+            String winner = index().resolvedVersion(omittedKey(entry));
+            output.append(prefix).append(i == entries.length - 1 ? "\\- " : "+- ")
+                    .append('(').append(omittedCoordinates(entry)).append(" - omitted for ")
+                    .append(winner == null || winner.equals(omittedVersion(entry)) ? "duplicate" : "conflict with " + winner)
+                    .append(")\n");
+        }
+    }
+
+    // Parses the output of render() (or dependency:tree lines with the "[INFO] " prefix removed).
+    // The depth of a line is given by the column of its "+- " or "\- " marker.
+    public static DependencyGraph parse(String tree) {
+        return parse(tree, List.of());
+    }
+
+    // As above, for output of a resolution that reported the given problems
+    public static DependencyGraph parse(String tree, Collection<String> unresolved) {
+        Builder builder = new Builder();
+        unresolved.forEach(builder::addUnresolved);
+        int[] lastAtDepth = new int[16];
+        // Depth of the last node line: a line may go at most one level below it
+        int open = 0;
+        for (String line : tree.split("\n")) {
+            int marker = markerIndex(line);
+            if (marker < 0) {
+                continue;
+            }
+            int depth = marker / 3 + 1;
+            String text = line.substring(marker + 3).trim();
+            boolean dropped = text.startsWith("(");
+            if (dropped) {
+                text = text.substring(1);
+            }
+            boolean isOptional = text.contains(" (optional)");
+            int space = text.indexOf(' ');
+            String[] parts = (space < 0 ? text : text.substring(0, space)).split(":");
+            if (parts.length < 5) {
+                continue;
+            }
+            if (depth > open + 1) {
+                // Its parent line is missing, so there is nothing to hang it (or its subtree) on
+                builder.addUnresolved("Tree line without a parent: " + line.trim());
+                continue;
+            }
+            boolean hasClassifier = parts.length >= 6;
+            int parent = depth == 1 ? -1 : lastAtDepth[depth - 1];
+            if (dropped) {
+                builder.addOmitted(parent, parts[0], parts[1], parts[2], hasClassifier ? parts[3] : null,
+                        parts[hasClassifier ? 4 : 3], parts[hasClassifier ? 5 : 4]);
+                continue;
+            }
+            int node = builder.add(parent, parts[0], parts[1], parts[2],
+                    hasClassifier ? parts[3] : null,
+                    parts[hasClassifier ? 4 : 3], parts[hasClassifier ? 5 : 4], isOptional);
+            if (depth + 1 > lastAtDepth.length) {
+                lastAtDepth = Arrays.copyOf(lastAtDepth, lastAtDepth.length * 2);
+            }
+            lastAtDepth[depth] = node;
+            open = depth;
+        }
+        return builder.build();
+    }
+
+    // Package URL of a single tree line as handed out by streamGraph, or null for other lines
+    // (including -Dverbose lines for omitted declarations)
+    public static String packageUrlOfLine(String line) {
+        int marker = markerIndex(line);
+        if (marker < 0 || isOmittedLine(line)) {
+            return null;
+        }
+        String text = line.substring(marker + 3).trim();
+        int space = text.indexOf(' ');
+        String[] parts = (space < 0 ? text : text.substring(0, space)).split(":");
+        if (parts.length < 5) {
+            return null;
+        }
+        return "pkg:maven/" + parts[0] + "/" + parts[1] + "@" + parts[parts.length >= 6 ? 4 : 3];
+    }
+
+    // A -Dverbose line for a declaration mediation dropped: "+- (g:a:jar:1.0:compile - omitted ...)"
+    public static boolean isOmittedLine(String line) {
+        int marker = markerIndex(line);
+        return marker >= 0 && line.startsWith("(", marker + 3);
+    }
+
+    private static int markerIndex(String line) {
+        int plus = line.indexOf("+- ");
+        int last = line.indexOf("\\- ");
+        if (plus < 0) {
+            return last;
+        }
+        return last < 0 ? plus : Math.min(plus, last);
+    }
+
+    // Collects nodes in pre-order; a node's parent must be added before the node itself
+    public static final class Builder {
+        private final Map<String, Integer> interned = new HashMap<>();
+        private final List<String> pool = new ArrayList<>();
+        private int size;
+        private int[] groupIds = new int[64];
+        private int[] artifactIds = new int[64];
+        private int[] types = new int[64];
+        private int[] classifiers = new int[64];
+        private int[] versions = new int[64];
+        private int[] scopes = new int[64];
+        private int[] depths = new int[64];
+        private int[] parents = new int[64];
+        private final BitSet optional = new BitSet();
+        private int omittedCount;
+        private int[] omitted = new int[0];
+        private final List<String> unresolved = new ArrayList<>();
+
+        public int add(int parent, String groupId, String artifactId, String type, String classifier,
+                       String version, String scope, boolean isOptional) {
+            if (size == depths.length) {
+                int capacity = size * 2;
+                groupIds = Arrays.copyOf(groupIds, capacity);
+                artifactIds = Arrays.copyOf(artifactIds, capacity);
+                types = Arrays.copyOf(types, capacity);
+                classifiers = Arrays.copyOf(classifiers, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                scopes = Arrays.copyOf(scopes, capacity);
+                depths = Arrays.copyOf(depths, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+            }
+            int node = size++;
+            groupIds[node] = intern(groupId);
+            artifactIds[node] = intern(artifactId);
+            types[node] = intern(type == null ? "jar" : type);
+            classifiers[node] = classifier == null ? -1 : intern(classifier);
+            versions[node] = intern(version);
+            scopes[node] = intern(scope == null ? "compile" : scope);
+            parents[node] = parent;
+            depths[node] = parent < 0 ? 1 : depths[parent] + 1;
+            optional.set(node, isOptional);
+            return node;
+        }
+
+        // A declaration of parent's that mediation dropped; parent must already have been added
+        public void addOmitted(int parent, String groupId, String artifactId, String type, String classifier,
+                               String version, String scope) {
+            if ((omittedCount + 1) * OMITTED_FIELDS > omitted.length) {
+                omitted = Arrays.copyOf(omitted, Math.max(16, omittedCount * 2) * OMITTED_FIELDS);
+            }
+            int base = omittedCount++ * OMITTED_FIELDS;
+            omitted[base] = parent;
+            omitted[base + 1] = intern(groupId);
+            omitted[base + 2] = intern(artifactId);
+            omitted[base + 3] = intern(type == null ? "jar" : type);
+            omitted[base + 4] = classifier == null ? -1 : intern(classifier);
+            omitted[base + 5] = intern(version);
+            omitted[base + 6] = intern(scope == null ? "compile" : scope);
+        }
+
+        // Something the resolver had to skip, making the graph incomplete
+        public void addUnresolved(String description) {
+            unresolved.add(description);
+        }
+
+        private int intern(String value) {
+            return interned.computeIfAbsent(value, key -> {
+                pool.add(key);
+                return pool.size() - 1;
+            });
+        }
+
+        public DependencyGraph build() {
+            return new DependencyGraph(this);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.hackthon.dependecy;
+
+import java.util.*;
+
+/**
+ * Query index over one DependencyGraph, answering "why is this artifact here" without walking
+ * the rendered tree.
+ *
+ * Forward adjacency is the graph's own child arrays plus, per declaring node, the declarations
+ * mediation dropped. The reverse side maps every groupId:artifactId to the nodes it resolved to
+ * and to the dropped declarations that asked for it, and every node to its direct dependents
+ * (its parent and each node whose declaration of it lost), all in CSR arrays. Building is linear
+ * in the graph; afterwards a path, dependent or conflict query only touches the entries it
+ * returns, so answers stay well under a millisecond on trees with thousands of nodes.
+ *
+ * Artifacts are given as groupId:artifactId, optionally followed by :version to narrow the
+ * answer to one requested version. -1 stands for the project that declares the first level.
+ */
+public final class DependencyGraphIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final DependencyGraph graph;
+    private final Map<String, int[]> nodesByKey = new HashMap<>();
+    private final Map<String, int[]> omittedByKey = new HashMap<>();
+    // Dropped declarations per declaring node; slot 0 is the project, node n is slot n + 1
+    private final int[] omittedOffsets;
+    private final int[] omittedIndex;
+    private final int[] dependentOffsets;
+    private final int[] dependentIndex;
+    private final List<String> conflicting = new ArrayList<>();
+    private final List<String> duplicated = new ArrayList<>();
+
+    DependencyGraphIndex(DependencyGraph graph) {
+        this.graph = graph;
+        int size = graph.size();
+        int omitted = graph.omittedCount();
+
+        Map<String, List<Integer>> nodes = new HashMap<>();
+        for (int node = 0; node < size; node++) {
+            nodes.computeIfAbsent(graph.key(node), key -> new ArrayList<>()).add(node);
+        }
+        nodes.forEach((key, list) -> nodesByKey.put(key, toArray(list)));
+        Map<String, List<Integer>> dropped = new LinkedHashMap<>();
+        for (int entry = 0; entry < omitted; entry++) {
+            dropped.computeIfAbsent(graph.omittedKey(entry), key -> new ArrayList<>()).add(entry);
+        }
+        dropped.forEach((key, list) -> omittedByKey.put(key, toArray(list)));
+
+        this.omittedOffsets = new int[size + 2];
+        for (int entry = 0; entry < omitted; entry++) {
+            omittedOffsets[graph.omittedParent(entry) + 2]++;
+        }
+        for (int slot = 0; slot <= size; slot++) {
+            omittedOffsets[slot + 1] += omittedOffsets[slot];
+        }
+        this.omittedIndex = new int[omitted];
+        int[] fill = Arrays.copyOf(omittedOffsets, size + 1);
+        for (int entry = 0; entry < omitted; entry++) {
+            omittedIndex[fill[graph.omittedParent(entry) + 1]++] = entry;
+        }
+
+        // Each node: its parent, then every node (or the project) whose declaration of it lost
+        this.dependentOffsets = new int[size + 1];
+        for (int node = 0; node < size; node++) {
+            dependentOffsets[node + 1] = dependentOffsets[node] + 1 + omittedEntries(graph.key(node)).length;
+        }
+        this.dependentIndex = new int[dependentOffsets[size]];
+        for (int node = 0; node < size; node++) {
+            int position = dependentOffsets[node];
+            dependentIndex[position++] = graph.parent(node);
+            for (int entry : omittedEntries(graph.key(node))) {
+                dependentIndex[position++] = graph.omittedParent(entry);
+            }
+        }
+
+        for (Map.Entry<String, int[]> entry : omittedByKey.entrySet()) {
+            String resolved = resolvedVersion(entry.getKey());
+            boolean conflict = false;
+            for (int omittedEntry : entry.getValue()) {
+                conflict |= resolved != null && !resolved.equals(graph.omittedVersion(omittedEntry));
+            }
+            (conflict ? conflicting : duplicated).add(entry.getKey());
+        }
+        Collections.sort(conflicting);
+        Collections.sort(duplicated);
+    }
+
+    // Nodes the artifact resolved to; empty when it is not in the tree
+    public int[] nodes(String key) {
+        return nodesByKey.getOrDefault(key, NONE);
+    }
+
+    // Dropped declarations of the artifact
+    public int[] omittedEntries(String key) {
+        return omittedByKey.getOrDefault(key, NONE);
+    }
+
+    // Dropped declarations made by node (-1 for the project)
+    public int[] omittedDeclaredBy(int node) {
+        return Arrays.copyOfRange(omittedIndex, omittedOffsets[node + 1], omittedOffsets[node + 2]);
+    }
+
+    // Version mediation picked for the artifact, or null when it is not in the tree
+    public String resolvedVersion(String key) {
+        int[] resolved = nodes(key);
+        return resolved.length == 0 ? null : graph.version(resolved[0]);
+    }
+
+    // Nodes that declare the artifact at node, whether or not their declaration won; -1 is the project
+    public int[] dependents(int node) {
+        return Arrays.copyOfRange(dependentIndex, dependentOffsets[node], dependentOffsets[node + 1]);
+    }
+
+    // Every route from the project to the artifact: the path to each node it resolved to, and the
+    // path to each node whose declaration of it was dropped, ending in that declaration
+    public List<Map<String, Object>> paths(String artifact) {
+        String key = key(artifact);
+        String version = version(artifact);
+        List<Map<String, Object>> paths = new ArrayList<>();
+        for (int node : nodes(key)) {
+            if (version == null || version.equals(graph.version(node))) {
+                Map<String, Object> path = new LinkedHashMap<>();
+                path.put("node", node);
+                path.put("version", graph.version(node));
+                path.put("resolved", true);
+                path.put("path", path(node, null));
+                paths.add(path);
+            }
+        }
+        for (int entry : omittedEntries(key)) {
+            if (version == null || version.equals(graph.omittedVersion(entry))) {
+                Map<String, Object> path = new LinkedHashMap<>();
+                path.put("declaredBy", graph.omittedParent(entry));
+                path.put("version", graph.omittedVersion(entry));
+                path.put("resolved", false);
+                path.put("resolvedVersion", resolvedVersion(key));
+                path.put("path", path(graph.omittedParent(entry), key + ":" + graph.omittedVersion(entry)));
+                paths.add(path);
+            }
+        }
+        return paths;
+    }
+
+    // Artifacts requested in more than one version, each with the winner and every losing request
+    public List<Map<String, Object>> conflicts() {
+        List<Map<String, Object>> conflicts = new ArrayList<>();
+        for (String key : conflicting) {
+            conflicts.add(requests(key));
+        }
+        return conflicts;
+    }
+
+    // Artifacts declared more than once, always in the version that was resolved
+    public List<Map<String, Object>> duplicates() {
+        List<Map<String, Object>> duplicates = new ArrayList<>();
+        for (String key : duplicated) {
+            duplicates.add(requests(key));
+        }
+        return duplicates;
+    }
+
+    // Direct dependents of the artifact and, when transitive, everything that reaches it
+    public Map<String, Object> dependents(String artifact, boolean transitive) {
+        String key = key(artifact);
+        String version = version(artifact);
+        Set<Integer> direct = new LinkedHashSet<>();
+        for (int node : nodes(key)) {
+            if (version == null || version.equals(graph.version(node))) {
+                for (int dependent : dependents(node)) {
+                    direct.add(dependent);
+                }
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("artifact", artifact);
+        result.put("resolvedVersion", resolvedVersion(key));
+        result.put("declaredByProject", direct.contains(-1));
+        result.put("direct", describe(direct));
+        if (transitive) {
+            // Breadth-first over the reverse index, so nearer dependents come first
+            Set<Integer> reached = new LinkedHashSet<>(direct);
+            Deque<Integer> queue = new ArrayDeque<>(direct);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                if (node < 0) {
+                    continue;
+                }
+                for (int dependent : dependents(node)) {
+                    if (reached.add(dependent)) {
+                        queue.add(dependent);
+                    }
+                }
+            }
+            result.put("transitive", describe(reached));
+        }
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodes", graph.size());
+        stats.put("artifacts", nodesByKey.size());
+        stats.put("omittedDeclarations", graph.omittedCount());
+        stats.put("conflicts", conflicting.size());
+        stats.put("duplicates", duplicated.size());
+        return stats;
+    }
+
+    private Map<String, Object> requests(String key) {
+        String resolved = resolvedVersion(key);
+        Set<String> versions = new TreeSet<>(MavenVersions::compare);
+        List<Map<String, Object>> requests = new ArrayList<>();
+        for (int node : nodes(key)) {
+            versions.add(graph.version(node));
+            requests.add(request(graph.version(node), graph.parent(node), true));
+        }
+        for (int entry : omittedEntries(key)) {
+            versions.add(graph.omittedVersion(entry));
+            requests.add(request(graph.omittedVersion(entry), graph.omittedParent(entry), false));
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("artifact", key);
+        summary.put("resolvedVersion", resolved);
+        summary.put("requestedVersions", versions);
+        summary.put("requests", requests);
+        return summary;
+    }
+
+    private Map<String, Object> request(String version, int declaredBy, boolean resolved) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("version", version);
+        request.put("resolved", resolved);
+        request.put("declaredBy", declaredBy < 0 ? "project" : gav(declaredBy));
+        request.put("path", path(declaredBy, null));
+        return request;
+    }
+
+    private List<Map<String, Object>> describe(Collection<Integer> nodes) {
+        List<Map<String, Object>> described = new ArrayList<>();
+        for (int node : nodes) {
+            if (node < 0) {
+                continue;
+            }
+            Map<String, Object> dependent = new LinkedHashMap<>();
+            dependent.put("node", node);
+            dependent.put("artifact", gav(node));
+            dependent.put("depth", graph.depth(node));
+            described.add(dependent);
+        }
+        return described;
+    }
+
+    // groupId:artifactId:version from the first level down to node, then last if given
+    private List<String> path(int node, String last) {
+        LinkedList<String> path = new LinkedList<>();
+        for (int current = node; current >= 0; current = graph.parent(current)) {
+            path.addFirst(gav(current));
+        }
+        if (last != null) {
+            path.add(last);
+        }
+        return path;
+    }
+
+    private String gav(int node) {
+        return graph.key(node) + ":" + graph.version(node);
+    }
+
+    private static String key(String artifact) {
+        String[] parts = artifact.trim().split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            throw new IllegalArgumentException("Expected groupId:artifactId[:version] but got " + artifact);
+        }
+        return parts[0] + ":" + parts[1];
+    }
+
+    private static String version(String artifact) {
+        String[] parts = artifact.trim().split(":");
+        return parts.length == 3 ? parts[2] : null;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
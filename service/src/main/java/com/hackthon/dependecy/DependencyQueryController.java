@@ -0,0 +1,99 @@
+package com.hackthon.dependecy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Questions about one resolved tree, posted as the same <dependency> snippet /dependency-tree
+ * takes. The tree comes from the tree cache when possible and its DependencyGraphIndex is kept
+ * with it, so repeated queries on a popular tree cost only the lookup. "indexMicros" is the
+ * time to build the index (near zero once built) and "queryMicros" the time to answer, both
+ * without resolution.
+ */
+@RestController
+@RequestMapping("/dependency-tree/query")
+public class DependencyQueryController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DependencyQueryController.class);
+
+    // Every path from the project to the artifact ("groupId:artifactId[:version]"), including
+    // declarations of it that mediation dropped
+    @PostMapping(value = "/paths", consumes = "application/xml", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> paths(@RequestBody String dependencyXml,
+                                                     @RequestParam("artifact") String artifact,
+                                                     @RequestParam(value = "resolver", required = false) String resolver) {
+        return query(dependencyXml, resolver, index -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("artifact", artifact);
+            result.put("paths", index.paths(artifact));
+            return result;
+        });
+    }
+
+    // Artifacts requested in several versions with the version that won, and exact duplicates
+    @PostMapping(value = "/conflicts", consumes = "application/xml", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> conflicts(@RequestBody String dependencyXml,
+                                                         @RequestParam(value = "duplicates", defaultValue = "false") boolean duplicates,
+                                                         @RequestParam(value = "resolver", required = false) String resolver) {
+        return query(dependencyXml, resolver, index -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("conflicts", index.conflicts());
+            if (duplicates) {
+                result.put("duplicates", index.duplicates());
+            }
+            return result;
+        });
+    }
+
+    // Nodes that declare the artifact; transitive=true adds everything that reaches them
+    @PostMapping(value = "/dependents", consumes = "application/xml", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> dependents(@RequestBody String dependencyXml,
+                                                          @RequestParam("artifact") String artifact,
+                                                          @RequestParam(value = "transitive", defaultValue = "false") boolean transitive,
+                                                          @RequestParam(value = "resolver", required = false) String resolver) {
+        return query(dependencyXml, resolver, index -> index.dependents(artifact, transitive));
+    }
+
+    private static ResponseEntity<Map<String, Object>> query(String dependencyXml, String resolver,
+                                                             Function<DependencyGraphIndex, Map<String, Object>> question) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        try {
+            MavenDependencyRequest dependency = MavenDependencyRequest.fromXml(dependencyXml);
+            if (!dependency.isComplete()) {
+                response.put("error", "Invalid dependency XML. Ensure groupId, artifactId, and version are provided.");
+                return ResponseEntity.badRequest().body(response);
+            }
+            DependencyGraph graph = DependencyTreeGenerator.generateGraph(dependency.getGroupId(), dependency.getArtifactId(),
+                    dependency.getVersion(), dependency.getExclusionsBlock(), DependencyTreeGenerator.ResolverMode.from(resolver));
+            long start = System.nanoTime();
+            DependencyGraphIndex index = graph.index();
+            long indexed = System.nanoTime();
+            Map<String, Object> answer = question.apply(index);
+            long answered = System.nanoTime();
+
+            response.put("dependency", dependency.toString());
+            response.putAll(index.stats());
+            response.putAll(answer);
+            response.put("indexMicros", (indexed - start) / 1_000);
+            response.put("queryMicros", (answered - indexed) / 1_000);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (ResolutionExecutor.ResolutionRejectedException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(response);
+        } catch (Exception e) {
+            LOG.error("Dependency tree query failed", e);
+            response.put("error", "Error processing dependency: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
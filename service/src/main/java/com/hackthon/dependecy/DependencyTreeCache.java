@@ -0,0 +1,257 @@
+package com.hackthon.dependecy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Two-tier cache of resolved trees. A released artifact's tree never changes, so results are
+// kept in a size-bounded LRU map and written through to a directory on disk that survives
+// restarts. SNAPSHOT and version-range requests are never cached. The directory is bounded too:
+// once it grows past its budget the least recently used entries (by modification time, which a
+// disk hit refreshes) are deleted.
+public class DependencyTreeCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DependencyTreeCache.class);
+
+    private static final boolean ENABLED = AppSettings.getBoolean("dependency.tree.cache.enabled", true);
+    private static volatile int maxEntries = AppSettings.getInt("dependency.tree.cache.max-entries", 1000);
+    private static volatile Path directory = Path.of(AppSettings.get("dependency.tree.cache.dir",
+            System.getProperty("user.home") + "/.dependency-tree/cache"));
+    private static final long MAX_DISK_BYTES = AppSettings.getLong("dependency.tree.cache.max-disk-mb", 512) * 1024 * 1024;
+    private static final String SUFFIX = ".vgraph";
+
+    private static final AtomicLong MEMORY_HITS = new AtomicLong();
+    private static final AtomicLong DISK_HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+    private static final AtomicLong DISK_EVICTIONS = new AtomicLong();
+    // Bytes held by the directory; -1 until it has been measured
+    private static final AtomicLong DISK_BYTES = new AtomicLong(-1);
+
+    private static final Map<String, DependencyGraph> MEMORY = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DependencyGraph> eldest) {
+            if (size() > maxEntries) {
+                EVICTIONS.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Moves the cache to another directory and memory bound, starting from an empty memory tier
+    static void useDirectory(Path cacheDirectory, int maxMemoryEntries) {
+        synchronized (MEMORY) {
+            directory = cacheDirectory;
+            maxEntries = maxMemoryEntries;
+            MEMORY.clear();
+        }
+        DISK_BYTES.set(-1);
+    }
+
+    // Cache key of a tree: the resolver mode, then the coordinates key. The two resolvers can
+    // disagree, and comparing them is what ?resolver= is for, so each keeps its own entries.
+    public static String key(DependencyTreeGenerator.ResolverMode mode, String groupId, String artifactId,
+                             String version, Collection<String> exclusions) {
+        return mode.name().toLowerCase(Locale.ROOT) + "|" + coordinatesKey(groupId, artifactId, version, exclusions);
+    }
+
+    // Canonical coordinates: groupId:artifactId:version followed by the sorted, de-duplicated exclusions
+    public static String coordinatesKey(String groupId, String artifactId, String version, Collection<String> exclusions) {
+        return groupId.trim() + ":" + artifactId.trim() + ":" + version.trim() + "|"
+                + String.join(",", new TreeSet<>(exclusions));
+    }
+
+    public static boolean isCacheable(String version) {
+        return ENABLED && !version.endsWith("-SNAPSHOT") && !MavenVersions.isRange(version);
+    }
+
+    public static DependencyGraph get(String key) {
+        synchronized (MEMORY) {
+            DependencyGraph tree = MEMORY.get(key);
+            if (tree != null) {
+                MEMORY_HITS.incrementAndGet();
+                return tree;
+            }
+        }
+        DependencyGraph tree = readFromDisk(key);
+        if (tree != null) {
+            DISK_HITS.incrementAndGet();
+            synchronized (MEMORY) {
+                MEMORY.put(key, tree);
+            }
+            return tree;
+        }
+        MISSES.incrementAndGet();
+        return null;
+    }
+
+    public static void put(String key, DependencyGraph tree) {
+        synchronized (MEMORY) {
+            MEMORY.put(key, tree);
+        }
+        writeToDisk(key, tree);
+    }
+
+    // Stable id for a key: the SHA-256 its disk entry is named after
+    public static String id(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Cached tree with the given id, or null; the disk entry's first line names the key
+    public static DependencyGraph getById(String id) {
+        if (!ENABLED || !id.matches("[0-9a-f]{64}")) {
+            return null;
+        }
+        Path file = directory.resolve(id + SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String key = reader.readLine();
+            return key == null ? null : get(key);
+        } catch (IOException e) {
+            LOG.warn("Unable to read cached tree {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    public static Map<String, Object> stats() {
+        long memoryHits = MEMORY_HITS.get();
+        long diskHits = DISK_HITS.get();
+        long misses = MISSES.get();
+        long lookups = memoryHits + diskHits + misses;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("memoryHits", memoryHits);
+        stats.put("diskHits", diskHits);
+        stats.put("misses", misses);
+        stats.put("evictions", EVICTIONS.get());
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) (memoryHits + diskHits) / lookups);
+        synchronized (MEMORY) {
+            stats.put("memoryEntries", MEMORY.size());
+        }
+        stats.put("maxMemoryEntries", maxEntries);
+        stats.put("diskBytes", Math.max(DISK_BYTES.get(), 0));
+        stats.put("maxDiskBytes", MAX_DISK_BYTES);
+        stats.put("diskEvictions", DISK_EVICTIONS.get());
+        return stats;
+    }
+
+    // Each entry is one file named after the key's SHA-256 holding the verbose rendering (with
+    // the declarations mediation dropped); the first line repeats the key so a hash collision can
+    // never return the wrong tree.
+    private static DependencyGraph readFromDisk(String key) {
+        Path file = directory.resolve(fileName(key));
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            int newline = content.indexOf('\n');
+            if (newline < 0 || !content.substring(0, newline).equals(key)) {
+                return null;
+            }
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return DependencyGraph.parse(content.substring(newline + 1));
+        } catch (IOException e) {
+            LOG.warn("Unable to read cached tree {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeToDisk(String key, DependencyGraph tree) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            Files.writeString(temp, key + "\n" + tree.render(true), StandardCharsets.UTF_8);
+            Path target = directory.resolve(fileName(key));
+            long replaced = Files.isRegularFile(target) ? Files.size(target) : 0;
+            long written = Files.size(temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (diskBytes().addAndGet(written - replaced) > MAX_DISK_BYTES) {
+                evictFromDisk();
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to persist cached tree for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static AtomicLong diskBytes() {
+        if (DISK_BYTES.get() < 0) {
+            synchronized (DISK_BYTES) {
+                if (DISK_BYTES.get() < 0) {
+                    DISK_BYTES.set(entries().stream().mapToLong(DiskEntry::size).sum());
+                }
+            }
+        }
+        return DISK_BYTES;
+    }
+
+    // Deletes the least recently used entries until the directory is back under 90% of its
+    // budget, so a burst of writes does not evict on every one of them
+    private static void evictFromDisk() {
+        synchronized (DISK_BYTES) {
+            List<DiskEntry> entries = entries();
+            entries.sort(Comparator.comparingLong(DiskEntry::lastModified));
+            long total = entries.stream().mapToLong(DiskEntry::size).sum();
+            long target = MAX_DISK_BYTES / 10 * 9;
+            for (DiskEntry entry : entries) {
+                if (total <= target) {
+                    break;
+                }
+                try {
+                    if (Files.deleteIfExists(entry.file())) {
+                        DISK_EVICTIONS.incrementAndGet();
+                    }
+                    total -= entry.size();
+                } catch (IOException e) {
+                    LOG.warn("Unable to evict cached tree {}: {}", entry.file(), e.getMessage());
+                }
+            }
+            DISK_BYTES.set(total);
+        }
+    }
+
+    private static List<DiskEntry> entries() {
+        List<DiskEntry> entries = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    entries.add(new DiskEntry(file, Files.size(file), Files.getLastModifiedTime(file).toMillis()));
+                } catch (IOException e) {
+                    // Deleted or replaced concurrently; the next scan sees it as it is then
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to list cached trees in {}: {}", directory, e.getMessage());
+        }
+        return entries;
+    }
+
+    private record DiskEntry(Path file, long size, long lastModified) {
+    }
+
+    private static String fileName(String key) {
+        return id(key) + SUFFIX;
+    }
+}
@@ -0,0 +1,431 @@
+package com.hackthon.dependecy;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@RestController
+@RequestMapping("/dependency-tree")
+public class DependencyTreeController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DependencyTreeController.class);
+
+    // Drives SSE streams; the resolution itself still runs on the bounded ResolutionExecutor
+    private static final ExecutorService STREAM_EXECUTOR = VirtualThreads.isEnabled()
+            ? VirtualThreads.newExecutor("tree-stream", 1)
+            : Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "tree-stream");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Accepts an XML dependency snippet and returns the dependency tree.
+     *
+     * Example XML input:
+     * <dependency>
+     *     <groupId>org.flowable</groupId>
+     *     <artifactId>flowable-engine</artifactId>
+     *     <version>7.1.0</version>
+     *     <exclusions>
+     *         <exclusion>
+     *             <groupId>org.springframework</groupId>
+     *             <artifactId>spring-beans</artifactId>
+     *         </exclusion>
+     *     </exclusions>
+     * </dependency>
+     *
+     * The optional "resolver" parameter ("subprocess" or "embedded") overrides the configured
+     * resolver mode, so both paths can be compared for the same input.
+     *
+     * Returns 503 straight away when the resolution pool and its queue are full.
+     */
+    @PostMapping(consumes = "application/xml", produces = "text/plain")
+    public ResponseEntity<String> generateDependencyTree(@RequestBody String dependencyXml,
+                                                         @RequestParam(value = "resolver", required = false) String resolver) {
+        try {
+            MavenDependencyRequest dependency = MavenDependencyRequest.fromXml(dependencyXml);
+            if (!dependency.isComplete()) {
+                return ResponseEntity.ok("Invalid dependency XML. Ensure groupId, artifactId, and version are provided.");
+            }
+
+            // Generate dependency tree using the provided values and exclusions
+            return ResponseEntity.ok(DependencyTreeGenerator.generateTree(dependency.getGroupId(), dependency.getArtifactId(),
+                    dependency.getVersion(), dependency.getExclusionsBlock(),
+                    DependencyTreeGenerator.ResolverMode.from(resolver)));
+        } catch (ResolutionExecutor.ResolutionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(e.getMessage());
+        } catch (Exception e) {
+            LOG.error("Dependency tree failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error processing dependency: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Streaming variant of the endpoint above: tree lines are written as chunked text while
+     * Maven is still producing them, followed by a one-line summary.
+     */
+    @PostMapping(value = "/stream", consumes = "application/xml", produces = "text/plain")
+    public ResponseEntity<StreamingResponseBody> streamDependencyTree(@RequestBody String dependencyXml,
+                                                                      @RequestParam(value = "resolver", required = false) String resolver)
+            throws Exception {
+        MavenDependencyRequest dependency = MavenDependencyRequest.fromXml(dependencyXml);
+        if (!dependency.isComplete()) {
+            return ResponseEntity.badRequest().body(out -> out.write(
+                    "Invalid dependency XML. Ensure groupId, artifactId, and version are provided.\n".getBytes(StandardCharsets.UTF_8)));
+        }
+        // Parsed up front: once the body starts the status is 200 and errors can only be written as text
+        DependencyTreeGenerator.ResolverMode mode;
+        try {
+            mode = DependencyTreeGenerator.ResolverMode.from(resolver);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(out -> out.write(
+                    ("Unknown resolver: " + resolver + "\n").getBytes(StandardCharsets.UTF_8)));
+        }
+
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            long start = System.nanoTime();
+            try {
+                DependencyGraph graph = DependencyTreeGenerator.streamGraph(dependency.getGroupId(),
+                        dependency.getArtifactId(), dependency.getVersion(), dependency.getExclusionsBlock(),
+                        mode, line -> {
+                            try {
+                                writer.write(line);
+                                writer.write('\n');
+                                writer.flush();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                writer.write(summary(graph, start) + "\n");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writer.write("Error: interrupted\n");
+            } catch (IOException | RuntimeException e) {
+                // Lines may already be out, so the last line is what tells the client the tree is cut short
+                writer.write("Error: " + e.getMessage() + "\n");
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(body);
+    }
+
+    /**
+     * Server-sent events variant: one "node" event per tree line, then a "summary" event with
+     * node count, depth and elapsed time, or an "error" event if resolution fails.
+     */
+    @PostMapping(value = "/events", consumes = "application/xml", produces = "text/event-stream")
+    public SseEmitter streamDependencyTreeEvents(@RequestBody String dependencyXml,
+                                                 @RequestParam(value = "resolver", required = false) String resolver)
+            throws Exception {
+        MavenDependencyRequest dependency = MavenDependencyRequest.fromXml(dependencyXml);
+        SseEmitter emitter = new SseEmitter(0L);
+        STREAM_EXECUTOR.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                if (!dependency.isComplete()) {
+                    throw new IllegalArgumentException("Invalid dependency XML. Ensure groupId, artifactId, and version are provided.");
+                }
+                DependencyGraph graph = DependencyTreeGenerator.streamGraph(dependency.getGroupId(),
+                        dependency.getArtifactId(), dependency.getVersion(), dependency.getExclusionsBlock(),
+                        DependencyTreeGenerator.ResolverMode.from(resolver), line -> {
+                            try {
+                                emitter.send(SseEmitter.event().name("node").data(line));
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("nodes", graph.size());
+                summary.put("maxDepth", graph.maxDepth());
+                summary.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+                emitter.send(SseEmitter.event().name("summary").data(summary, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (Exception e) {
+                try {
+                    emitter.send(SseEmitter.event().name("error").data(String.valueOf(e.getMessage())));
+                    emitter.complete();
+                } catch (Exception sendFailure) {
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Resolves a whole list of dependencies in one pass.
+     *
+     * Example XML input:
+     * <dependencies>
+     *     <dependency>...</dependency>
+     *     <dependency>...</dependency>
+     * </dependencies>
+     *
+     * Returns one tree per input plus the merged tree. Artifacts shared between inputs are
+     * resolved once; like in a real project, each appears under the first input that pulls it
+     * in. An input's tree is still complete: the shared artifacts it needs are copied in from
+     * where they were resolved and listed under "shared". The top-level "shared" section names,
+     * for each artifact more than one input needs, the version that won and the input it was
+     * resolved under.
+     */
+    @PostMapping(value = "/batch", consumes = "application/xml", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> generateBatchDependencyTree(@RequestBody String dependenciesXml,
+                                                                           @RequestParam(value = "resolver", required = false) String resolver) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        try {
+            Element root = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                    .parse(new InputSource(new StringReader(dependenciesXml))).getDocumentElement();
+            List<MavenDependencyRequest> dependencies = new ArrayList<>();
+            NodeList dependencyNodes = root.getElementsByTagName("dependency");
+            for (int i = 0; i < dependencyNodes.getLength(); i++) {
+                MavenDependencyRequest dependency = MavenDependencyRequest.fromElement((Element) dependencyNodes.item(i));
+                if (!dependency.isComplete()) {
+                    response.put("error", "Dependency #" + (i + 1) + " must provide groupId, artifactId, and version.");
+                    return ResponseEntity.badRequest().body(response);
+                }
+                dependencies.add(dependency);
+            }
+
+            DependencyGraph merged = DependencyTreeGenerator.generateBatchGraph(dependencies,
+                    DependencyTreeGenerator.ResolverMode.from(resolver));
+
+            // Match each input to its first-level node in the merged graph
+            Map<String, Integer> firstLevel = new HashMap<>();
+            for (int node : merged.roots()) {
+                firstLevel.putIfAbsent(merged.key(node), node);
+            }
+            List<Map<String, Object>> trees = new ArrayList<>();
+            // groupId:artifactId -> the inputs whose full tree contains it
+            Map<String, Set<String>> usedBy = new LinkedHashMap<>();
+            for (MavenDependencyRequest dependency : dependencies) {
+                Map<String, Object> tree = new LinkedHashMap<>();
+                tree.put("dependency", dependency.toString());
+                Integer node = firstLevel.get(dependency.getGroupId() + ":" + dependency.getArtifactId());
+                if (node == null) {
+                    tree.put("error", "Not resolved");
+                } else {
+                    DependencyGraph full = merged.fullSubtree(node);
+                    Set<String> own = new HashSet<>(merged.subtree(node).packageUrls());
+                    List<String> shared = new ArrayList<>();
+                    for (int current = 0; current < full.size(); current++) {
+                        usedBy.computeIfAbsent(full.key(current), key -> new LinkedHashSet<>()).add(dependency.toString());
+                        if (!own.contains(full.packageUrl(current))) {
+                            shared.add(full.coordinates(current));
+                        }
+                    }
+                    tree.put("nodes", full.size());
+                    tree.put("tree", full.render());
+                    tree.put("shared", shared);
+                }
+                trees.add(tree);
+            }
+
+            // Where each artifact needed by several inputs was resolved, and which version won
+            Map<Integer, String> resolvedUnder = new HashMap<>();
+            for (MavenDependencyRequest dependency : dependencies) {
+                Integer node = firstLevel.get(dependency.getGroupId() + ":" + dependency.getArtifactId());
+                if (node == null || resolvedUnder.containsKey(node)) {
+                    continue;
+                }
+                for (int current = node; current < merged.size()
+                        && (current == node || merged.depth(current) > merged.depth(node)); current++) {
+                    resolvedUnder.put(current, dependency.toString());
+                }
+            }
+            Map<String, Integer> winners = new HashMap<>();
+            Map<String, Set<String>> requestedVersions = new HashMap<>();
+            for (int current = 0; current < merged.size(); current++) {
+                winners.putIfAbsent(merged.key(current), current);
+                requestedVersions.computeIfAbsent(merged.key(current), key -> new TreeSet<>()).add(merged.version(current));
+            }
+            for (int entry = 0; entry < merged.omittedCount(); entry++) {
+                requestedVersions.computeIfAbsent(merged.omittedKey(entry), key -> new TreeSet<>())
+                        .add(merged.omittedVersion(entry));
+            }
+            List<Map<String, Object>> sharedArtifacts = new ArrayList<>();
+            for (Map.Entry<String, Set<String>> entry : usedBy.entrySet()) {
+                Integer winner = winners.get(entry.getKey());
+                if (entry.getValue().size() < 2 || winner == null) {
+                    continue;
+                }
+                Map<String, Object> artifact = new LinkedHashMap<>();
+                artifact.put("artifact", merged.coordinates(winner));
+                artifact.put("resolvedUnder", resolvedUnder.get(winner));
+                artifact.put("usedBy", entry.getValue());
+                artifact.put("requestedVersions", requestedVersions.get(entry.getKey()));
+                sharedArtifacts.add(artifact);
+            }
+
+            Map<String, Object> mergedView = new LinkedHashMap<>();
+            mergedView.put("nodes", merged.size());
+            mergedView.put("distinctArtifacts", merged.packageUrls().size());
+            mergedView.put("tree", merged.render());
+            response.put("trees", trees);
+            response.put("shared", sharedArtifacts);
+            response.put("merged", mergedView);
+            return ResponseEntity.ok(response);
+        } catch (ResolutionExecutor.ResolutionRejectedException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(response);
+        } catch (Exception e) {
+            LOG.error("Batch dependency tree failed", e);
+            response.put("error", "Error processing dependencies: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Accepts a complete project pom and resolves all of its dependencies together, with its
+     * properties, parent chain, dependencyManagement and imported BOMs applied. The body is
+     * parsed as a stream, so large poms are never held in memory as a document.
+     */
+    @PostMapping(value = "/project", consumes = {"application/xml", "text/xml"}, produces = "application/json")
+    public ResponseEntity<Map<String, Object>> generateProjectDependencyTree(InputStream pomXml,
+                                                                             @RequestParam(value = "resolver", required = false) String resolver) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        try {
+            DependencyTreeGenerator.ProjectTree project = DependencyTreeGenerator.generateProjectGraph(pomXml,
+                    DependencyTreeGenerator.ResolverMode.from(resolver));
+            DependencyGraph graph = project.graph();
+            response.put("project", project.project());
+            response.put("declaredDependencies", project.declaredDependencies());
+            response.put("managedDependencies", project.managedDependencies());
+            response.put("nodes", graph.size());
+            response.put("distinctArtifacts", graph.packageUrls().size());
+            response.put("maxDepth", graph.maxDepth());
+            response.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+            response.put("tree", graph.render());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (ResolutionExecutor.ResolutionRejectedException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(response);
+        } catch (Exception e) {
+            LOG.error("Project dependency tree failed", e);
+            response.put("error", "Error processing project: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Upgrade impact: resolves both sides and returns the nodes added, removed and changed
+     * between the two trees, plus the vulnerabilities the change introduces and fixes.
+     *
+     * Example XML input:
+     * <upgrade>
+     *     <from>
+     *         <groupId>org.apache.commons</groupId>
+     *         <artifactId>commons-text</artifactId>
+     *         <version>1.9</version>
+     *     </from>
+     *     <to>
+     *         <version>1.10.0</version>
+     *     </to>
+     * </upgrade>
+     *
+     * Anything "to" leaves out is taken from "from", exclusions included; an empty
+     * <exclusions/> in "to" drops them. "vulnerabilities=false" skips the exposure check.
+     */
+    @PostMapping(value = "/diff", consumes = "application/xml", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> diffDependencyTrees(@RequestBody String upgradeXml,
+                                                                   @RequestParam(value = "resolver", required = false) String resolver,
+                                                                   @RequestParam(value = "vulnerabilities", defaultValue = "true") boolean vulnerabilities) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        try {
+            Element root = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                    .parse(new InputSource(new StringReader(upgradeXml))).getDocumentElement();
+            NodeList fromNodes = root.getElementsByTagName("from");
+            NodeList toNodes = root.getElementsByTagName("to");
+            if (fromNodes.getLength() == 0 || toNodes.getLength() == 0) {
+                response.put("error", "Both <from> and <to> must be provided.");
+                return ResponseEntity.badRequest().body(response);
+            }
+            Element toElement = (Element) toNodes.item(0);
+            MavenDependencyRequest from = MavenDependencyRequest.fromElement((Element) fromNodes.item(0));
+            MavenDependencyRequest declared = MavenDependencyRequest.fromElement(toElement);
+            // Only direct children count: an exclusion's groupId must not fill in the artifact's
+            MavenDependencyRequest to = new MavenDependencyRequest(
+                    hasChild(toElement, "groupId") ? declared.getGroupId() : from.getGroupId(),
+                    hasChild(toElement, "artifactId") ? declared.getArtifactId() : from.getArtifactId(),
+                    hasChild(toElement, "version") ? declared.getVersion() : from.getVersion(),
+                    hasChild(toElement, "exclusions")
+                            ? declared.getExclusionsBlock() : from.getExclusionsBlock());
+            if (!from.isComplete()) {
+                response.put("error", "<from> must provide groupId, artifactId, and version.");
+                return ResponseEntity.badRequest().body(response);
+            }
+            if (!to.isComplete()) {
+                response.put("error", "<to> must provide groupId, artifactId, and version, or leave them out to keep <from>'s.");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            return ResponseEntity.ok(UpgradeImpactAnalyzer.analyze(from, to,
+                    DependencyTreeGenerator.ResolverMode.from(resolver), vulnerabilities));
+        } catch (ResolutionExecutor.ResolutionRejectedException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(response);
+        } catch (Exception e) {
+            LOG.error("Upgrade diff failed", e);
+            response.put("error", "Error processing upgrade: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    // Hit, miss and eviction counters of the tree cache
+    @GetMapping(value = "/cache/stats", produces = "application/json")
+    public Map<String, Object> cacheStats() {
+        return DependencyTreeCache.stats();
+    }
+
+    // Popularity scores and what the last refresh-ahead cycles did
+    @GetMapping(value = "/prewarm/stats", produces = "application/json")
+    public Map<String, Object> prewarmStats() {
+        return Prewarmer.stats();
+    }
+
+    // Requests in flight and turned away by AdmissionFilter, and how often identical trees and
+    // scans were shared instead of computed
+    @GetMapping(value = "/admission/stats", produces = "application/json")
+    public Map<String, Object> admissionStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(AdmissionFilter.stats());
+        stats.put("coalescing", List.of(DependencyTreeGenerator.RESOLUTIONS.stats(),
+                MavenVulnerabilityService.SCANS.stats()));
+        return stats;
+    }
+
+    private static boolean hasChild(Element parent, String tagName) {
+        for (org.w3c.dom.Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element && element.getTagName().equals(tagName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String summary(DependencyGraph graph, long startNanos) {
+        String summary = "Total: " + graph.size() + " dependencies, max depth " + graph.maxDepth()
+                + ", resolved in " + (System.nanoTime() - startNanos) / 1_000_000 + " ms";
+        return graph.isComplete() ? summary : summary + "; incomplete: " + String.join(", ", graph.unresolved());
+    }
+}
@@ -0,0 +1,549 @@
+package com.hackthon.dependecy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class DependencyTreeGenerator{
+
+    private static final Logger LOG = LoggerFactory.getLogger(DependencyTreeGenerator.class);
+
+    // Command that runs Maven, split on whitespace so a wrapper with arguments works too, e.g.
+    // -Dmaven.executable="java -cp target/test-classes com.hackthon.dependecy.FakeMaven" for offline load tests
+    private static volatile List<String> mavenCommand = mavenCommand(AppSettings.get("maven.executable", "mvn"));
+    // Keyed by resolver mode and the tree cache key (normalized GAV plus sorted exclusions)
+    static final SingleFlight<String, DependencyGraph> RESOLUTIONS = new SingleFlight<>("dependency-tree");
+
+    // How a tree is produced: by forking "mvn dependency:tree" or by resolving in-process
+    public enum ResolverMode {
+        SUBPROCESS, EMBEDDED;
+
+        // Mode used when a caller does not ask for one, set with -Ddependency.resolver=embedded
+        public static ResolverMode configured() {
+            return from(AppSettings.get("dependency.resolver", "subprocess"));
+        }
+
+        public static ResolverMode from(String value) {
+            if (value == null || value.isBlank()) {
+                return configured();
+            }
+            return ResolverMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // Runs later subprocess resolutions with another command, as maven.executable would
+    static void useMavenExecutable(String executable) {
+        mavenCommand = mavenCommand(executable);
+    }
+
+    private static List<String> mavenCommand(String executable) {
+        return List.of(executable.trim().split("\\s+"));
+    }
+
+    public static String generateTree(String groupId, String artifactId, String version, String exclusionsBlock)
+            throws IOException, InterruptedException {
+        return generateTree(groupId, artifactId, version, exclusionsBlock, ResolverMode.configured());
+    }
+
+    public static String generateTree(String groupId, String artifactId, String version, String exclusionsBlock,
+                                      ResolverMode mode)
+            throws IOException, InterruptedException {
+        if (groupId == null || artifactId == null || version == null)
+            return "Invalid input. groupId, artifactId and version must be provided.";
+
+        return generateGraph(groupId, artifactId, version, exclusionsBlock, mode).render();
+    }
+
+    public static DependencyGraph generateGraph(String groupId, String artifactId, String version, String exclusionsBlock)
+            throws IOException, InterruptedException {
+        return generateGraph(groupId, artifactId, version, exclusionsBlock, ResolverMode.configured());
+    }
+
+    // Resolves the dependency into its structured graph; the text tree is a rendering of this
+    public static DependencyGraph generateGraph(String groupId, String artifactId, String version, String exclusionsBlock,
+                                                ResolverMode mode)
+            throws IOException, InterruptedException {
+        return streamGraph(groupId, artifactId, version, exclusionsBlock, mode, line -> { });
+    }
+
+    // Same as generateGraph, but hands every tree line to lineConsumer as soon as it is known.
+    // With the subprocess resolver that is while Maven is still running; cached and embedded
+    // results are replayed from the finished graph.
+    public static DependencyGraph streamGraph(String groupId, String artifactId, String version, String exclusionsBlock,
+                                              ResolverMode mode, Consumer<String> lineConsumer)
+            throws IOException, InterruptedException {
+        return streamGraph(groupId, artifactId, version, exclusionsBlock, mode, lineConsumer, packageUrl -> { });
+    }
+
+    // As above, and also hands artifactConsumer the package URL of each artifact as early as
+    // the resolver knows it: per output line from Maven, per mediation decision from the
+    // embedded resolver (before the tree can be rendered), per node for cached trees
+    public static DependencyGraph streamGraph(String groupId, String artifactId, String version, String exclusionsBlock,
+                                              ResolverMode mode, Consumer<String> lineConsumer,
+                                              Consumer<String> artifactConsumer)
+            throws IOException, InterruptedException {
+        if (groupId == null || artifactId == null || version == null)
+            throw new IllegalArgumentException("groupId, artifactId and version must be provided.");
+
+        // If no exclusions provided, use an empty string.
+        if (exclusionsBlock == null) {
+            exclusionsBlock = "";
+        }
+        Prewarmer.recordTree(groupId, artifactId, version, exclusionsBlock);
+
+        // Released artifacts resolve to the same tree every time, so serve repeats from the cache
+        long started = System.nanoTime();
+        String modeTag = mode.name().toLowerCase(Locale.ROOT);
+        List<String> exclusionList = parseExclusions(exclusionsBlock);
+        String cacheKey = DependencyTreeCache.key(mode, groupId, artifactId, version, exclusionList);
+        boolean cacheable = DependencyTreeCache.isCacheable(version);
+        if (cacheable) {
+            DependencyGraph cached = DependencyTreeCache.get(cacheKey);
+            PipelineMetrics.recordStage("cache-lookup", started);
+            if (cached != null) {
+                cached.packageUrls().forEach(artifactConsumer);
+                replay(cached, lineConsumer);
+                PipelineMetrics.recordResolution(modeTag, "cache-hit", started);
+                return cached;
+            }
+        }
+
+        // Identical requests that arrive while this one is resolving wait for it instead of
+        // starting their own Maven run, then replay its result like a cache hit. This caller's
+        // consumers are guarded so that its client going away cannot fail the shared resolution,
+        // and the shared resolution caches its own result, since whoever started it may have
+        // stopped waiting by the time it finishes.
+        String exclusions = exclusionsBlock;
+        GuardedConsumer<String> lines = new GuardedConsumer<>(lineConsumer);
+        GuardedConsumer<String> artifacts = new GuardedConsumer<>(artifactConsumer);
+        boolean[] resolvedHere = new boolean[1];
+        DependencyGraph graph;
+        try {
+            graph = RESOLUTIONS.run(cacheKey, () -> cacheIfComplete(cacheable, cacheKey, ResolutionExecutor.run(() -> {
+                if (mode == ResolverMode.EMBEDDED) {
+                    long resolveStarted = System.nanoTime();
+                    DependencyGraph resolved = EmbeddedMavenResolver.resolveGraph(groupId, artifactId, version, exclusionList,
+                            artifacts);
+                    PipelineMetrics.recordStage("embedded-resolve", resolveStarted);
+                    replay(resolved, lines);
+                    return resolved;
+                }
+                String dependencies = "<dependencies>" + dependencyElement(groupId, artifactId, version, exclusions) + "</dependencies>";
+                return parseTree(runMaven(dependencies, line -> {
+                    String packageUrl = DependencyGraph.packageUrlOfLine(line);
+                    if (packageUrl != null) {
+                        artifacts.accept(packageUrl);
+                    }
+                    lines.accept(line);
+                }));
+            })), resolvedHere);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            // The resolution may go on for other callers; it must not write to this one any more
+            lines.detach();
+            artifacts.detach();
+            PipelineMetrics.recordResolution(modeTag, "error", started);
+            throw e;
+        }
+        if (!resolvedHere[0]) {
+            graph.packageUrls().forEach(artifactConsumer);
+            replay(graph, lineConsumer);
+            PipelineMetrics.recordResolution(modeTag, "coalesced", started);
+            return graph;
+        }
+        PipelineMetrics.recordResolution(modeTag, "resolved", started);
+        // The tree is complete and shared; only this caller learns that its consumer failed
+        lines.rethrow();
+        artifacts.rethrow();
+        return graph;
+    }
+
+    // An empty or partial graph means resolution failed somewhere; don't remember that
+    private static DependencyGraph cacheIfComplete(boolean cacheable, String cacheKey, DependencyGraph graph) {
+        if (cacheable && graph.size() > 0 && graph.isComplete()) {
+            DependencyTreeCache.put(cacheKey, graph);
+        }
+        return graph;
+    }
+
+    // Passes items on until the target throws, then drops the rest and keeps the failure for
+    // rethrow(), so a caller's broken stream does not abort work other callers are waiting on
+    private static final class GuardedConsumer<T> implements Consumer<T> {
+        private final Consumer<T> target;
+        private volatile RuntimeException failure;
+        private volatile boolean detached;
+
+        GuardedConsumer(Consumer<T> target) {
+            this.target = target;
+        }
+
+        @Override
+        public void accept(T item) {
+            if (failure != null || detached) {
+                return;
+            }
+            try {
+                target.accept(item);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        // The caller stopped waiting; drop everything from now on
+        void detach() {
+            detached = true;
+        }
+
+        void rethrow() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private static void replay(DependencyGraph graph, Consumer<String> lineConsumer) {
+        for (String line : graph.render().split("\n")) {
+            if (!line.isEmpty()) {
+                lineConsumer.accept(line);
+            }
+        }
+    }
+
+    // Resolves several first-level dependencies together in a single Maven run or embedded pass.
+    // Artifacts shared between inputs are resolved and mediated once, exactly as in a project
+    // that declares all of them.
+    public static DependencyGraph generateBatchGraph(List<MavenDependencyRequest> dependencies, ResolverMode mode)
+            throws IOException, InterruptedException {
+        if (mode == ResolverMode.EMBEDDED) {
+            List<EmbeddedMavenResolver.PomDependency> direct = new ArrayList<>();
+            for (MavenDependencyRequest dependency : dependencies) {
+                EmbeddedMavenResolver.PomDependency pomDependency = new EmbeddedMavenResolver.PomDependency();
+                pomDependency.groupId = dependency.getGroupId();
+                pomDependency.artifactId = dependency.getArtifactId();
+                pomDependency.version = dependency.getVersion();
+                pomDependency.exclusions.addAll(parseExclusions(dependency.getExclusionsBlock()));
+                direct.add(pomDependency);
+            }
+            return ResolutionExecutor.run(() -> EmbeddedMavenResolver.resolveGraph(direct, List.of()));
+        }
+
+        StringBuilder block = new StringBuilder("<dependencies>");
+        for (MavenDependencyRequest dependency : dependencies) {
+            block.append(dependencyElement(dependency.getGroupId(), dependency.getArtifactId(),
+                    dependency.getVersion(), dependency.getExclusionsBlock()));
+        }
+        block.append("</dependencies>");
+        return ResolutionExecutor.run(() -> parseTree(runMaven(block.toString(), line -> { })));
+    }
+
+    // Result of resolving an uploaded project pom
+    public record ProjectTree(String project, int declaredDependencies, int managedDependencies, DependencyGraph graph) {
+    }
+
+    // Resolves every dependency a project pom declares in one Maven run or embedded pass, with
+    // its properties, parent chain, dependency management and imported BOMs applied. The pom
+    // is read as a stream; parents and BOMs come from the repositories like any other POM.
+    public static ProjectTree generateProjectGraph(InputStream pom, ResolverMode mode)
+            throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        String modeTag = mode.name().toLowerCase(Locale.ROOT);
+        EmbeddedMavenResolver.PomModel model;
+        try {
+            model = EmbeddedMavenResolver.projectModel(EmbeddedMavenResolver.parsePom(pom));
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Invalid pom: " + e.getMessage(), e);
+        }
+        PipelineMetrics.recordStage("project-model", started);
+
+        boolean cacheable = true;
+        StringBuilder canonical = new StringBuilder();
+        for (EmbeddedMavenResolver.PomDependency dependency : model.dependencies) {
+            if (dependency.groupId == null || dependency.artifactId == null) {
+                throw new IllegalArgumentException("Every dependency must provide groupId and artifactId.");
+            }
+            if (dependency.version == null || dependency.version.contains("${")) {
+                throw new IllegalArgumentException("No version for " + dependency.managementKey()
+                        + "; declare it or manage it in <dependencyManagement>.");
+            }
+            cacheable &= DependencyTreeCache.isCacheable(dependency.version);
+            canonical.append(canonicalForm(dependency)).append('\n');
+        }
+        canonical.append("--\n");
+        for (EmbeddedMavenResolver.PomDependency managed : model.managedDependencies) {
+            cacheable &= managed.version == null || DependencyTreeCache.isCacheable(managed.version);
+            canonical.append(canonicalForm(managed)).append('\n');
+        }
+        String project = model.groupId + ":" + model.artifactId + ":" + model.version;
+
+        // Identical effective dependency sets resolve to the same tree, whatever the pom looked like
+        String cacheKey = DependencyTreeCache.key(mode, "project", "pom", sha256(canonical.toString()), List.of());
+        if (cacheable) {
+            long lookupStarted = System.nanoTime();
+            DependencyGraph cached = DependencyTreeCache.get(cacheKey);
+            PipelineMetrics.recordStage("cache-lookup", lookupStarted);
+            if (cached != null) {
+                PipelineMetrics.recordResolution(modeTag, "cache-hit", started);
+                return new ProjectTree(project, model.dependencies.size(), model.managedDependencies.size(), cached);
+            }
+        }
+
+        DependencyGraph graph;
+        try {
+            graph = ResolutionExecutor.run(() -> {
+                if (mode == ResolverMode.EMBEDDED) {
+                    long resolveStarted = System.nanoTime();
+                    DependencyGraph resolved = EmbeddedMavenResolver.resolveGraph(model.dependencies, model.managedDependencies);
+                    PipelineMetrics.recordStage("embedded-resolve", resolveStarted);
+                    return resolved;
+                }
+                return parseTree(runMaven(projectBody(model), line -> { }));
+            });
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            PipelineMetrics.recordResolution(modeTag, "error", started);
+            throw e;
+        }
+        PipelineMetrics.recordResolution(modeTag, "resolved", started);
+
+        if (cacheable && graph.size() > 0 && graph.isComplete()) {
+            DependencyTreeCache.put(cacheKey, graph);
+        }
+        return new ProjectTree(project, model.dependencies.size(), model.managedDependencies.size(), graph);
+    }
+
+    // Management is written out already expanded, so Maven sees the same versions the upload
+    // resolved to without needing the project's parent or BOMs to be installed
+    private static String projectBody(EmbeddedMavenResolver.PomModel model) {
+        StringBuilder body = new StringBuilder();
+        if (!model.managedDependencies.isEmpty()) {
+            body.append("<dependencyManagement><dependencies>");
+            for (EmbeddedMavenResolver.PomDependency managed : model.managedDependencies) {
+                if (managed.version != null) {
+                    body.append(pomDependencyElement(managed));
+                }
+            }
+            body.append("</dependencies></dependencyManagement>");
+        }
+        body.append("<dependencies>");
+        for (EmbeddedMavenResolver.PomDependency dependency : model.dependencies) {
+            body.append(pomDependencyElement(dependency));
+        }
+        return body.append("</dependencies>").toString();
+    }
+
+    private static String pomDependencyElement(EmbeddedMavenResolver.PomDependency dependency) {
+        StringBuilder element = new StringBuilder("<dependency>");
+        appendElement(element, "groupId", dependency.groupId);
+        appendElement(element, "artifactId", dependency.artifactId);
+        appendElement(element, "version", dependency.version);
+        appendElement(element, "type", dependency.type);
+        appendElement(element, "classifier", dependency.classifier);
+        appendElement(element, "scope", dependency.scope);
+        if (dependency.optional) {
+            appendElement(element, "optional", "true");
+        }
+        if (!dependency.exclusions.isEmpty()) {
+            element.append("<exclusions>");
+            for (String exclusion : dependency.exclusions) {
+                int colon = exclusion.indexOf(':');
+                element.append("<exclusion>");
+                appendElement(element, "groupId", exclusion.substring(0, colon));
+                appendElement(element, "artifactId", exclusion.substring(colon + 1));
+                element.append("</exclusion>");
+            }
+            element.append("</exclusions>");
+        }
+        return element.append("</dependency>").toString();
+    }
+
+    private static void appendElement(StringBuilder xml, String name, String value) {
+        if (value != null) {
+            xml.append('<').append(name).append('>')
+                    .append(value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;"))
+                    .append("</").append(name).append('>');
+        }
+    }
+
+    private static String canonicalForm(EmbeddedMavenResolver.PomDependency dependency) {
+        return dependency.managementKey() + ":" + dependency.version + ":" + dependency.scope + ":" + dependency.optional
+                + ":" + String.join(",", new TreeSet<>(dependency.exclusions));
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A failed Maven run may still have printed part of the tree; it is kept but marked incomplete
+    private static DependencyGraph parseTree(MavenOutput output) {
+        long started = System.nanoTime();
+        DependencyGraph graph = DependencyGraph.parse(output.tree(), output.exitCode() == 0
+                ? List.of() : List.of("mvn dependency:tree exited with status " + output.exitCode()));
+        PipelineMetrics.recordStage("parse", started);
+        return graph;
+    }
+
+    private static String dependencyElement(String groupId, String artifactId, String version, String exclusionsBlock) {
+        return """
+                    <dependency>
+                        <groupId>%s</groupId>
+                        <artifactId>%s</artifactId>
+                        <version>%s</version>
+                        %s
+                    </dependency>
+            """.formatted(groupId, artifactId, version, exclusionsBlock == null ? "" : exclusionsBlock);
+    }
+
+    // Runs dependency:tree on a throwaway project whose body (dependencies, dependency
+    // management) is given as XML
+    private static MavenOutput runMaven(String projectBody, Consumer<String> lineConsumer)
+            throws IOException, InterruptedException {
+        // Create a temporary pom.xml including the requested dependencies
+        String pomContent = """
+            <project>
+                <modelVersion>4.0.0</modelVersion>
+                <groupId>com.example</groupId>
+                <artifactId>temp-project</artifactId>
+                <version>1.0-SNAPSHOT</version>
+                %s
+            </project>
+            """.formatted(projectBody);
+
+        // Each run gets its own scratch directory so concurrent requests never share a pom
+        long stageStarted = System.nanoTime();
+        Path workspace = Files.createTempDirectory(workspaceRoot(), "resolution-");
+        Process process = null;
+        try {
+            File pomFile = workspace.resolve("pom.xml").toFile();
+            try (FileWriter writer = new FileWriter(pomFile)) {
+                writer.write(pomContent);
+            }
+            PipelineMetrics.recordStage("write-pom", stageStarted);
+
+            // Execute Maven dependency:tree; -Dverbose adds the declarations mediation dropped,
+            // which the graph keeps for conflict and path queries
+            stageStarted = System.nanoTime();
+            List<String> command = new ArrayList<>(mavenCommand);
+            command.addAll(List.of("dependency:tree", "-Dverbose", "-f", pomFile.getAbsolutePath()));
+            ProcessBuilder pb = new ProcessBuilder(command);
+            pb.directory(workspace.toFile());
+            pb.redirectErrorStream(true);
+            process = pb.start();
+            // A blocked readLine below ignores interrupts, so a timed-out or cancelled run kills
+            // Maven from the caller's side; the read then ends and the finally block cleans up
+            ResolutionExecutor.onCancel(process::destroyForcibly);
+            PipelineMetrics.recordStage("maven-start", stageStarted);
+
+            // Capture and filter output while Maven runs; reading only after it exits would let a
+            // large tree fill the pipe buffer and stall the child
+            stageStarted = System.nanoTime();
+            boolean firstLine = true;
+            StringBuilder treeOutput = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (firstLine) {
+                        // JVM boot and plugin loading, before Maven has any output
+                        PipelineMetrics.recordStage("maven-startup", stageStarted);
+                        stageStarted = System.nanoTime();
+                        firstLine = false;
+                    }
+                    line = filterTreeLine(line);
+                    if (line != null) {
+                        treeOutput.append(line).append("\n");
+                        if (!DependencyGraph.isOmittedLine(line)) {
+                            lineConsumer.accept(line);
+                        }
+                    }
+                }
+            }
+            PipelineMetrics.recordStage("maven-output", stageStarted);
+
+            // Wait for Maven process to complete
+            stageStarted = System.nanoTime();
+            int exitCode = process.waitFor();
+            PipelineMetrics.recordStage("maven-exit", stageStarted);
+            return new MavenOutput(treeOutput.toString(), exitCode);
+        } finally {
+            // A cancelled or timed-out run must not leave Maven behind
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            long cleanupStarted = System.nanoTime();
+            deleteWorkspace(workspace);
+            PipelineMetrics.recordStage("cleanup", cleanupStarted);
+        }
+    }
+
+    private record MavenOutput(String tree, int exitCode) {
+    }
+
+    private static Path workspaceRoot() throws IOException {
+        Path root = Path.of(AppSettings.get("dependency.tree.workspace", System.getProperty("java.io.tmpdir")));
+        return Files.createDirectories(root);
+    }
+
+    private static void deleteWorkspace(Path workspace) {
+        try (Stream<Path> paths = Files.walk(workspace)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            LOG.warn("Unable to clean up {}: {}", workspace, e.getMessage());
+        }
+    }
+
+    // Keeps only tree lines (those with "+-" or "\-" markers) and strips the "[INFO] " prefix,
+    // leaving the indentation that encodes each node's depth intact.
+    // Returns null for lines that are not part of the tree.
+    static String filterTreeLine(String line) {
+        if (!line.contains("+-") && !line.contains("\\-")) {
+            return null;
+        }
+        return line.replaceFirst("^\\[INFO\\] ", "");
+    }
+
+    // Turns an <exclusions> block into "groupId:artifactId" pairs
+    static List<String> parseExclusions(String exclusionsBlock) {
+        List<String> exclusions = new ArrayList<>();
+        if (exclusionsBlock == null || exclusionsBlock.isBlank()) {
+            return exclusions;
+        }
+        try {
+            Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                    .parse(new InputSource(new StringReader("<root>" + exclusionsBlock + "</root>")));
+            NodeList exclusionNodes = doc.getDocumentElement().getElementsByTagName("exclusion");
+            for (int i = 0; i < exclusionNodes.getLength(); i++) {
+                Element exclusion = (Element) exclusionNodes.item(i);
+                NodeList groupIds = exclusion.getElementsByTagName("groupId");
+                NodeList artifactIds = exclusion.getElementsByTagName("artifactId");
+                if (groupIds.getLength() > 0 && artifactIds.getLength() > 0) {
+                    exclusions.add(groupIds.item(0).getTextContent().trim() + ":"
+                            + artifactIds.item(0).getTextContent().trim());
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid exclusions block: " + e.getMessage(), e);
+        }
+        return exclusions;
+    }
+}
@@ -0,0 +1,200 @@
+package com.hackthon.dependecy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+/**
+ * Lazy, paginated view of a resolved tree for clients that cannot take the whole rendering.
+ *
+ * POST the same <dependency> snippet /dependency-tree takes to get the tree's first levels:
+ * depth levels below the first (default 1), at most limit children per node (default 100) and
+ * at most maxNodes nodes overall. Every node carries its childCount, so a client can show an
+ * expander and fetch the rest with GET /dependency-tree/nodes/{treeId}/{nodeId}, paging with
+ * offset and limit. GET /dependency-tree/nodes/{treeId} returns the first levels again without
+ * resolving.
+ *
+ * For a cached tree, treeId is the SHA-256 of the tree cache key (resolver mode, normalized GAV
+ * and exclusions) and nodeId is the node's position in the resolved graph, so both stay the
+ * same across requests and restarts. A tree that is not cached (SNAPSHOT or range versions, or
+ * an incomplete resolution) can differ from one POST to the next, so its treeId also hashes
+ * the tree itself: a re-POST that resolves differently gets a new treeId, and node ids under
+ * the old one keep meaning what they meant. Such trees are kept for the most recent
+ * dependency-tree.nodes.recent-trees requests; an unknown treeId is 404 and the client should
+ * POST again.
+ */
+@RestController
+@RequestMapping("/dependency-tree/nodes")
+public class DependencyTreeNodesController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DependencyTreeNodesController.class);
+
+    private static final int MAX_LIMIT = 1000;
+    private static final int MAX_NODES = AppSettings.getInt("dependency-tree.nodes.max-nodes", 2000);
+    private static final int RECENT_TREES = AppSettings.getInt("dependency-tree.nodes.recent-trees", 64);
+
+    private static final Map<String, DependencyGraph> RECENT = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DependencyGraph> eldest) {
+            return size() > RECENT_TREES;
+        }
+    };
+
+    @PostMapping(consumes = "application/xml", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> open(@RequestBody String dependencyXml,
+                                                    @RequestParam(value = "depth", defaultValue = "1") int depth,
+                                                    @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                    @RequestParam(value = "maxNodes", required = false) Integer maxNodes,
+                                                    @RequestParam(value = "resolver", required = false) String resolver) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        try {
+            MavenDependencyRequest dependency = MavenDependencyRequest.fromXml(dependencyXml);
+            if (!dependency.isComplete()) {
+                response.put("error", "Invalid dependency XML. Ensure groupId, artifactId, and version are provided.");
+                return ResponseEntity.badRequest().body(response);
+            }
+            DependencyTreeGenerator.ResolverMode mode = DependencyTreeGenerator.ResolverMode.from(resolver);
+            DependencyGraph graph = DependencyTreeGenerator.generateGraph(dependency.getGroupId(), dependency.getArtifactId(),
+                    dependency.getVersion(), dependency.getExclusionsBlock(), mode);
+            String key = DependencyTreeCache.key(mode, dependency.getGroupId(), dependency.getArtifactId(),
+                    dependency.getVersion(), DependencyTreeGenerator.parseExclusions(dependency.getExclusionsBlock()));
+            boolean cached = DependencyTreeCache.isCacheable(dependency.getVersion()) && graph.size() > 0 && graph.isComplete();
+            String treeId = DependencyTreeCache.id(cached ? key : key + "\n" + graph.render(true));
+            synchronized (RECENT) {
+                RECENT.put(treeId, graph);
+            }
+            response.put("dependency", dependency.toString());
+            response.putAll(top(treeId, graph, depth, limit, maxNodes));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (ResolutionExecutor.ResolutionRejectedException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(response);
+        } catch (Exception e) {
+            LOG.error("Dependency tree nodes failed", e);
+            response.put("error", "Error processing dependency: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    @GetMapping(value = "/{treeId}", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> tree(@PathVariable("treeId") String treeId,
+                                                    @RequestParam(value = "depth", defaultValue = "1") int depth,
+                                                    @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                    @RequestParam(value = "maxNodes", required = false) Integer maxNodes) {
+        DependencyGraph graph = find(treeId);
+        if (graph == null) {
+            return notFound("Unknown or expired tree " + treeId + "; POST the dependency again");
+        }
+        return ResponseEntity.ok(top(treeId, graph, depth, limit, maxNodes));
+    }
+
+    // One node with a page of its children, each expanded depth - 1 further levels
+    @GetMapping(value = "/{treeId}/{nodeId}", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> node(@PathVariable("treeId") String treeId,
+                                                    @PathVariable("nodeId") int nodeId,
+                                                    @RequestParam(value = "depth", defaultValue = "1") int depth,
+                                                    @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                    @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                    @RequestParam(value = "maxNodes", required = false) Integer maxNodes) {
+        DependencyGraph graph = find(treeId);
+        if (graph == null) {
+            return notFound("Unknown or expired tree " + treeId + "; POST the dependency again");
+        }
+        if (nodeId < 0 || nodeId >= graph.size()) {
+            return notFound("Tree " + treeId + " has no node " + nodeId);
+        }
+        int[] budget = {budget(maxNodes)};
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("treeId", treeId);
+        List<Integer> ancestors = new ArrayList<>();
+        for (int current = graph.parent(nodeId); current >= 0; current = graph.parent(current)) {
+            ancestors.add(0, current);
+        }
+        response.put("ancestors", ancestors);
+        response.put("node", describe(graph, nodeId));
+        response.put("children", page(graph, graph.children(nodeId), offset, limit, Math.max(0, depth - 1), budget));
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> top(String treeId, DependencyGraph graph, int depth, int limit, Integer maxNodes) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("treeId", treeId);
+        response.put("nodes", graph.size());
+        response.put("maxDepth", graph.maxDepth());
+        response.put("roots", page(graph, graph.roots(), 0, limit, Math.max(0, depth), new int[]{budget(maxNodes)}));
+        return response;
+    }
+
+    // Children from offset, up to limit and what is left of the node budget; each is expanded
+    // below while depth and budget allow, otherwise only its childCount tells the client more exist
+    private static Map<String, Object> page(DependencyGraph graph, int[] children, int offset, int limit, int depth, int[] budget) {
+        int from = Math.min(Math.max(0, offset), children.length);
+        int to = Math.min(children.length, from + Math.max(1, Math.min(limit, MAX_LIMIT)));
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int position = from; position < to && budget[0] > 0; position++) {
+            int child = children[position];
+            budget[0]--;
+            Map<String, Object> node = describe(graph, child);
+            if (depth > 0 && graph.childCount(child) > 0 && budget[0] > 0) {
+                node.put("children", page(graph, graph.children(child), 0, limit, depth - 1, budget));
+            }
+            items.add(node);
+        }
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("offset", from);
+        page.put("total", children.length);
+        page.put("items", items);
+        if (from + items.size() < children.length) {
+            page.put("nextOffset", from + items.size());
+        }
+        return page;
+    }
+
+    private static Map<String, Object> describe(DependencyGraph graph, int node) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", node);
+        description.put("groupId", graph.groupId(node));
+        description.put("artifactId", graph.artifactId(node));
+        description.put("version", graph.version(node));
+        description.put("scope", graph.scope(node));
+        if (!"jar".equals(graph.type(node))) {
+            description.put("type", graph.type(node));
+        }
+        if (graph.classifier(node) != null) {
+            description.put("classifier", graph.classifier(node));
+        }
+        if (graph.isOptional(node)) {
+            description.put("optional", true);
+        }
+        description.put("depth", graph.depth(node));
+        description.put("childCount", graph.childCount(node));
+        return description;
+    }
+
+    private static DependencyGraph find(String treeId) {
+        synchronized (RECENT) {
+            DependencyGraph graph = RECENT.get(treeId);
+            if (graph != null) {
+                return graph;
+            }
+        }
+        return DependencyTreeCache.getById(treeId);
+    }
+
+    private static int budget(Integer maxNodes) {
+        return maxNodes == null ? MAX_NODES : Math.max(1, Math.min(maxNodes, MAX_NODES));
+    }
+
+    private static ResponseEntity<Map<String, Object>> notFound(String message) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("error", message);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+}
@@ -0,0 +1,727 @@
+package com.hackthon.dependecy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves dependency trees inside the running JVM by reading POMs straight out of a Maven
+ * local repository, instead of forking {@code mvn dependency:tree} for every request.
+ *
+ * The traversal follows the same rules Maven applies: nearest-wins conflict mediation (first
+ * declaration wins on a tie), scope propagation and widening, inherited exclusions, optional
+ * and test/provided dependencies dropped past the first level, and dependency management
+ * taken from the parent chain, imported BOMs and the first-level dependency. POMs missing
+ * from the local repository are fetched from the configured remote repository unless
+ * {@code maven.offline} is set.
+ */
+public class EmbeddedMavenResolver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmbeddedMavenResolver.class);
+
+    private static volatile String localRepository = AppSettings.get("maven.local-repository",
+            System.getProperty("user.home") + File.separator + ".m2" + File.separator + "repository");
+    private static final String REMOTE_REPOSITORY = AppSettings.get("maven.remote-repository",
+            "https://repo.maven.apache.org/maven2");
+    private static volatile boolean offline = AppSettings.getBoolean("maven.offline", false);
+    // Bounds a whole POM download, body included; connecting is bounded by SharedHttpClient
+    private static final long REMOTE_TIMEOUT_SECONDS = AppSettings.getLong("maven.remote-timeout-seconds", 30);
+    // Deepest chain of BOMs importing BOMs that is followed; real chains are a few levels deep
+    private static final int MAX_IMPORT_DEPTH = AppSettings.getInt("maven.max-import-depth", 16);
+    private static final int MODEL_CACHE_SIZE = AppSettings.getInt("maven.model-cache-size", 4096);
+    private static final Pattern PROPERTY = Pattern.compile("\\$\\{([^}]+)}");
+    private static final XMLInputFactory XML_INPUT = xmlInputFactory();
+
+    // Released POMs never change, so raw and effective models are shared across requests
+    private static final Map<String, PomModel> RAW_MODELS = lruMap(MODEL_CACHE_SIZE);
+    private static final Map<String, PomModel> EFFECTIVE_MODELS = lruMap(MODEL_CACHE_SIZE);
+
+    // Points the resolver at another local repository and drops the models read from the old one
+    static void useRepository(String localRepository, boolean offline) {
+        EmbeddedMavenResolver.localRepository = localRepository;
+        EmbeddedMavenResolver.offline = offline;
+        RAW_MODELS.clear();
+        EFFECTIVE_MODELS.clear();
+    }
+
+    public static DependencyGraph resolveGraph(String groupId, String artifactId, String version, List<String> exclusions) {
+        return resolveGraph(groupId, artifactId, version, exclusions, packageUrl -> { });
+    }
+
+    // discovered receives the package URL of every artifact as soon as mediation settles it,
+    // long before the whole tree is known
+    public static DependencyGraph resolveGraph(String groupId, String artifactId, String version, List<String> exclusions,
+                                               Consumer<String> discovered) {
+        PomDependency dependency = new PomDependency();
+        dependency.groupId = groupId;
+        dependency.artifactId = artifactId;
+        dependency.version = version;
+        dependency.exclusions.addAll(exclusions);
+        return toGraph(resolve(List.of(dependency), List.of(), discovered));
+    }
+
+    public static DependencyGraph resolveGraph(List<PomDependency> directDependencies, List<PomDependency> rootManagement) {
+        return toGraph(resolve(directDependencies, rootManagement, packageUrl -> { }));
+    }
+
+    // Resolves the given first-level dependencies as if they were declared in one project
+    // whose <dependencyManagement> is rootManagement.
+    static TreeNode resolve(List<PomDependency> directDependencies, List<PomDependency> rootManagement,
+                            Consumer<String> discovered) {
+        TreeNode root = new TreeNode("com.example", "temp-project", "jar", null, "1.0-SNAPSHOT", null,
+                false, Set.of(), 0, managementMap(rootManagement, Map.of()));
+        Map<String, TreeNode> winners = new HashMap<>();
+        Deque<TreeNode> queue = new ArrayDeque<>();
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            TreeNode node = queue.poll();
+            List<PomDependency> declared;
+            Map<String, PomDependency> management = node.management;
+            if (node.depth == 0) {
+                declared = directDependencies;
+            } else {
+                PomModel model = effectiveModel(node.groupId, node.artifactId, node.version);
+                if (model == null) {
+                    // Its dependencies are unknown, so the tree below it is missing
+                    root.unresolved.add(node.groupId + ":" + node.artifactId + ":" + node.version + " (POM not found)");
+                    continue;
+                }
+                declared = model.dependencies;
+                if (node.depth == 1) {
+                    // Management declared by a first-level dependency applies to everything below it
+                    management = managementMap(model.managedDependencies, node.management);
+                }
+            }
+
+            for (PomDependency dependency : declared) {
+                String scope = dependency.scope == null ? "compile" : dependency.scope;
+                if (node.depth > 0) {
+                    if (dependency.optional || scope.equals("test") || scope.equals("provided")) {
+                        continue;
+                    }
+                    if (isExcluded(node.exclusions, dependency.groupId, dependency.artifactId)) {
+                        continue;
+                    }
+                }
+
+                String version = dependency.version;
+                PomDependency managed = management.get(dependency.managementKey());
+                if (managed != null && node.depth > 0) {
+                    if (managed.version != null) {
+                        version = managed.version;
+                    }
+                    if (managed.scope != null) {
+                        scope = managed.scope;
+                    }
+                }
+                if (node.depth > 0) {
+                    scope = deriveScope(node.scope, scope);
+                }
+                version = selectVersion(dependency.groupId, dependency.artifactId, version);
+                if (version == null) {
+                    root.unresolved.add(dependency.managementKey() + " (no version selected)");
+                    continue;
+                }
+
+                String conflictKey = dependency.managementKey();
+                TreeNode winner = winners.get(conflictKey);
+                if (winner != null) {
+                    // Nearest wins; a losing declaration can still widen the winner's scope
+                    if (winner.depth > 1 && scopeRank(scope) > scopeRank(winner.scope)) {
+                        winner.scope = scope;
+                    }
+                    // Kept for the query index, like the "omitted for ..." lines of dependency:tree -Dverbose
+                    node.omitted.add(new Omitted(dependency.groupId, dependency.artifactId, dependency.type,
+                            dependency.classifier, version, scope));
+                    continue;
+                }
+
+                Set<String> exclusions = new HashSet<>(node.exclusions);
+                exclusions.addAll(dependency.exclusions);
+                TreeNode child = new TreeNode(dependency.groupId, dependency.artifactId, dependency.type,
+                        dependency.classifier, version, scope, dependency.optional, exclusions,
+                        node.depth + 1, management);
+                node.children.add(child);
+                winners.put(conflictKey, child);
+                queue.add(child);
+                // Breadth-first, so the first winner for a key is final
+                discovered.accept("pkg:maven/" + child.groupId + "/" + child.artifactId + "@" + child.version);
+            }
+        }
+        return root;
+    }
+
+    // Flattens the resolved tree into the compact graph form, in dependency:tree's pre-order
+    static DependencyGraph toGraph(TreeNode root) {
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        root.unresolved.forEach(builder::addUnresolved);
+        for (TreeNode child : root.children) {
+            addToGraph(builder, -1, child);
+        }
+        addOmitted(builder, -1, root);
+        return builder.build();
+    }
+
+    private static void addToGraph(DependencyGraph.Builder builder, int parent, TreeNode node) {
+        int index = builder.add(parent, node.groupId, node.artifactId, node.type, node.classifier,
+                node.version, node.scope, node.optional);
+        for (TreeNode child : node.children) {
+            addToGraph(builder, index, child);
+        }
+        addOmitted(builder, index, node);
+    }
+
+    private static void addOmitted(DependencyGraph.Builder builder, int index, TreeNode node) {
+        for (Omitted omitted : node.omitted) {
+            builder.addOmitted(index, omitted.groupId(), omitted.artifactId(), omitted.type(), omitted.classifier(),
+                    omitted.version(), omitted.scope());
+        }
+    }
+
+    private static boolean isExcluded(Set<String> exclusions, String groupId, String artifactId) {
+        return exclusions.contains(groupId + ":" + artifactId)
+                || exclusions.contains(groupId + ":*")
+                || exclusions.contains("*:" + artifactId)
+                || exclusions.contains("*:*");
+    }
+
+    // Same table as Maven's JavaScopeDeriver
+    private static String deriveScope(String parentScope, String childScope) {
+        if (childScope.equals("system") || childScope.equals("test")) {
+            return childScope;
+        }
+        if (parentScope == null || parentScope.equals("compile")) {
+            return childScope;
+        }
+        if (parentScope.equals("test") || parentScope.equals("runtime")) {
+            return parentScope;
+        }
+        return "provided";
+    }
+
+    private static int scopeRank(String scope) {
+        return switch (scope) {
+            case "compile" -> 4;
+            case "runtime" -> 3;
+            case "provided" -> 2;
+            case "test" -> 1;
+            default -> 0;
+        };
+    }
+
+    private static Map<String, PomDependency> managementMap(List<PomDependency> declared,
+                                                          Map<String, PomDependency> inherited) {
+        Map<String, PomDependency> management = new HashMap<>(inherited);
+        for (PomDependency dependency : declared) {
+            management.putIfAbsent(dependency.managementKey(), dependency);
+        }
+        return management;
+    }
+
+    // Resolves version ranges against the versions present in the local repository
+    private static String selectVersion(String groupId, String artifactId, String version) {
+        if (version == null || !MavenVersions.isRange(version)) {
+            return version;
+        }
+        File artifactDir = new File(localRepository, groupId.replace('.', '/') + "/" + artifactId);
+        String[] available = artifactDir.list((dir, name) -> new File(dir, name).isDirectory());
+        String selected = available == null ? null : MavenVersions.highestInRange(Arrays.asList(available), version);
+        return selected != null ? selected : MavenVersions.boundOf(version);
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // POM model loading
+    // ---------------------------------------------------------------------------------------
+
+    // Loads a POM with parent inheritance, property interpolation, imported BOMs and
+    // dependency management injected. Returns null when the POM cannot be found.
+    static PomModel effectiveModel(String groupId, String artifactId, String version) {
+        return effectiveModel(groupId, artifactId, version, new LinkedHashSet<>());
+    }
+
+    // importing holds the BOMs whose import led here, outermost first
+    private static PomModel effectiveModel(String groupId, String artifactId, String version, Set<String> importing) {
+        String key = groupId + ":" + artifactId + ":" + version;
+        PomModel cached = EFFECTIVE_MODELS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        PomModel inherited = inheritedModel(groupId, artifactId, version, new HashSet<>());
+        if (inherited == null) {
+            return null;
+        }
+        importing.add(key);
+        try {
+            PomModel effective = buildEffectiveModel(inherited, importing);
+            EFFECTIVE_MODELS.put(key, effective);
+            return effective;
+        } finally {
+            importing.remove(key);
+        }
+    }
+
+    // Interpolates an inherited model, expands imported BOMs and fills in managed versions.
+    // Also used for POMs that do not live in a repository, such as uploaded project files.
+    static PomModel buildEffectiveModel(PomModel inherited) {
+        return buildEffectiveModel(inherited, new LinkedHashSet<>());
+    }
+
+    private static PomModel buildEffectiveModel(PomModel inherited, Set<String> importing) {
+        Map<String, String> properties = new HashMap<>(inherited.properties);
+        putModelProperties(properties, "project.", inherited);
+        putModelProperties(properties, "pom.", inherited);
+        putModelProperties(properties, "", inherited);
+        if (inherited.parentVersion != null) {
+            properties.put("project.parent.groupId", inherited.parentGroupId);
+            properties.put("project.parent.artifactId", inherited.parentArtifactId);
+            properties.put("project.parent.version", inherited.parentVersion);
+        }
+
+        PomModel effective = new PomModel();
+        effective.groupId = inherited.groupId;
+        effective.artifactId = inherited.artifactId;
+        effective.version = inherited.version;
+        effective.packaging = inherited.packaging;
+        effective.parentGroupId = inherited.parentGroupId;
+        effective.parentArtifactId = inherited.parentArtifactId;
+        effective.parentVersion = inherited.parentVersion;
+        effective.properties.putAll(properties);
+
+        Map<String, PomDependency> management = new LinkedHashMap<>();
+        List<PomDependency> imports = new ArrayList<>();
+        for (PomDependency raw : inherited.managedDependencies) {
+            PomDependency managed = raw.interpolate(properties);
+            if ("import".equals(managed.scope) && "pom".equals(managed.type)) {
+                imports.add(managed);
+            } else {
+                management.put(managed.managementKey(), managed);
+            }
+        }
+        for (PomDependency bom : imports) {
+            // Maven rejects import cycles; here the repeated import is skipped so resolution
+            // still terminates, as it does for imports nested deeper than MAX_IMPORT_DEPTH
+            String bomKey = bom.groupId + ":" + bom.artifactId + ":" + bom.version;
+            if (importing.contains(bomKey)) {
+                LOG.warn("Skipping cyclic BOM import of {} via {}", bomKey, importing);
+                continue;
+            }
+            if (importing.size() >= MAX_IMPORT_DEPTH) {
+                LOG.warn("Skipping BOM import of {}: nested more than {} levels deep", bomKey, MAX_IMPORT_DEPTH);
+                continue;
+            }
+            PomModel bomModel = effectiveModel(bom.groupId, bom.artifactId, bom.version, importing);
+            if (bomModel != null) {
+                for (PomDependency managed : bomModel.managedDependencies) {
+                    management.putIfAbsent(managed.managementKey(), managed);
+                }
+            }
+        }
+        effective.managedDependencies.addAll(management.values());
+
+        for (PomDependency raw : inherited.dependencies) {
+            PomDependency dependency = raw.interpolate(properties);
+            PomDependency managed = management.get(dependency.managementKey());
+            if (managed != null) {
+                if (dependency.version == null) {
+                    dependency.version = managed.version;
+                }
+                if (dependency.scope == null) {
+                    dependency.scope = managed.scope;
+                }
+                if (dependency.exclusions.isEmpty()) {
+                    dependency.exclusions.addAll(managed.exclusions);
+                }
+            }
+            effective.dependencies.add(dependency);
+        }
+        return effective;
+    }
+
+    private static void putModelProperties(Map<String, String> properties, String prefix, PomModel model) {
+        properties.put(prefix + "groupId", model.groupId);
+        properties.put(prefix + "artifactId", model.artifactId);
+        properties.put(prefix + "version", model.version);
+    }
+
+    // Effective model of a project POM that lives outside any repository, such as an uploaded
+    // file; its parent chain and imported BOMs still come from the repositories
+    static PomModel projectModel(PomModel raw) {
+        return buildEffectiveModel(inherit(raw, new HashSet<>()));
+    }
+
+    // Raw model merged with its parent chain, not yet interpolated
+    static PomModel inheritedModel(String groupId, String artifactId, String version, Set<String> visiting) {
+        PomModel raw = rawModel(groupId, artifactId, version);
+        if (raw == null || !visiting.add(groupId + ":" + artifactId + ":" + version)) {
+            return raw;
+        }
+        return inherit(raw, visiting);
+    }
+
+    static PomModel inherit(PomModel raw, Set<String> visiting) {
+        if (raw.parentArtifactId == null) {
+            return raw;
+        }
+        PomModel parent = inheritedModel(raw.parentGroupId, raw.parentArtifactId, raw.parentVersion, visiting);
+        if (parent == null) {
+            return raw;
+        }
+
+        PomModel merged = new PomModel();
+        merged.groupId = raw.groupId != null ? raw.groupId : raw.parentGroupId;
+        merged.artifactId = raw.artifactId;
+        merged.version = raw.version != null ? raw.version : raw.parentVersion;
+        merged.packaging = raw.packaging;
+        merged.parentGroupId = raw.parentGroupId;
+        merged.parentArtifactId = raw.parentArtifactId;
+        merged.parentVersion = raw.parentVersion;
+        merged.properties.putAll(parent.properties);
+        merged.properties.putAll(raw.properties);
+        merged.managedDependencies.addAll(mergeByKey(parent.managedDependencies, raw.managedDependencies));
+        merged.dependencies.addAll(mergeByKey(parent.dependencies, raw.dependencies));
+        return merged;
+    }
+
+    private static Collection<PomDependency> mergeByKey(List<PomDependency> parent, List<PomDependency> child) {
+        Map<String, PomDependency> merged = new LinkedHashMap<>();
+        for (PomDependency dependency : parent) {
+            merged.put(dependency.managementKey(), dependency);
+        }
+        for (PomDependency dependency : child) {
+            merged.put(dependency.managementKey(), dependency);
+        }
+        return merged.values();
+    }
+
+    private static PomModel rawModel(String groupId, String artifactId, String version) {
+        if (groupId == null || artifactId == null || version == null) {
+            return null;
+        }
+        String key = groupId + ":" + artifactId + ":" + version;
+        PomModel cached = RAW_MODELS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            File pomFile = locatePom(groupId, artifactId, version);
+            if (pomFile == null) {
+                return null;
+            }
+            PomModel model;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(pomFile.toPath()))) {
+                model = parsePom(in);
+            }
+            RAW_MODELS.put(key, model);
+            return model;
+        } catch (Exception e) {
+            LOG.warn("Unable to read POM {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static File locatePom(String groupId, String artifactId, String version) throws IOException {
+        String relativePath = groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/"
+                + artifactId + "-" + version + ".pom";
+        File pomFile = new File(localRepository, relativePath);
+        if (pomFile.isFile()) {
+            return pomFile;
+        }
+        if (offline) {
+            return null;
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(REMOTE_REPOSITORY + "/" + relativePath))
+                .timeout(Duration.ofSeconds(REMOTE_TIMEOUT_SECONDS))
+                .header("User-Agent", "DependencyTreeGenerator/1.0")
+                .GET()
+                .build();
+        Files.createDirectories(pomFile.getParentFile().toPath());
+        Path download = Files.createTempFile(pomFile.getParentFile().toPath(), "download", ".tmp");
+        try {
+            HttpResponse<Path> response;
+            try {
+                // The request timeout stops at the headers; orTimeout also bounds a stalled body
+                response = SharedHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofFile(download))
+                        .orTimeout(REMOTE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            }
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            Files.move(download, pomFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return pomFile;
+        } finally {
+            Files.deleteIfExists(download);
+        }
+    }
+
+    static PomModel parsePom(byte[] content) throws XMLStreamException {
+        return parsePom(new ByteArrayInputStream(content));
+    }
+
+    // Streams the POM instead of building a DOM: only the fields the resolver needs are kept,
+    // so memory stays flat however large the file (or an uploaded project pom) is
+    static PomModel parsePom(InputStream content) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT.createXMLStreamReader(content);
+        try {
+            PomModel model = new PomModel();
+            if (!nextChild(reader)) {
+                return model;
+            }
+            while (nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "groupId" -> model.groupId = text(reader);
+                    case "artifactId" -> model.artifactId = text(reader);
+                    case "version" -> model.version = text(reader);
+                    case "packaging" -> model.packaging = text(reader);
+                    case "parent" -> {
+                        while (nextChild(reader)) {
+                            switch (reader.getLocalName()) {
+                                case "groupId" -> model.parentGroupId = text(reader);
+                                case "artifactId" -> model.parentArtifactId = text(reader);
+                                case "version" -> model.parentVersion = text(reader);
+                                default -> text(reader);
+                            }
+                        }
+                    }
+                    case "properties" -> {
+                        while (nextChild(reader)) {
+                            model.properties.put(reader.getLocalName(), text(reader));
+                        }
+                    }
+                    case "dependencyManagement" -> {
+                        while (nextChild(reader)) {
+                            if (reader.getLocalName().equals("dependencies")) {
+                                parseDependencies(reader, model.managedDependencies);
+                            } else {
+                                text(reader);
+                            }
+                        }
+                    }
+                    case "dependencies" -> parseDependencies(reader, model.dependencies);
+                    default -> text(reader);
+                }
+            }
+            return model;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static void parseDependencies(XMLStreamReader reader, List<PomDependency> result) throws XMLStreamException {
+        while (nextChild(reader)) {
+            if (!reader.getLocalName().equals("dependency")) {
+                text(reader);
+                continue;
+            }
+            PomDependency dependency = new PomDependency();
+            while (nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "groupId" -> dependency.groupId = text(reader);
+                    case "artifactId" -> dependency.artifactId = text(reader);
+                    case "version" -> dependency.version = text(reader);
+                    case "scope" -> dependency.scope = text(reader);
+                    case "classifier" -> dependency.classifier = text(reader);
+                    case "type" -> dependency.type = text(reader);
+                    case "optional" -> dependency.optional = "true".equals(text(reader));
+                    case "exclusions" -> {
+                        while (nextChild(reader)) {
+                            String groupId = null;
+                            String artifactId = null;
+                            while (nextChild(reader)) {
+                                switch (reader.getLocalName()) {
+                                    case "groupId" -> groupId = text(reader);
+                                    case "artifactId" -> artifactId = text(reader);
+                                    default -> text(reader);
+                                }
+                            }
+                            dependency.exclusions.add(groupId + ":" + artifactId);
+                        }
+                    }
+                    default -> text(reader);
+                }
+            }
+            result.add(dependency);
+        }
+    }
+
+    // Moves to the next child element of the current one; false once the current element ends
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    // Text content of the current element, skipping any nested elements; leaves the reader on
+    // its end tag
+    private static String text(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString().trim();
+    }
+
+    // Only the model's own properties are used, never the JVM's: POMs come from uploads and
+    // remote repositories, and ${user.home} in a version would otherwise echo this server's
+    // settings back in the tree. Unknown references are left as they are.
+    static String interpolate(String value, Map<String, String> properties) {
+        if (value == null || !value.contains("${")) {
+            return value;
+        }
+        String result = value;
+        for (int pass = 0; pass < 10 && result.contains("${"); pass++) {
+            Matcher matcher = PROPERTY.matcher(result);
+            StringBuilder replaced = new StringBuilder();
+            while (matcher.find()) {
+                String replacement = properties.get(matcher.group(1));
+                if (replacement == null) {
+                    replacement = matcher.group();
+                }
+                matcher.appendReplacement(replaced, Matcher.quoteReplacement(replacement));
+            }
+            matcher.appendTail(replaced);
+            if (replaced.toString().equals(result)) {
+                break;
+            }
+            result = replaced.toString();
+        }
+        return result;
+    }
+
+    // POMs come from remote repositories and uploads, so DTDs and external entities are off
+    private static XMLInputFactory xmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    static class PomModel {
+        String groupId;
+        String artifactId;
+        String version;
+        String packaging;
+        String parentGroupId;
+        String parentArtifactId;
+        String parentVersion;
+        final Map<String, String> properties = new LinkedHashMap<>();
+        final List<PomDependency> managedDependencies = new ArrayList<>();
+        final List<PomDependency> dependencies = new ArrayList<>();
+    }
+
+    static class PomDependency {
+        String groupId;
+        String artifactId;
+        String version;
+        String type = "jar";
+        String classifier;
+        String scope;
+        boolean optional;
+        final List<String> exclusions = new ArrayList<>();
+
+        // Maven identifies a dependency by groupId:artifactId:type[:classifier]
+        String managementKey() {
+            return groupId + ":" + artifactId + ":" + type + (classifier != null ? ":" + classifier : "");
+        }
+
+        PomDependency interpolate(Map<String, String> properties) {
+            PomDependency copy = new PomDependency();
+            copy.groupId = EmbeddedMavenResolver.interpolate(groupId, properties);
+            copy.artifactId = EmbeddedMavenResolver.interpolate(artifactId, properties);
+            copy.version = EmbeddedMavenResolver.interpolate(version, properties);
+            copy.type = EmbeddedMavenResolver.interpolate(type, properties);
+            copy.classifier = EmbeddedMavenResolver.interpolate(classifier, properties);
+            copy.scope = EmbeddedMavenResolver.interpolate(scope, properties);
+            copy.optional = optional;
+            for (String exclusion : exclusions) {
+                copy.exclusions.add(EmbeddedMavenResolver.interpolate(exclusion, properties));
+            }
+            return copy;
+        }
+    }
+
+    static class TreeNode {
+        final String groupId;
+        final String artifactId;
+        final String type;
+        final String classifier;
+        final String version;
+        String scope;
+        final boolean optional;
+        final Set<String> exclusions;
+        final int depth;
+        final Map<String, PomDependency> management;
+        final List<TreeNode> children = new ArrayList<>();
+        final List<Omitted> omitted = new ArrayList<>();
+        // Only used on the root: everything the resolution had to skip
+        final List<String> unresolved = new ArrayList<>();
+
+        TreeNode(String groupId, String artifactId, String type, String classifier, String version, String scope,
+                 boolean optional, Set<String> exclusions, int depth, Map<String, PomDependency> management) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.type = type;
+            this.classifier = classifier;
+            this.version = version;
+            this.scope = scope;
+            this.optional = optional;
+            this.exclusions = exclusions;
+            this.depth = depth;
+            this.management = management;
+        }
+    }
+
+    // A declaration that lost mediation to an already resolved node of the same artifact
+    record Omitted(String groupId, String artifactId, String type, String classifier, String version, String scope) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.hackthon.dependecy;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+
+// A <dependency> element as posted to the Maven endpoints: coordinates plus the
+// <exclusions> block re-serialized for the generated pom.
+public class MavenDependencyRequest {
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String exclusionsBlock;
+
+    public MavenDependencyRequest(String groupId, String artifactId, String version, String exclusionsBlock) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.exclusionsBlock = exclusionsBlock;
+    }
+
+    public static MavenDependencyRequest fromXml(String dependencyXml) throws Exception {
+        // Parse the XML input
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        InputSource is = new InputSource(new StringReader(dependencyXml));
+        Document doc = builder.parse(is);
+        return fromElement(doc.getDocumentElement());
+    }
+
+    public static MavenDependencyRequest fromElement(Element dependencyElement) {
+        // Extract required values: groupId, artifactId, version
+        String groupId = getElementValue(dependencyElement, "groupId");
+        String artifactId = getElementValue(dependencyElement, "artifactId");
+        String version = getElementValue(dependencyElement, "version");
+
+        // Build the exclusions block if any exclusions are provided
+        String exclusionsBlock = "";
+        NodeList exclusionsList = dependencyElement.getElementsByTagName("exclusions");
+        if (exclusionsList.getLength() > 0) {
+            // There should be one <exclusions> element containing one or more <exclusion> children.
+            Element exclusionsElement = (Element) exclusionsList.item(0);
+            NodeList exclusionNodes = exclusionsElement.getElementsByTagName("exclusion");
+            if (exclusionNodes.getLength() > 0) {
+                StringBuilder exclusionsBuilder = new StringBuilder();
+                exclusionsBuilder.append("<exclusions>");
+                for (int i = 0; i < exclusionNodes.getLength(); i++) {
+                    Element exclusion = (Element) exclusionNodes.item(i);
+                    String exGroupId = getElementValue(exclusion, "groupId");
+                    String exArtifactId = getElementValue(exclusion, "artifactId");
+                    if (exGroupId != null && exArtifactId != null) {
+                        exclusionsBuilder.append("""
+                            <exclusion>
+                                <groupId>%s</groupId>
+                                <artifactId>%s</artifactId>
+                            </exclusion>
+                            """.formatted(exGroupId, exArtifactId));
+                    }
+                }
+                exclusionsBuilder.append("</exclusions>");
+                exclusionsBlock = exclusionsBuilder.toString();
+            }
+        }
+        return new MavenDependencyRequest(groupId, artifactId, version, exclusionsBlock);
+    }
+
+    // Helper method to extract the text content of a given element tag name
+    private static String getElementValue(Element parent, String tagName) {
+        NodeList list = parent.getElementsByTagName(tagName);
+        if (list.getLength() > 0) {
+            return list.item(0).getTextContent().trim();
+        }
+        return null;
+    }
+
+    // Empty elements count as missing
+    public boolean isComplete() {
+        return groupId != null && !groupId.isEmpty() && artifactId != null && !artifactId.isEmpty()
+                && version != null && !version.isEmpty();
+    }
+
+    public String getGroupId() { return groupId; }
+    public String getArtifactId() { return artifactId; }
+    public String getVersion() { return version; }
+    public String getExclusionsBlock() { return exclusionsBlock; }
+
+    @Override
+    public String toString() {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+}
@@ -0,0 +1,204 @@
+package com.hackthon.dependecy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+// Maven version ordering and range matching, following the rules of Maven's ComparableVersion
+// closely enough for mediation and advisory matching: numeric segments compare numerically,
+// well-known qualifiers are ordered alpha < beta < milestone < rc < snapshot < release < sp,
+// and unknown qualifiers (e.g. "jre", "android") sort after the release.
+public final class MavenVersions {
+
+    private MavenVersions() {
+    }
+
+    public static int compare(String left, String right) {
+        List<Object> a = tokenize(left);
+        List<Object> b = tokenize(right);
+        int length = Math.max(a.size(), b.size());
+        for (int i = 0; i < length; i++) {
+            Object x = i < a.size() ? a.get(i) : null;
+            Object y = i < b.size() ? b.get(i) : null;
+            int result = compareItems(x, y);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    public static boolean isRange(String spec) {
+        return spec != null && (spec.startsWith("[") || spec.startsWith("("));
+    }
+
+    // Checks a version against a Maven range spec such as "[1.0,2.0)", "(,1.5]" or "[1.0],[2.0,)".
+    // A plain version is treated as an exact match.
+    public static boolean inRange(String version, String spec) {
+        if (!isRange(spec)) {
+            return compare(version, spec) == 0;
+        }
+        for (String range : splitRanges(spec)) {
+            boolean lowerInclusive = range.startsWith("[");
+            boolean upperInclusive = range.endsWith("]");
+            String body = range.substring(1, range.length() - 1);
+            int comma = body.indexOf(',');
+            if (comma < 0) {
+                if (compare(version, body.trim()) == 0) {
+                    return true;
+                }
+                continue;
+            }
+            String lower = body.substring(0, comma).trim();
+            String upper = body.substring(comma + 1).trim();
+            boolean aboveLower = lower.isEmpty()
+                    || (lowerInclusive ? compare(version, lower) >= 0 : compare(version, lower) > 0);
+            boolean belowUpper = upper.isEmpty()
+                    || (upperInclusive ? compare(version, upper) <= 0 : compare(version, upper) < 0);
+            if (aboveLower && belowUpper) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Picks the highest candidate inside the range, or null when none match.
+    public static String highestInRange(Collection<String> candidates, String spec) {
+        String best = null;
+        for (String candidate : candidates) {
+            if (inRange(candidate, spec) && (best == null || compare(candidate, best) > 0)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    // Returns the first explicit bound of a range; used when no candidate versions are known.
+    public static String boundOf(String spec) {
+        for (String range : splitRanges(spec)) {
+            String body = range.substring(1, range.length() - 1);
+            for (String bound : body.split(",")) {
+                if (!bound.isBlank()) {
+                    return bound.trim();
+                }
+            }
+        }
+        return spec;
+    }
+
+    private static List<String> splitRanges(String spec) {
+        List<String> ranges = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < spec.length(); i++) {
+            char c = spec.charAt(i);
+            if ((c == '[' || c == '(') && start < 0) {
+                start = i;
+            } else if ((c == ']' || c == ')') && start >= 0) {
+                ranges.add(spec.substring(start, i + 1));
+                start = -1;
+            }
+        }
+        return ranges;
+    }
+
+    private static List<Object> tokenize(String version) {
+        List<Object> items = new ArrayList<>();
+        String value = version == null ? "" : version.trim().toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        boolean digits = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.' || c == '-' || c == '_' || c == '+') {
+                addItem(items, current, digits);
+                continue;
+            }
+            boolean isDigit = Character.isDigit(c);
+            if (current.length() > 0 && isDigit != digits) {
+                addItem(items, current, digits);
+            }
+            digits = isDigit;
+            current.append(c);
+        }
+        addItem(items, current, digits);
+        // Trailing zeros and release qualifiers do not change ordering ("1.0" == "1" == "1.0.final")
+        while (!items.isEmpty()) {
+            Object last = items.get(items.size() - 1);
+            if ((last instanceof Long l && l == 0L) || "".equals(last)) {
+                items.remove(items.size() - 1);
+            } else {
+                break;
+            }
+        }
+        return items;
+    }
+
+    private static void addItem(List<Object> items, StringBuilder current, boolean digits) {
+        if (current.length() == 0) {
+            return;
+        }
+        String token = current.toString();
+        current.setLength(0);
+        if (digits) {
+            try {
+                items.add(Long.parseLong(token));
+            } catch (NumberFormatException e) {
+                items.add(Long.MAX_VALUE);
+            }
+            return;
+        }
+        items.add(switch (token) {
+            case "a" -> "alpha";
+            case "b" -> "beta";
+            case "m" -> "milestone";
+            case "cr" -> "rc";
+            case "ga", "final", "release" -> "";
+            default -> token;
+        });
+    }
+
+    private static int compareItems(Object x, Object y) {
+        if (x == null && y == null) {
+            return 0;
+        }
+        if (x == null) {
+            return -compareItems(y, null);
+        }
+        if (x instanceof Long a) {
+            if (y == null) {
+                return a == 0L ? 0 : 1;
+            }
+            return y instanceof Long b ? Long.compare(a, b) : 1;
+        }
+        String a = (String) x;
+        if (y == null) {
+            return compareQualifiers(a, "");
+        }
+        if (y instanceof Long) {
+            return -1;
+        }
+        return compareQualifiers(a, (String) y);
+    }
+
+    private static int compareQualifiers(String a, String b) {
+        int rankA = qualifierRank(a);
+        int rankB = qualifierRank(b);
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+        return rankA == 7 ? a.compareTo(b) : 0;
+    }
+
+    private static int qualifierRank(String qualifier) {
+        return switch (qualifier) {
+            case "alpha" -> 0;
+            case "beta" -> 1;
+            case "milestone" -> 2;
+            case "rc" -> 3;
+            case "snapshot" -> 4;
+            case "" -> 5;
+            case "sp" -> 6;
+            default -> 7;
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/vulnerability")
+public class MavenVulnerabilityController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MavenVulnerabilityController.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    // Also answers Accept: application/x-jackson-smile (binary JSON) for internal consumers
+    @PostMapping(consumes = "application/xml")
+    public ResponseEntity<List<ComponentReport>> fetchVulnerability(@RequestBody String dependencyXml) {
+        try {
+            MavenDependencyRequest dependency = MavenDependencyRequest.fromXml(dependencyXml);
+            if (!dependency.isComplete()) {
+                return ResponseEntity.badRequest().body(List.of(ComponentReport.error(
+                        "Invalid dependency XML. Ensure groupId, artifactId, and version are provided.")));
+            }
+            return ResponseEntity.ok(MavenVulnerabilityService.fetchVulnerabilities(dependency.getGroupId(),
+                    dependency.getArtifactId(), dependency.getVersion(), dependency.getExclusionsBlock()));
+        } catch (ResolutionExecutor.ResolutionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5")
+                    .body(List.of(ComponentReport.error(e.getMessage())));
+        } catch (Exception e) {
+            LOG.error("Vulnerability check failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(List.of(ComponentReport.error("Error checking vulnerabilities: " + e.getMessage())));
+        }
+    }
+
+    /**
+     * Pipelined scan of the same <dependency> input: coordinates are looked up while the tree
+     * is still being resolved and each report is written as one JSON line (NDJSON) as soon as
+     * it arrives. The last line is {"summary": {...}} with node and coordinate counts and the
+     * resolution and total times, or {"error": "..."} if the scan failed.
+     *
+     * With Accept: application/x-jackson-smile the same records are written as a stream of
+     * Smile root values instead of JSON lines. Reports are serialized straight from the typed
+     * records into the response, one at a time, so a scan never holds the encoded output.
+     */
+    @PostMapping(value = "/stream", consumes = "application/xml", produces = {NDJSON, SMILE})
+    public ResponseEntity<StreamingResponseBody> streamVulnerability(@RequestBody String dependencyXml,
+                                                                     @RequestParam(value = "resolver", required = false) String resolver,
+                                                                     @RequestHeader(value = "Accept", required = false) String accept)
+            throws Exception {
+        boolean smile = accept != null && accept.contains(SMILE) && !accept.contains(NDJSON);
+        ObjectMapper mapper = smile ? SMILE_MAPPER : OBJECT_MAPPER;
+        MediaType contentType = MediaType.parseMediaType(smile ? SMILE : NDJSON);
+        MavenDependencyRequest dependency = MavenDependencyRequest.fromXml(dependencyXml);
+        if (!dependency.isComplete()) {
+            return ResponseEntity.badRequest().contentType(contentType).body(out -> mapper.writeValue(out, Map.of("error",
+                    "Invalid dependency XML. Ensure groupId, artifactId, and version are provided.")));
+        }
+        DependencyTreeGenerator.ResolverMode mode = DependencyTreeGenerator.ResolverMode.from(resolver);
+
+        StreamingResponseBody body = out -> {
+            Map<String, Object> last = new LinkedHashMap<>();
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                if (!smile) {
+                    generator.setRootValueSeparator(null); // writeRecord ends each line itself
+                }
+                try {
+                    MavenVulnerabilityService.ScanSummary scan = MavenVulnerabilityService.streamVulnerabilities(
+                            dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion(),
+                            dependency.getExclusionsBlock(), mode, report -> writeRecord(mapper, generator, report));
+                    Map<String, Object> summary = new LinkedHashMap<>();
+                    summary.put("nodes", scan.graph().size());
+                    summary.put("coordinates", scan.coordinates());
+                    summary.put("resolveMs", scan.resolveMillis());
+                    summary.put("totalMs", scan.totalMillis());
+                    last.put("summary", summary);
+                } catch (ResolutionExecutor.ResolutionRejectedException e) {
+                    last.put("error", e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    last.put("error", "interrupted");
+                }
+                writeRecord(mapper, generator, last);
+            }
+        };
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    // One root value per record, flushed so the client sees it at once; JSON records end in a newline
+    private static void writeRecord(ObjectMapper mapper, JsonGenerator generator, Object value) {
+        try {
+            mapper.writeValue(generator, value);
+            if (mapper == OBJECT_MAPPER) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Hit, miss and expiry counters of the per-coordinate report cache
+    @GetMapping(value = "/cache/stats", produces = "application/json")
+    public Map<String, Object> cacheStats() {
+        return VulnerabilityReportCache.stats();
+    }
+
+    @GetMapping(value = "/db/stats", produces = "application/json")
+    public Map<String, Object> databaseStats() {
+        return VulnerabilityDatabase.stats();
+    }
+
+    // Rebuilds the local advisory index from vulnerability.db.source and swaps it in
+    @PostMapping(value = "/db/reload", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> reloadDatabase() {
+        try {
+            return ResponseEntity.ok(VulnerabilityDatabase.reload());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+}
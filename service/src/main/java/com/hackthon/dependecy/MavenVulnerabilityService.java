@@ -0,0 +1,135 @@
+package com.hackthon.dependecy;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+public class MavenVulnerabilityService {
+
+    static final SingleFlight<String, List<ComponentReport>> SCANS = new SingleFlight<>("vulnerability-scan");
+
+    // What a pipelined scan saw; resolveMillis is when the tree was complete, totalMillis when
+    // the last report arrived
+    public record ScanSummary(DependencyGraph graph, int coordinates, int uncovered, long resolveMillis, long totalMillis) {
+    }
+
+    public static List<ComponentReport> fetchVulnerabilities(String groupId, String artifactId, String version, String exclusionsBlock)
+            throws IOException, InterruptedException {
+        return fetchVulnerabilities(groupId, artifactId, version, exclusionsBlock, DependencyTreeGenerator.ResolverMode.configured());
+    }
+
+    // Identical scans running at the same time share one result list, so a spike of requests for
+    // the same artifact costs one resolution and one round of lookups
+    public static List<ComponentReport> fetchVulnerabilities(String groupId, String artifactId, String version, String exclusionsBlock,
+                                                                     DependencyTreeGenerator.ResolverMode mode)
+            throws IOException, InterruptedException {
+        if (groupId == null || artifactId == null || version == null) {
+            throw new IllegalArgumentException("groupId, artifactId and version must be provided.");
+        }
+        String key = DependencyTreeCache.key(mode, groupId, artifactId, version,
+                DependencyTreeGenerator.parseExclusions(exclusionsBlock == null ? "" : exclusionsBlock));
+        boolean[] scannedHere = new boolean[1];
+        List<ComponentReport> reports = SCANS.run(key, () -> scan(groupId, artifactId, version, exclusionsBlock, mode), scannedHere);
+        if (!scannedHere[0]) {
+            Prewarmer.recordScan(groupId, artifactId, version, exclusionsBlock);
+        }
+        return reports;
+    }
+
+    private static List<ComponentReport> scan(String groupId, String artifactId, String version, String exclusionsBlock,
+                                              DependencyTreeGenerator.ResolverMode mode)
+            throws IOException, InterruptedException {
+        Map<String, ComponentReport> reports = new HashMap<>();
+        List<ComponentReport> errors = new ArrayList<>();
+        ScanSummary summary = streamVulnerabilities(groupId, artifactId, version, exclusionsBlock, mode, report -> {
+            if (report.failed()) {
+                errors.add(report);
+            } else {
+                reports.put(report.coordinates(), report);
+            }
+        });
+
+        // Same order as before pipelining: tree order, then anything unmatched, then errors
+        List<ComponentReport> results = new ArrayList<>();
+        for (String coordinate : summary.graph().packageUrls()) {
+            ComponentReport report = reports.remove(coordinate);
+            if (report != null) {
+                results.add(report);
+            }
+        }
+        results.addAll(reports.values());
+        results.addAll(errors); // Add error responses if any
+        return List.copyOf(results);
+    }
+
+    // Pipelined scan: each coordinate goes to the vulnerability lookup the moment the resolver
+    // knows it, so OSS Index batches fill (or their linger window runs out) while resolution is
+    // still running and lookup time overlaps resolution time. Reports are handed to
+    // reportConsumer one at a time as they complete; a failed batch's shared error is passed once.
+    public static ScanSummary streamVulnerabilities(String groupId, String artifactId, String version, String exclusionsBlock,
+                                                    DependencyTreeGenerator.ResolverMode mode,
+                                                    Consumer<ComponentReport> reportConsumer)
+            throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        Prewarmer.markScanned(groupId, artifactId, version, exclusionsBlock);
+        Set<String> seen = new HashSet<>();
+        List<CompletableFuture<Void>> lookups = new ArrayList<>();
+        Set<ComponentReport> errors = Collections.newSetFromMap(new IdentityHashMap<>());
+        int[] uncovered = new int[1];
+        boolean[] finished = new boolean[1];
+        Object lock = new Object();
+
+        Consumer<String> lookup = coordinate -> {
+            if (seen.add(coordinate)) {
+                lookups.add(OssIndexClient.componentReport(coordinate).thenAccept(report -> {
+                    synchronized (lock) {
+                        if (finished[0]) {
+                            // Arrived after the scan gave up waiting; its caller may be gone
+                            return;
+                        }
+                        if (report == null) {
+                            uncovered[0]++;
+                        } else if (!report.failed() || errors.add(report)) {
+                            reportConsumer.accept(report);
+                        }
+                    }
+                }));
+            }
+        };
+        DependencyGraph graph = DependencyTreeGenerator.streamGraph(groupId, artifactId, version, exclusionsBlock, mode,
+                line -> { }, lookup);
+        long resolveMillis = (System.nanoTime() - started) / 1_000_000;
+
+        int timedOut = 0;
+        try {
+            CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0]))
+                    .get(OssIndexClient.LOOKUP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut = (int) lookups.stream().filter(pending -> !pending.isDone()).count();
+        } catch (ExecutionException e) {
+            // Lookups never fail; only reportConsumer can, and that is the caller's to see
+            throw e.getCause() instanceof RuntimeException failure ? failure : new IllegalStateException(e.getCause());
+        }
+        synchronized (lock) {
+            finished[0] = true;
+            if (timedOut > 0) {
+                reportConsumer.accept(OssIndexClient.timedOutError(timedOut));
+            }
+            if (uncovered[0] > 0) {
+                reportConsumer.accept(OssIndexClient.uncoveredError(uncovered[0]));
+            }
+        }
+        PipelineMetrics.recordVulnerabilityScan(seen.size(), started);
+        return new ScanSummary(graph, seen.size(), uncovered[0], resolveMillis, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // OssIndexClient always sends batches concurrently; kept for existing callers
+    public static List<ComponentReport> fetchVulnerabilitiesParallel(String groupId, String artifactId, String version, String exclusionsBlock)
+            throws IOException, InterruptedException {
+        return fetchVulnerabilities(groupId, artifactId, version, exclusionsBlock);
+    }
+}
@@ -1,13 +1,15 @@
 package com.hackthon.dependecy;
 
 import com.hackthon.dependecy.NPMVulnerabitlityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,8 +17,10 @@ import java.util.Map;
 @RequestMapping("/vulnerability/npm")
 public class NPMVulnerabilityController {
 
+    private static final Logger LOG = LoggerFactory.getLogger(NPMVulnerabilityController.class);
+
     @PostMapping(consumes = "application/json")
-    public List<HashMap<String, Object>> fetchNpmVulnerability(@RequestBody Map<String, String> dependencyJson) {
+    public ResponseEntity<List<ComponentReport>> fetchNpmVulnerability(@RequestBody Map<String, String> dependencyJson) {
         try {
             // Extract required values: packageName and version
             String packageName = dependencyJson.get("dependency");
@@ -28,10 +32,13 @@ public class NPMVulnerabilityController {
             }
 
             // Call the VulnerabilityService for npm
-            return NPMVulnerabitlityService.fetchNpmVulnerabilities(packageName, version);
+            return ResponseEntity.ok(NPMVulnerabitlityService.fetchNpmVulnerabilities(packageName, version));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(List.of(ComponentReport.error(e.getMessage())));
         } catch (Exception e) {
-            e.printStackTrace();
-            return new ArrayList<>();
+            LOG.error("npm vulnerability check failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(List.of(ComponentReport.error("Error checking vulnerabilities: " + e.getMessage())));
         }
     }
-}
\ No newline at end of file
+}
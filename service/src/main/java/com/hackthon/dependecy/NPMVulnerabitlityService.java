@@ -0,0 +1,57 @@
+package com.hackthon.dependecy;
+
+
+import java.io.*;
+import java.util.*;
+
+public class NPMVulnerabitlityService {
+
+    // Enum to distinguish package ecosystems
+    public enum PackageType {
+        MAVEN, NPM
+    }
+
+    // Fetch vulnerabilities for Maven
+    public static List<ComponentReport> fetchMavenVulnerabilities(String groupId, String artifactId, String version, String exclusionsBlock)
+            throws IOException, InterruptedException {
+        return fetchVulnerabilities(PackageType.MAVEN, groupId, artifactId, version, exclusionsBlock);
+    }
+
+    // Fetch vulnerabilities for npm
+    public static List<ComponentReport> fetchNpmVulnerabilities(String packageName, String version)
+            throws IOException, InterruptedException {
+        return fetchVulnerabilities(PackageType.NPM, null, packageName, version, null);
+    }
+
+    // Generic fetch vulnerabilities method
+    private static List<ComponentReport> fetchVulnerabilities(PackageType packageType, String groupId, String artifactIdOrName,
+                                                                      String version, String exclusionsBlock)
+            throws IOException, InterruptedException {
+        List<String> coordinates = new ArrayList<>();
+
+        if (packageType == PackageType.MAVEN) {
+            DependencyGraph mavenDependencyGraph = DependencyTreeGenerator.generateGraph(groupId, artifactIdOrName, version, exclusionsBlock);
+            for (String packageCoordinates : mavenDependencyGraph.packageUrls()) {
+                coordinates.add(packageCoordinates);
+            }
+        } else if (packageType == PackageType.NPM) {
+            // For npm, directly use the package name and version
+            String packageCoordinates = "pkg:npm/" + artifactIdOrName + "@" + version;
+            coordinates.add(packageCoordinates);
+        }
+
+        // Cached reports are reused; only unknown coordinates go to OSS Index, batched with other scans
+        return OssIndexClient.componentReports(coordinates);
+    }
+
+    // OssIndexClient always sends batches concurrently; the parallel variants are kept for existing callers
+    public static List<ComponentReport> fetchMavenVulnerabilitiesParallel(String groupId, String artifactId, String version, String exclusionsBlock)
+            throws IOException, InterruptedException {
+        return fetchMavenVulnerabilities(groupId, artifactId, version, exclusionsBlock);
+    }
+
+    public static List<ComponentReport> fetchNpmVulnerabilitiesParallel(String packageName, String version)
+            throws IOException, InterruptedException {
+        return fetchNpmVulnerabilities(packageName, version);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/npm-dependency")
+public class NpmDependencyController {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @PostMapping("/tree")
+    public ResponseEntity<String> generateNpmDependencyTree(@RequestBody DependencyRequest request) {
+        try {
+            String result = getNpmDependencyTree(request.getDependency(), request.getVersion());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body("{\"error\": \"Failed to generate dependency tree\", \"details\": \"" +
+                            e.getMessage().replace("\"", "\\\"") + "\"}");
+        }
+    }
+
+    /**
+     * Full transitive dependency tree of an npm package, resolved against the registry.
+     * Same request body as /tree; the version may be an exact version, a range or a dist-tag.
+     */
+    @PostMapping("/resolve")
+    public ResponseEntity<Map<String, Object>> resolveNpmDependencyTree(@RequestBody DependencyRequest request) {
+        try {
+            return ResponseEntity.ok(NpmDependencyResolver.resolveTree(request.getDependency(), request.getVersion()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Failed to resolve dependency tree");
+            error.put("details", String.valueOf(e.getMessage()));
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
+    private String getNpmDependencyTree(String packageName, String version) {
+        try {
+            // Served from NpmRegistryCache; only the requested version's manifest is needed
+            // Exact versions, ranges such as ^1.0 and dist-tags select a version as /resolve does
+            JsonNode packument = NpmRegistryClient.fetchPackument(packageName);
+            String selected = NpmDependencyResolver.selectVersion(packument,
+                    version != null && !version.isEmpty() ? version.trim() : "latest");
+            if (selected == null) {
+                return "{\"message\": \"Package not found\"}";
+            }
+            JsonNode manifest = packument.path("versions").path(selected);
+
+            JsonNode dependencies = manifest.path("dependencies");
+            if (dependencies.isMissingNode() || dependencies.size() == 0) {
+                return "{\"message\": \"No known dependencies for this package.\"}";
+            }
+            return OBJECT_MAPPER.writeValueAsString(dependencies);
+
+        } catch (Exception e) {
+            return "{\"error\": \"Failed to fetch dependencies\", \"details\": \"" +
+                    String.valueOf(e.getMessage()).replace("\"", "\\\"") + "\"}";
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(NpmRegistryCache.stats());
+    }
+
+    static class DependencyRequest {
+        private String dependency;
+        private String version;
+
+        public String getDependency() { return dependency; }
+        public void setDependency(String dependency) { this.dependency = dependency; }
+        public String getVersion() { return version; }
+        public void setVersion(String version) { this.version = version; }
+    }
+}
\ No newline at end of file
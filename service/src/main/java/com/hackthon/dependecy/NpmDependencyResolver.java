@@ -0,0 +1,304 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves the full transitive dependency graph of an npm package.
+ *
+ * Every dependency edge is resolved as its own task: the package document is fetched (once per
+ * package name and resolution), the range is matched the way npm picks versions (the "latest"
+ * dist-tag when it satisfies the range, otherwise the highest satisfying version), and a newly
+ * seen name@version is expanded in turn. Resolved name@version packages are shared, so each is
+ * fetched and expanded once however many parents point at it. Tasks run on virtual threads
+ * where available, and at most npm.resolver.max-in-flight registry requests are open at once.
+ *
+ * The result is rendered as an npm-ls style tree: breadth first, so every package is expanded
+ * at its shallowest position, later occurrences are marked "deduped", and an edge back to one
+ * of its own ancestors is marked "cycle".
+ */
+public class NpmDependencyResolver {
+
+    private static final int MAX_IN_FLIGHT = AppSettings.getInt("npm.resolver.max-in-flight", 16);
+    private static final int MAX_PACKAGES = AppSettings.getInt("npm.resolver.max-packages", 10_000);
+    private static final long TIMEOUT_SECONDS = AppSettings.getLong("npm.resolver.timeout-seconds", 120);
+    private static final ExecutorService EXECUTOR = VirtualThreads.newExecutor("npm-resolver", MAX_IN_FLIGHT);
+    private static final Semaphore FETCH_PERMITS = new Semaphore(MAX_IN_FLIGHT);
+
+    public static Map<String, Object> resolveTree(String packageName, String versionSpec)
+            throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        Resolution resolution = resolve(packageName, versionSpec);
+        Map<String, Object> tree = resolution.toTree();
+        tree.put("elapsedMs", System.currentTimeMillis() - start);
+        return tree;
+    }
+
+    static Resolution resolve(String packageName, String versionSpec) throws IOException, InterruptedException {
+        if (packageName == null || packageName.isBlank()) {
+            throw new IllegalArgumentException("Package name is required");
+        }
+        Resolution resolution = new Resolution();
+        String spec = versionSpec == null || versionSpec.isBlank() ? "latest" : versionSpec.trim();
+        Selected root = resolution.select(packageName.trim(), spec);
+        resolution.rootKey = root.key();
+        Package rootPackage = new Package(root.name(), root.version());
+        resolution.packages.put(root.key(), rootPackage);
+        resolution.expand(rootPackage, root.manifest());
+        resolution.await();
+        return resolution;
+    }
+
+    // The version a spec (dist-tag, exact version or range; empty means any) selects from a
+    // packument, as npm picks it: the latest tag when it satisfies the range, else the highest
+    // satisfying version. Null when nothing matches.
+    static String selectVersion(JsonNode packument, String spec) {
+        JsonNode versions = packument.path("versions");
+        JsonNode distTags = packument.path("dist-tags");
+        String range = spec.isEmpty() ? "*" : spec;
+
+        String version = null;
+        if (distTags.hasNonNull(range)) {
+            version = distTags.get(range).asText();
+        } else if (NpmVersions.isValidRange(range)) {
+            String latest = distTags.path("latest").asText(null);
+            if (latest != null && versions.has(latest) && NpmVersions.satisfies(latest, range)) {
+                version = latest;
+            } else {
+                List<String> candidates = new ArrayList<>();
+                versions.fieldNames().forEachRemaining(candidates::add);
+                version = NpmVersions.maxSatisfying(candidates, range);
+            }
+        }
+        return version != null && versions.has(version) ? version : null;
+    }
+
+    record Selected(String name, String version, JsonNode manifest) {
+        String key() {
+            return name + "@" + version;
+        }
+    }
+
+    static final class Package {
+        final String name;
+        final String version;
+        volatile List<Edge> dependencies = List.of();
+
+        Package(String name, String version) {
+            this.name = name;
+            this.version = version;
+        }
+    }
+
+    static final class Edge {
+        final String name;
+        final String spec;
+        final boolean optional;
+        volatile String resolvedKey;
+        volatile String error;
+
+        Edge(String name, String spec, boolean optional) {
+            this.name = name;
+            this.spec = spec;
+            this.optional = optional;
+        }
+    }
+
+    static final class Resolution {
+        final ConcurrentHashMap<String, CompletableFuture<JsonNode>> packuments = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Package> packages = new ConcurrentHashMap<>();
+        private final AtomicInteger outstanding = new AtomicInteger(1);
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final AtomicInteger fetches = new AtomicInteger(); // distinct package documents read, from cache or registry
+        String rootKey;
+
+        // Waits for every edge task; the initial count of one stands for the root expansion
+        void await() throws IOException, InterruptedException {
+            finishTask();
+            try {
+                done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                done.cancel(false);
+                throw new IOException("npm resolution timed out after " + TIMEOUT_SECONDS + " seconds");
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        void expand(Package pkg, JsonNode manifest) {
+            List<Edge> edges = new ArrayList<>();
+            addEdges(edges, manifest.path("dependencies"), false);
+            addEdges(edges, manifest.path("optionalDependencies"), true);
+            pkg.dependencies = edges;
+            for (Edge edge : edges) {
+                outstanding.incrementAndGet();
+                try {
+                    EXECUTOR.execute(() -> resolveEdge(edge));
+                } catch (RejectedExecutionException e) {
+                    edge.error = "Resolver is shutting down";
+                    finishTask();
+                }
+            }
+        }
+
+        private static void addEdges(List<Edge> edges, JsonNode dependencies, boolean optional) {
+            Iterator<Map.Entry<String, JsonNode>> fields = dependencies.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (optional && edges.stream().anyMatch(edge -> edge.name.equals(field.getKey()))) {
+                    continue; // optionalDependencies override a same-named entry in dependencies
+                }
+                edges.add(new Edge(field.getKey(), field.getValue().asText(), optional));
+            }
+        }
+
+        private void resolveEdge(Edge edge) {
+            try {
+                if (done.isDone()) {
+                    return;
+                }
+                Selected selected = select(edge.name, edge.spec);
+                edge.resolvedKey = selected.key();
+                Package created = new Package(selected.name(), selected.version());
+                if (packages.putIfAbsent(selected.key(), created) == null) {
+                    if (packages.size() > MAX_PACKAGES) {
+                        done.completeExceptionally(new IOException(
+                                "Dependency graph exceeds npm.resolver.max-packages (" + MAX_PACKAGES + ")"));
+                        return;
+                    }
+                    expand(created, selected.manifest());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                edge.error = "Interrupted";
+            } catch (Exception e) {
+                edge.error = e.getMessage();
+            } finally {
+                finishTask();
+            }
+        }
+
+        private void finishTask() {
+            if (outstanding.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+        }
+
+        Selected select(String name, String spec) throws IOException, InterruptedException {
+            // npm aliases: "npm:real-name@range"
+            if (spec.startsWith("npm:")) {
+                String target = spec.substring(4);
+                int at = target.lastIndexOf('@');
+                return at > 0 ? select(target.substring(0, at), target.substring(at + 1)) : select(target, "latest");
+            }
+            if (spec.contains(":") || spec.contains("/")) {
+                throw new IOException("Unsupported dependency source for " + name + ": " + spec);
+            }
+            JsonNode packument = packument(name);
+            String version = selectVersion(packument, spec);
+            if (version == null) {
+                throw new IOException("No matching version for " + name + "@" + spec);
+            }
+            return new Selected(name, version, packument.path("versions").get(version));
+        }
+
+        // The first task to ask for a package fetches it; concurrent askers wait for that fetch
+        private JsonNode packument(String name) throws IOException, InterruptedException {
+            CompletableFuture<JsonNode> created = new CompletableFuture<>();
+            CompletableFuture<JsonNode> existing = packuments.putIfAbsent(name, created);
+            if (existing == null) {
+                FETCH_PERMITS.acquire();
+                try {
+                    fetches.incrementAndGet();
+                    created.complete(NpmRegistryClient.fetchPackument(name));
+                } catch (Exception e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    FETCH_PERMITS.release();
+                }
+            }
+            try {
+                return (existing != null ? existing : created).get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        Map<String, Object> toTree() {
+            Package root = packages.get(rootKey);
+            Map<String, Object> rootNode = new LinkedHashMap<>();
+            rootNode.put("name", root.name);
+            rootNode.put("version", root.version);
+
+            int nodes = 0;
+            int maxDepth = 0;
+            int cycles = 0;
+            int unresolved = 0;
+            Set<String> expanded = new HashSet<>();
+            expanded.add(rootKey);
+            ArrayDeque<Visit> queue = new ArrayDeque<>();
+            queue.add(new Visit(root, rootNode, null, 0));
+            while (!queue.isEmpty()) {
+                Visit visit = queue.poll();
+                List<Map<String, Object>> children = new ArrayList<>();
+                for (Edge edge : visit.pkg.dependencies) {
+                    Map<String, Object> child = new LinkedHashMap<>();
+                    child.put("name", edge.name);
+                    child.put("spec", edge.spec);
+                    if (edge.optional) {
+                        child.put("optional", true);
+                    }
+                    nodes++;
+                    maxDepth = Math.max(maxDepth, visit.depth + 1);
+                    Package target = edge.resolvedKey == null ? null : packages.get(edge.resolvedKey);
+                    if (target == null) {
+                        child.put("error", edge.error != null ? edge.error : "Not resolved");
+                        unresolved++;
+                    } else {
+                        child.put("version", target.version);
+                        if (!target.name.equals(edge.name)) {
+                            child.put("alias", target.name);
+                        }
+                        if (visit.hasAncestor(edge.resolvedKey)) {
+                            child.put("cycle", true);
+                            cycles++;
+                        } else if (!expanded.add(edge.resolvedKey)) {
+                            child.put("deduped", true);
+                        } else {
+                            queue.add(new Visit(target, child, visit, visit.depth + 1));
+                        }
+                    }
+                    children.add(child);
+                }
+                if (!children.isEmpty()) {
+                    visit.node.put("dependencies", children);
+                }
+            }
+
+            Map<String, Object> tree = new LinkedHashMap<>();
+            tree.put("root", rootNode);
+            tree.put("nodes", nodes);
+            tree.put("packages", packages.size());
+            tree.put("maxDepth", maxDepth);
+            tree.put("cycles", cycles);
+            tree.put("unresolved", unresolved);
+            tree.put("documents", fetches.get());
+            return tree;
+        }
+    }
+
+    private record Visit(Package pkg, Map<String, Object> node, Visit parent, int depth) {
+        boolean hasAncestor(String key) {
+            for (Visit current = this; current != null; current = current.parent) {
+                if ((current.pkg.name + "@" + current.pkg.version).equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
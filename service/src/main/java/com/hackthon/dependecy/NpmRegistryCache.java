@@ -0,0 +1,247 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte-bounded cache of npm registry documents, shared by the tree endpoint and the resolver.
+ *
+ * Documents are stored as the raw response bytes, so npm.cache.max-bytes bounds what the
+ * cache holds on the heap; they are parsed on each read. An entry is fresh for
+ * npm.cache.ttl-seconds, after which the next read revalidates it with If-None-Match /
+ * If-Modified-Since and a 304 just renews it. While a package is being loaded, other readers
+ * of the same package wait for that load instead of starting their own. If the registry fails
+ * while a stale copy exists, the stale copy is served.
+ *
+ * Eviction is frequency-aware (TinyLFU admission): reads are counted in a small count-min
+ * sketch, and when the cache is full a new document only displaces the least recently used
+ * entries if it has been asked for more often than they have. One-off lookups of rarely used
+ * packages therefore cannot flush the popular ones.
+ */
+public class NpmRegistryCache {
+
+    private static volatile long maxBytes = AppSettings.getLong("npm.cache.max-bytes", 64L * 1024 * 1024);
+    private static volatile long ttlMillis = AppSettings.getLong("npm.cache.ttl-seconds", 300) * 1000;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final LinkedHashMap<String, Entry> ENTRIES = new LinkedHashMap<>(256, 0.75f, true);
+    private static final FrequencySketch FREQUENCIES = new FrequencySketch(16_384);
+    private static final ConcurrentHashMap<String, CompletableFuture<Entry>> LOADING = new ConcurrentHashMap<>();
+    private static long bytes;
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong REVALIDATED = new AtomicLong();
+    private static final AtomicLong COALESCED = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+    private static final AtomicLong REJECTED = new AtomicLong();
+    private static final AtomicLong STALE_SERVED = new AtomicLong();
+
+    private record Entry(byte[] body, String etag, String lastModified, long fetchedAt) {
+        boolean isFresh(long now) {
+            return now - fetchedAt < ttlMillis;
+        }
+    }
+
+    // Empties the cache, forgets read frequencies and applies the given bounds from now on
+    static void reset(long maxCachedBytes, long freshMillis) {
+        synchronized (ENTRIES) {
+            maxBytes = maxCachedBytes;
+            ttlMillis = freshMillis;
+            ENTRIES.clear();
+            FREQUENCIES.clear();
+            bytes = 0;
+        }
+    }
+
+    public static JsonNode packument(String packageName) throws IOException, InterruptedException {
+        Entry cached;
+        synchronized (ENTRIES) {
+            FREQUENCIES.increment(packageName);
+            cached = ENTRIES.get(packageName);
+        }
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            HITS.incrementAndGet();
+            return OBJECT_MAPPER.readTree(cached.body());
+        }
+
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = LOADING.putIfAbsent(packageName, created);
+        if (existing != null) {
+            COALESCED.incrementAndGet();
+            return OBJECT_MAPPER.readTree(await(existing).body());
+        }
+        try {
+            Entry loaded = load(packageName, cached);
+            store(packageName, loaded);
+            created.complete(loaded);
+            return OBJECT_MAPPER.readTree(loaded.body());
+        } catch (IOException | RuntimeException e) {
+            if (cached != null) {
+                STALE_SERVED.incrementAndGet();
+                created.complete(cached);
+                return OBJECT_MAPPER.readTree(cached.body());
+            }
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            LOADING.remove(packageName, created);
+        }
+    }
+
+    public static Map<String, Object> stats() {
+        long hits = HITS.get();
+        long lookups = hits + MISSES.get() + REVALIDATED.get() + COALESCED.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", MISSES.get());
+        stats.put("revalidated", REVALIDATED.get());
+        stats.put("coalesced", COALESCED.get());
+        stats.put("staleServed", STALE_SERVED.get());
+        stats.put("evictions", EVICTIONS.get());
+        stats.put("rejected", REJECTED.get());
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) (hits + REVALIDATED.get()) / lookups);
+        synchronized (ENTRIES) {
+            stats.put("entries", ENTRIES.size());
+            stats.put("bytes", bytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        return stats;
+    }
+
+    private static Entry load(String packageName, Entry stale) throws IOException {
+        NpmRegistryClient.Response response = NpmRegistryClient.fetch(packageName,
+                stale == null ? null : stale.etag(), stale == null ? null : stale.lastModified());
+        long now = System.currentTimeMillis();
+        if (response.status() == 304 && stale != null) {
+            REVALIDATED.incrementAndGet();
+            return new Entry(stale.body(), stale.etag(), stale.lastModified(), now);
+        }
+        if (response.status() == 304) {
+            throw new IOException("Registry answered 304 for an uncached document: " + packageName);
+        }
+        MISSES.incrementAndGet();
+        return new Entry(response.body(), response.etag(), response.lastModified(), now);
+    }
+
+    private static void store(String packageName, Entry entry) {
+        long size = weight(packageName, entry);
+        synchronized (ENTRIES) {
+            Entry previous = ENTRIES.remove(packageName);
+            if (previous != null) {
+                bytes -= weight(packageName, previous);
+            }
+            if (size > maxBytes) {
+                REJECTED.incrementAndGet();
+                return;
+            }
+            // Pick victims from the LRU end; a new document is only admitted if it has been
+            // asked for more often than every entry it would displace
+            int candidateFrequency = FREQUENCIES.frequency(packageName);
+            List<String> victims = new ArrayList<>();
+            long freed = 0;
+            for (Map.Entry<String, Entry> victim : ENTRIES.entrySet()) {
+                if (bytes - freed + size <= maxBytes) {
+                    break;
+                }
+                if (previous == null && FREQUENCIES.frequency(victim.getKey()) >= candidateFrequency) {
+                    REJECTED.incrementAndGet();
+                    return;
+                }
+                victims.add(victim.getKey());
+                freed += weight(victim.getKey(), victim.getValue());
+            }
+            for (String victim : victims) {
+                ENTRIES.remove(victim);
+                EVICTIONS.incrementAndGet();
+            }
+            bytes -= freed;
+            ENTRIES.put(packageName, entry);
+            bytes += size;
+        }
+    }
+
+    private static long weight(String packageName, Entry entry) {
+        return entry.body().length + 2L * packageName.length() + 128; // body plus key and entry overhead
+    }
+
+    private static Entry await(CompletableFuture<Entry> loading) throws IOException, InterruptedException {
+        try {
+            return loading.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Count-min sketch of read frequencies with 4-bit style saturation; all counters are halved
+    // once the number of increments reaches ten times the width, so old popularity fades.
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private final int[][] counters;
+        private final int mask;
+        private final int resetThreshold;
+        private int additions;
+
+        FrequencySketch(int width) {
+            int size = Integer.highestOneBit(Math.max(64, width));
+            this.counters = new int[DEPTH][size];
+            this.mask = size - 1;
+            this.resetThreshold = size * 10;
+        }
+
+        void increment(String key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                int index = indexOf(hash, row);
+                if (counters[row][index] < MAX_COUNT) {
+                    counters[row][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= resetThreshold) {
+                for (int[] row : counters) {
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] >>>= 1;
+                    }
+                }
+                additions /= 2;
+            }
+        }
+
+        void clear() {
+            for (int[] row : counters) {
+                Arrays.fill(row, 0);
+            }
+            additions = 0;
+        }
+
+        int frequency(String key) {
+            int hash = spread(key.hashCode());
+            int min = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, counters[row][indexOf(hash, row)]);
+            }
+            return min;
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = hash * (0x9E3779B9 + (row << 1));
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private static int spread(int hash) {
+            hash ^= hash >>> 17;
+            hash *= 0xED5AD4BB;
+            return hash ^ (hash >>> 11);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Fetches package documents (packuments) from the npm registry at npm.registry.url. The
+// abbreviated "corgi" form is requested because it carries everything dependency resolution
+// needs at a fraction of the size; registries that don't support it send the full document.
+public class NpmRegistryClient {
+
+    private static volatile String registryUrl = withTrailingSlash(AppSettings.get("npm.registry.url",
+            "https://artifacthub-iad.oci.oraclecorp.com/api/npm/npmjs-registry/"));
+    private static volatile Duration requestTimeout = Duration.ofSeconds(AppSettings.getLong("npm.registry.timeout-seconds", 30));
+    private static final String ACCEPT = "application/vnd.npm.install-v1+json; q=1.0, application/json; q=0.8, */*";
+
+    // Status 304 (with an empty body) when the validators still match
+    record Response(int status, byte[] body, String etag, String lastModified) {
+    }
+
+    // Sends later fetches to another registry with another timeout
+    static void useRegistry(String url, Duration timeout) {
+        registryUrl = withTrailingSlash(url);
+        requestTimeout = timeout;
+    }
+
+    // Goes through NpmRegistryCache, so repeated and concurrent requests share one download
+    public static JsonNode fetchPackument(String packageName) throws IOException, InterruptedException {
+        return NpmRegistryCache.packument(packageName);
+    }
+
+    // Conditional GET: etag and lastModified come from a cached copy and may be null
+    static Response fetch(String packageName, String etag, String lastModified) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(registryUrl + encodeName(packageName)))
+                .timeout(requestTimeout)
+                .header("Accept", ACCEPT)
+                .GET();
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            builder.header("If-Modified-Since", lastModified);
+        }
+        HttpResponse<byte[]> response;
+        long started = System.nanoTime();
+        try {
+            // The request timeout stops at the headers; orTimeout also bounds a stalled body
+            response = SharedHttpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                    .orTimeout(requestTimeout.toSeconds(), TimeUnit.SECONDS)
+                    .join();
+        } catch (CompletionException e) {
+            PipelineMetrics.recordNpmFetch("error", started);
+            if (e.getCause() instanceof TimeoutException) {
+                throw new IOException("Registry did not answer within " + requestTimeout.toSeconds() + "s for " + packageName);
+            }
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+        PipelineMetrics.recordNpmFetch(String.valueOf(response.statusCode()), started);
+        if (response.statusCode() == 404) {
+            throw new IOException("Package not found: " + packageName);
+        }
+        if (response.statusCode() != 200 && response.statusCode() != 304) {
+            throw new IOException("Registry returned " + response.statusCode() + " for " + packageName);
+        }
+        return new Response(response.statusCode(), response.body(),
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+    }
+
+    // Scoped packages keep their "@" but the slash must be escaped: @scope%2fname
+    static String encodeName(String packageName) {
+        return packageName.replace("/", "%2f");
+    }
+
+    private static String withTrailingSlash(String url) {
+        return url.endsWith("/") ? url : url + "/";
+    }
+}
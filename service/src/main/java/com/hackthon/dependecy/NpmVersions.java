@@ -0,0 +1,295 @@
+package com.hackthon.dependecy;
+
+import java.util.*;
+
+// Semantic versions and npm range syntax (node-semver rules): exact versions, x-ranges,
+// ~ and ^ ranges, primitive comparators, hyphen ranges and "||" unions. A prerelease version
+// only satisfies a range that names a prerelease of the same major.minor.patch.
+final class NpmVersions {
+
+    private NpmVersions() {
+    }
+
+    static final class Version implements Comparable<Version> {
+        final long major;
+        final long minor;
+        final long patch;
+        final String[] prerelease;
+
+        Version(long major, long minor, long patch, String[] prerelease) {
+            this.major = major;
+            this.minor = minor;
+            this.patch = patch;
+            this.prerelease = prerelease;
+        }
+
+        boolean isPrerelease() {
+            return prerelease.length > 0;
+        }
+
+        boolean sameTuple(Version other) {
+            return major == other.major && minor == other.minor && patch == other.patch;
+        }
+
+        @Override
+        public int compareTo(Version other) {
+            int result = Long.compare(major, other.major);
+            if (result == 0) result = Long.compare(minor, other.minor);
+            if (result == 0) result = Long.compare(patch, other.patch);
+            if (result != 0) return result;
+            // A release sorts after any of its prereleases
+            if (prerelease.length == 0 || other.prerelease.length == 0) {
+                return prerelease.length == other.prerelease.length ? 0 : (prerelease.length == 0 ? 1 : -1);
+            }
+            for (int i = 0; i < Math.min(prerelease.length, other.prerelease.length); i++) {
+                result = compareIdentifier(prerelease[i], other.prerelease[i]);
+                if (result != 0) return result;
+            }
+            return Integer.compare(prerelease.length, other.prerelease.length);
+        }
+
+        @Override
+        public String toString() {
+            return major + "." + minor + "." + patch + (prerelease.length > 0 ? "-" + String.join(".", prerelease) : "");
+        }
+    }
+
+    // Null when the string is not a full semantic version
+    static Version parse(String text) {
+        Partial partial = Partial.parse(text);
+        return partial == null || partial.patch < 0 ? null : partial.toVersion();
+    }
+
+    static int compare(String a, String b) {
+        Version left = parse(a);
+        Version right = parse(b);
+        if (left == null || right == null) {
+            return left == null ? (right == null ? a.compareTo(b) : -1) : 1;
+        }
+        return left.compareTo(right);
+    }
+
+    static boolean satisfies(String version, String range) {
+        Version parsed = parse(version);
+        if (parsed == null) {
+            return false;
+        }
+        for (List<Comparator> set : parseRange(range)) {
+            if (matches(parsed, set)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Highest of the given versions inside the range, or null
+    static String maxSatisfying(Collection<String> versions, String range) {
+        List<List<Comparator>> sets = parseRange(range);
+        Version best = null;
+        String bestText = null;
+        for (String text : versions) {
+            Version version = parse(text);
+            if (version == null || (best != null && version.compareTo(best) <= 0)) {
+                continue;
+            }
+            for (List<Comparator> set : sets) {
+                if (matches(version, set)) {
+                    best = version;
+                    bestText = text;
+                    break;
+                }
+            }
+        }
+        return bestText;
+    }
+
+    static boolean isValidRange(String range) {
+        try {
+            parseRange(range);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean matches(Version version, List<Comparator> set) {
+        for (Comparator comparator : set) {
+            if (!comparator.test(version)) {
+                return false;
+            }
+        }
+        if (!version.isPrerelease()) {
+            return true;
+        }
+        for (Comparator comparator : set) {
+            if (comparator.bound != null && !comparator.synthetic
+                    && comparator.bound.isPrerelease() && comparator.bound.sameTuple(version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Comparator(String operator, Version bound, boolean synthetic) {
+        boolean test(Version version) {
+            if (bound == null) {
+                return true;
+            }
+            int result = version.compareTo(bound);
+            return switch (operator) {
+                case ">" -> result > 0;
+                case ">=" -> result >= 0;
+                case "<" -> result < 0;
+                case "<=" -> result <= 0;
+                default -> result == 0;
+            };
+        }
+    }
+
+    private static List<List<Comparator>> parseRange(String range) {
+        List<List<Comparator>> sets = new ArrayList<>();
+        for (String part : (range == null ? "" : range).split("\\|\\|", -1)) {
+            String set = part.trim().replaceAll("(>=|<=|>|<|=|\\^|~)\\s+", "$1");
+            List<Comparator> comparators = new ArrayList<>();
+            String[] hyphen = set.split("\\s+-\\s+");
+            if (hyphen.length == 2) {
+                comparators.addAll(desugar(">=", hyphen[0]));
+                comparators.addAll(desugar("<=", hyphen[1]));
+            } else {
+                for (String token : set.split("\\s+")) {
+                    if (!token.isEmpty()) {
+                        comparators.addAll(desugar(token));
+                    }
+                }
+            }
+            sets.add(comparators);
+        }
+        return sets;
+    }
+
+    private static List<Comparator> desugar(String token) {
+        for (String operator : new String[]{">=", "<=", ">", "<", "=", "^", "~"}) {
+            if (token.startsWith(operator)) {
+                return desugar(operator, token.substring(operator.length()));
+            }
+        }
+        return desugar("", token);
+    }
+
+    private static List<Comparator> desugar(String operator, String text) {
+        Partial v = Partial.parse(text);
+        if (v == null) {
+            throw new IllegalArgumentException("Invalid version range: " + text);
+        }
+        if (v.major < 0) {
+            return operator.equals("<") || operator.equals(">") ? List.of(new Comparator("<", zero(0, 0, 0), true)) : List.of();
+        }
+        switch (operator) {
+            case "^": {
+                Version upper;
+                if (v.major > 0 || v.minor < 0) {
+                    upper = zero(v.major + 1, 0, 0);
+                } else if (v.minor > 0 || v.patch < 0) {
+                    upper = zero(0, v.minor + 1, 0);
+                } else {
+                    upper = zero(0, 0, v.patch + 1);
+                }
+                return List.of(new Comparator(">=", v.floor(), false), new Comparator("<", upper, true));
+            }
+            case "~": {
+                Version upper = v.minor < 0 ? zero(v.major + 1, 0, 0) : zero(v.major, v.minor + 1, 0);
+                return List.of(new Comparator(">=", v.floor(), false), new Comparator("<", upper, true));
+            }
+            case ">":
+                return List.of(v.patch >= 0 ? new Comparator(">", v.toVersion(), false)
+                        : new Comparator(">=", v.next(), true));
+            case ">=":
+                return List.of(new Comparator(">=", v.floor(), false));
+            case "<":
+                return List.of(v.patch >= 0 ? new Comparator("<", v.toVersion(), false)
+                        : new Comparator("<", zero(v.major, Math.max(v.minor, 0), 0), true));
+            case "<=":
+                return List.of(v.patch >= 0 ? new Comparator("<=", v.toVersion(), false)
+                        : new Comparator("<", v.next(), true));
+            default:
+                if (v.patch >= 0) {
+                    return List.of(new Comparator("=", v.toVersion(), false));
+                }
+                return List.of(new Comparator(">=", v.floor(), false), new Comparator("<", v.next(), true));
+        }
+    }
+
+    // Lowest possible prerelease of a version, so "<2.0.0-0" excludes 2.0.0's prereleases too
+    private static Version zero(long major, long minor, long patch) {
+        return new Version(major, minor, patch, new String[]{"0"});
+    }
+
+    private static int compareIdentifier(String a, String b) {
+        boolean numericA = a.chars().allMatch(Character::isDigit);
+        boolean numericB = b.chars().allMatch(Character::isDigit);
+        if (numericA && numericB) {
+            return new java.math.BigInteger(a).compareTo(new java.math.BigInteger(b));
+        }
+        if (numericA != numericB) {
+            return numericA ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    // A version that may have x/* or missing components (-1)
+    private static final class Partial {
+        long major;
+        long minor;
+        long patch;
+        String[] prerelease = new String[0];
+
+        static Partial parse(String text) {
+            String value = text.trim();
+            if (value.startsWith("v") || value.startsWith("=")) {
+                value = value.substring(1).trim();
+            }
+            int plus = value.indexOf('+');
+            if (plus >= 0) {
+                value = value.substring(0, plus);
+            }
+            Partial partial = new Partial();
+            int dash = value.indexOf('-');
+            if (dash >= 0) {
+                partial.prerelease = value.substring(dash + 1).split("\\.");
+                value = value.substring(0, dash);
+            }
+            String[] parts = value.isEmpty() ? new String[0] : value.split("\\.", -1);
+            if (parts.length > 3) {
+                return null;
+            }
+            long[] numbers = {-1, -1, -1};
+            for (int i = 0; i < parts.length; i++) {
+                String part = parts[i];
+                if (part.equals("x") || part.equals("X") || part.equals("*")) {
+                    break;
+                }
+                if (part.isEmpty() || !part.chars().allMatch(Character::isDigit) || part.length() > 15) {
+                    return null;
+                }
+                numbers[i] = Long.parseLong(part);
+            }
+            partial.major = numbers[0];
+            partial.minor = numbers[0] < 0 ? -1 : numbers[1];
+            partial.patch = partial.minor < 0 ? -1 : numbers[2];
+            return partial;
+        }
+
+        Version toVersion() {
+            return new Version(major, minor, patch, prerelease);
+        }
+
+        Version floor() {
+            return new Version(major, Math.max(minor, 0), Math.max(patch, 0), patch < 0 ? new String[0] : prerelease);
+        }
+
+        // First version past the wildcard part, e.g. 1.2.x -> 1.3.0-0
+        Version next() {
+            return minor < 0 ? zero(major + 1, 0, 0) : zero(major, minor + 1, 0);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.hackthon.dependecy;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Shared OSS Index component-report lookups for the Maven and npm vulnerability services.
+// Coordinates in an ecosystem covered by the local VulnerabilityDatabase are matched there;
+// the rest are answered from VulnerabilityReportCache when possible, and only the misses go
+// to OssIndexScheduler, which batches them together with other scans' lookups. Reports are
+// returned in the caller's order.
+public class OssIndexClient {
+
+    // How long a scan waits for its OSS Index lookups in total; lookups still pending then are
+    // reported as one error (they keep running and are cached for later scans)
+    static final long LOOKUP_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(
+            AppSettings.getLong("ossindex.lookup-timeout-seconds", 120));
+
+    // Report for a single coordinate, for callers that consume reports as they arrive. Completes
+    // with null when vulnerability.db.mode=local-only and the local database does not cover
+    // the coordinate, and with an error report if its OSS Index batch failed.
+    public static CompletableFuture<ComponentReport> componentReport(String coordinate) {
+        ComponentReport local = VulnerabilityDatabase.componentReport(coordinate);
+        if (local != null) {
+            return CompletableFuture.completedFuture(local);
+        }
+        if (VulnerabilityDatabase.isLocalOnly()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ComponentReport cached = VulnerabilityReportCache.get(coordinate);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return OssIndexScheduler.lookup(coordinate).thenApply(report -> {
+            if (!report.failed()) {
+                VulnerabilityReportCache.put(coordinate, report);
+            }
+            return report;
+        });
+    }
+
+    // Re-fetches every coordinate whose cached report is missing or expires within aheadMillis,
+    // so the next scan still finds it cached. Coordinates the local database answers are
+    // skipped. Completes with the number of coordinates sent to OSS Index.
+    public static CompletableFuture<Integer> refreshAhead(Collection<String> coordinates, long aheadMillis) {
+        if (VulnerabilityDatabase.isLocalOnly()) {
+            return CompletableFuture.completedFuture(0);
+        }
+        List<CompletableFuture<ComponentReport>> refreshes = new ArrayList<>();
+        for (String coordinate : new LinkedHashSet<>(coordinates)) {
+            if (VulnerabilityReportCache.remainingMillis(coordinate) > aheadMillis
+                    || VulnerabilityDatabase.componentReport(coordinate) != null) {
+                continue;
+            }
+            refreshes.add(OssIndexScheduler.lookup(coordinate).thenApply(report -> {
+                if (!report.failed()) {
+                    VulnerabilityReportCache.put(coordinate, report);
+                }
+                return report;
+            }));
+        }
+        return CompletableFuture.allOf(refreshes.toArray(new CompletableFuture<?>[0])).thenApply(done -> refreshes.size());
+    }
+
+    public static List<ComponentReport> componentReports(List<String> coordinates) {
+        long started = System.nanoTime();
+        Map<String, ComponentReport> reports = new HashMap<>();
+        Map<String, CompletableFuture<ComponentReport>> pending = new LinkedHashMap<>();
+        int uncovered = 0;
+        Set<String> distinct = new LinkedHashSet<>(coordinates);
+        for (String coordinate : distinct) {
+            ComponentReport local = VulnerabilityDatabase.componentReport(coordinate);
+            if (local != null) {
+                reports.put(coordinate, local);
+                continue;
+            }
+            if (VulnerabilityDatabase.isLocalOnly()) {
+                uncovered++;
+                continue;
+            }
+            ComponentReport cached = VulnerabilityReportCache.get(coordinate);
+            if (cached != null) {
+                reports.put(coordinate, cached);
+            } else {
+                pending.put(coordinate, OssIndexScheduler.lookup(coordinate));
+            }
+        }
+
+        // A failed batch hands the same error report to each of its coordinates; report it once
+        Set<ComponentReport> errors = Collections.newSetFromMap(new IdentityHashMap<>());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LOOKUP_TIMEOUT_MS);
+        int timedOut = 0;
+        for (Map.Entry<String, CompletableFuture<ComponentReport>> entry : pending.entrySet()) {
+            ComponentReport report;
+            try {
+                report = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                timedOut++;
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timedOut++;
+                continue;
+            } catch (ExecutionException e) {
+                report = ComponentReport.error("Error checking vulnerabilities: " + e.getCause().getMessage());
+            }
+            if (report.failed()) {
+                errors.add(report);
+            } else {
+                VulnerabilityReportCache.put(entry.getKey(), report);
+                reports.put(entry.getKey(), report);
+            }
+        }
+
+        List<ComponentReport> results = new ArrayList<>();
+        for (String coordinate : coordinates) {
+            ComponentReport report = reports.get(coordinate);
+            if (report != null) {
+                results.add(report);
+            }
+        }
+        results.addAll(errors); // Add error responses if any
+        if (timedOut > 0) {
+            results.add(timedOutError(timedOut));
+        }
+        if (uncovered > 0) {
+            results.add(uncoveredError(uncovered));
+        }
+        PipelineMetrics.recordVulnerabilityScan(distinct.size(), started);
+        return results;
+    }
+
+    static ComponentReport timedOutError(int timedOut) {
+        return ComponentReport.error("Timed out waiting for OSS Index reports for " + timedOut + " coordinates");
+    }
+
+    static ComponentReport uncoveredError(int uncovered) {
+        return ComponentReport.error("No local advisory data for " + uncovered
+                + " coordinates (vulnerability.db.mode=local-only)");
+    }
+}
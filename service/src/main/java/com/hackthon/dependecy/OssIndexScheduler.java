@@ -0,0 +1,240 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Central scheduler for every OSS Index call made by the service.
+ *
+ * Coordinates requested by concurrent scans are merged: identical coordinates share one
+ * pending lookup, and a dispatcher packs whatever is queued into batches of up to 128,
+ * waiting at most ossindex.batch-window-ms for a batch to fill. Each request takes a token
+ * from a bucket sized to the remote rate limit, and 429/5xx responses or transport errors
+ * are retried with full-jitter exponential backoff, honouring Retry-After when present.
+ * Response bodies are parsed as they stream in (see ComponentReportSubscriber), so each
+ * coordinate's future completes as soon as its own report has been read.
+ */
+public class OssIndexScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OssIndexScheduler.class);
+
+    private static volatile String apiUrl = AppSettings.get("ossindex.url", "https://ossindex.sonatype.org/api/v3/component-report");
+    static final int BATCH_SIZE = 128; // OSS Index API limit
+    private static final long BATCH_WINDOW_MS = AppSettings.getLong("ossindex.batch-window-ms", 25);
+    private static volatile int maxRetries = AppSettings.getInt("ossindex.max-retries", 4);
+    private static volatile long backoffBaseMs = AppSettings.getLong("ossindex.backoff-base-ms", 500);
+    private static final long BACKOFF_MAX_MS = AppSettings.getLong("ossindex.backoff-max-ms", 30_000);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(AppSettings.getLong("ossindex.timeout-seconds", 30));
+    private static final String USER_AGENT = "VulnerabilityChecker/1.0";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final TokenBucket RATE_LIMIT = new TokenBucket(
+            AppSettings.getInt("ossindex.requests-per-minute", 120),
+            AppSettings.getInt("ossindex.burst", 8));
+    private static final LinkedBlockingQueue<String> QUEUE = new LinkedBlockingQueue<>();
+    private static final ConcurrentHashMap<String, CompletableFuture<ComponentReport>> PENDING = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService RETRIES = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ossindex-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Thread dispatcher = new Thread(OssIndexScheduler::dispatchLoop, "ossindex-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    // Report for one coordinate. Completes with an error report (no coordinates) when the
+    // batch it was sent in failed after all retries; never completes exceptionally.
+    public static CompletableFuture<ComponentReport> lookup(String coordinate) {
+        CompletableFuture<ComponentReport> created = new CompletableFuture<>();
+        CompletableFuture<ComponentReport> existing = PENDING.putIfAbsent(coordinate, created);
+        if (existing != null) {
+            return existing;
+        }
+        created.whenComplete((report, error) -> PENDING.remove(coordinate, created));
+        QUEUE.add(coordinate);
+        return created;
+    }
+
+    // Sends later batches to another endpoint with another retry policy
+    static void useApi(String url, int retries, long backoffBase) {
+        apiUrl = url;
+        maxRetries = retries;
+        backoffBaseMs = backoffBase;
+    }
+
+    public static int queuedCount() {
+        return QUEUE.size();
+    }
+
+    private static void dispatchLoop() {
+        while (true) {
+            try {
+                List<String> batch = new ArrayList<>(BATCH_SIZE);
+                batch.add(QUEUE.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BATCH_WINDOW_MS);
+                while (batch.size() < BATCH_SIZE) {
+                    String next = QUEUE.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    QUEUE.drainTo(batch, BATCH_SIZE - batch.size());
+                }
+                long waitNanos = RATE_LIMIT.reserve();
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+                dispatch(batch, 0);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Sends a batch; if building or sending the request throws, its lookups complete with an
+    // error report instead of waiting forever
+    private static void dispatch(List<String> batch, int attempt) {
+        try {
+            send(batch, attempt);
+        } catch (RuntimeException e) {
+            LOG.warn("OSS Index batch of {} failed to send", batch.size(), e);
+            ComponentReport failure = ComponentReport.error("Error checking vulnerabilities: " + e.getMessage());
+            for (String coordinate : batch) {
+                complete(coordinate, failure);
+            }
+        }
+    }
+
+    private static void send(List<String> batch, int attempt) {
+        byte[] payload;
+        try {
+            payload = OBJECT_MAPPER.writeValueAsBytes(Map.of("coordinates", batch));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("User-Agent", USER_AGENT)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+                .build();
+
+        long started = System.nanoTime();
+        Set<String> requested = new HashSet<>(batch);
+        Set<String> answered = ConcurrentHashMap.newKeySet();
+        int[] position = new int[1];
+        // Reports come back in request order; prefer the echoed coordinates when they match
+        HttpResponse.BodyHandler<String> handler = info -> info.statusCode() != 200
+                ? HttpResponse.BodySubscribers.replacing(null)
+                : new ComponentReportSubscriber(report -> {
+                    int index = position[0]++;
+                    String coordinate = report.coordinates() != null && requested.contains(report.coordinates())
+                            ? report.coordinates()
+                            : (index < batch.size() ? batch.get(index) : null);
+                    if (coordinate != null && answered.add(coordinate)) {
+                        complete(coordinate, report);
+                    }
+                });
+        SharedHttpClient.sendAsync(request, handler)
+                .whenComplete((response, error) -> {
+                    PipelineMetrics.recordOssIndexBatch(error == null ? String.valueOf(response.statusCode()) : "error",
+                            batch.size(), started);
+                    if (error == null && response.statusCode() == 200) {
+                        completeUnanswered(batch, answered, response.body());
+                        return;
+                    }
+                    boolean retryable = error != null || response.statusCode() == 429 || response.statusCode() >= 500;
+                    if (retryable && attempt < maxRetries) {
+                        long delayMs = backoffMillis(attempt, error == null ? response : null);
+                        delayMs = Math.max(delayMs, TimeUnit.NANOSECONDS.toMillis(RATE_LIMIT.reserve()));
+                        PipelineMetrics.recordOssIndexRetry();
+                        RETRIES.schedule(() -> dispatch(batch, attempt + 1), delayMs, TimeUnit.MILLISECONDS);
+                        return;
+                    }
+                    ComponentReport failure;
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        failure = ComponentReport.error("Error checking vulnerabilities: " + cause.getMessage());
+                    } else {
+                        failure = ComponentReport.error("Received response code " + response.statusCode(),
+                                String.valueOf(response.statusCode()));
+                    }
+                    for (String coordinate : batch) {
+                        complete(coordinate, failure);
+                    }
+                });
+    }
+
+    // Reports already streamed out as they were parsed; whatever is left either shares the
+    // parse error or is reported as unknown rather than left hanging
+    private static void completeUnanswered(List<String> batch, Set<String> answered, String parseError) {
+        ComponentReport failure = parseError != null
+                ? ComponentReport.error("Error checking vulnerabilities: " + parseError)
+                : null;
+        for (String coordinate : batch) {
+            if (!answered.contains(coordinate)) {
+                complete(coordinate, failure != null ? failure : ComponentReport.error("No report returned for " + coordinate));
+            }
+        }
+    }
+
+    private static void complete(String coordinate, ComponentReport report) {
+        CompletableFuture<ComponentReport> future = PENDING.get(coordinate);
+        if (future != null) {
+            future.complete(report);
+        }
+    }
+
+    // Full jitter: a random delay up to base * 2^attempt, capped, but never shorter than Retry-After
+    private static long backoffMillis(int attempt, HttpResponse<?> response) {
+        long ceiling = Math.min(BACKOFF_MAX_MS, backoffBaseMs << Math.min(attempt, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (response != null) {
+            Optional<String> retryAfter = response.headers().firstValue("Retry-After");
+            if (retryAfter.isPresent()) {
+                try {
+                    delay = Math.max(delay, Long.parseLong(retryAfter.get().trim()) * 1000);
+                } catch (NumberFormatException ignored) {
+                    // HTTP-date form; fall back to the computed backoff
+                }
+            }
+        }
+        return delay;
+    }
+
+    // Token bucket refilled continuously at the configured rate. reserve() always takes a token,
+    // possibly going into debt, and returns how long the caller must wait before using it.
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        TokenBucket(int perMinute, int burst) {
+            this.tokensPerNano = Math.max(1, perMinute) / (double) TimeUnit.MINUTES.toNanos(1);
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+        }
+
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens / tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hackthon.dependecy;
+
+import io.micrometer.core.instrument.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Micrometer meters for the resolution and scan pipeline. Everything is registered on
+// Metrics.globalRegistry, which Spring Boot backs with its Prometheus registry, so the services
+// can stay static and the numbers are scraped from /actuator/prometheus. Timers publish
+// percentile histograms so latency distributions can be aggregated across instances.
+public final class PipelineMetrics {
+
+    private PipelineMetrics() {
+    }
+
+    // One timer per generateTree stage: project-model (uploaded poms only), cache-lookup,
+    // queue-wait, embedded-resolve, write-pom, maven-start, maven-startup (until Maven prints
+    // its first line), maven-output, maven-exit, parse and cleanup
+    public static void recordStage(String stage, long startNanos) {
+        timer("dependency.tree.stage", "Time spent in one stage of a dependency tree resolution", "stage", stage)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Whole resolution; outcome is cache-hit, resolved, coalesced (shared an identical one in flight) or error
+    public static void recordResolution(String mode, String outcome, long startNanos) {
+        timer("dependency.tree.resolution", "End-to-end dependency tree resolution", "mode", mode, "outcome", outcome)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // One OSS Index HTTP attempt; outcome is the status code or "error"
+    public static void recordOssIndexBatch(String outcome, int coordinates, long startNanos) {
+        timer("ossindex.batch", "OSS Index component-report request", "outcome", outcome)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("ossindex.batch.size")
+                .description("Coordinates per OSS Index request")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(coordinates);
+    }
+
+    public static void recordOssIndexRetry() {
+        Metrics.counter("ossindex.retries").increment();
+    }
+
+    // A vulnerability lookup for a whole coordinate list, including local and cached answers
+    public static void recordVulnerabilityScan(int coordinates, long startNanos) {
+        timer("vulnerability.scan", "Vulnerability lookup for one scan's coordinates")
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("vulnerability.scan.coordinates")
+                .description("Distinct coordinates per vulnerability scan")
+                .register(Metrics.globalRegistry)
+                .record(coordinates);
+    }
+
+    // One npm registry request; outcome is the status code or "error"
+    public static void recordNpmFetch(String outcome, long startNanos) {
+        timer("npm.registry.fetch", "npm registry document request", "outcome", outcome)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Gauges read their source on every scrape; registered once at startup
+    public static void registerGauges() {
+        MeterRegistry registry = Metrics.globalRegistry;
+        Gauge.builder("dependency.tree.resolutions.active", ResolutionExecutor::activeCount)
+                .description("Tree resolutions currently running").register(registry);
+        Gauge.builder("dependency.tree.resolutions.queued", ResolutionExecutor::queuedCount)
+                .description("Tree resolutions waiting for a worker").register(registry);
+        Gauge.builder("ossindex.queue.depth", OssIndexScheduler::queuedCount)
+                .description("Coordinates waiting to be batched for OSS Index").register(registry);
+        Gauge.builder("jobs.queue.depth", ScanJobQueue::queuedCount)
+                .description("Background jobs waiting for a worker").register(registry);
+        Gauge.builder("admission.in.flight", AdmissionFilter::inFlight)
+                .description("Scan requests admitted and not yet answered").register(registry);
+        cacheGauges(registry, "dependency.tree.cache", DependencyTreeCache::stats);
+        cacheGauges(registry, "vulnerability.cache", VulnerabilityReportCache::stats);
+        cacheGauges(registry, "npm.cache", NpmRegistryCache::stats);
+        Gauge.builder("npm.cache.bytes", () -> (Number) NpmRegistryCache.stats().get("bytes"))
+                .baseUnit("bytes").description("Bytes held by the npm registry cache").register(registry);
+    }
+
+    private static void cacheGauges(MeterRegistry registry, String name, Supplier<Map<String, Object>> stats) {
+        Gauge.builder(name + ".hit.ratio", () -> (Number) stats.get().get("hitRatio"))
+                .description("Share of lookups answered from the cache").register(registry);
+        Gauge.builder(name + ".entries", () -> (Number) stats.get().getOrDefault("entries",
+                        stats.get().getOrDefault("memoryEntries", 0)))
+                .description("Entries held in memory").register(registry);
+    }
+
+    private static Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+    }
+}
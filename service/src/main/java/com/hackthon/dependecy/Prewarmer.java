@@ -0,0 +1,276 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refresh-ahead for popular artifacts. Every tree request and vulnerability scan for a released
+ * version counts towards its coordinate's score, which halves every prewarm.half-life-hours so
+ * yesterday's spike fades. Every prewarm.interval-seconds the top prewarm.top-n coordinates
+ * requested at least prewarm.min-score times are refreshed: the tree is loaded into the memory
+ * cache (from disk or, if missing, by resolving it), and for scanned coordinates every report
+ * that is missing or expires within prewarm.refresh-ahead-minutes is fetched again. Popular
+ * lookups therefore stay cache hits instead of paying for Maven and OSS Index when they expire.
+ *
+ * Refreshes use prewarm.max-concurrent workers (default 1) and always yield to live traffic: a
+ * cycle stops early when a live resolution is queued, when more than prewarm.max-live-requests
+ * scan requests are in flight, or when process CPU load is above prewarm.max-cpu.
+ *
+ * Scores are saved to prewarm.snapshot.file after every cycle and on shutdown, and read back at
+ * start-up, so the first cycle after a restart warms the same artifacts as before it.
+ */
+public final class Prewarmer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Prewarmer.class);
+
+    private static final boolean ENABLED = AppSettings.getBoolean("prewarm.enabled", true);
+    private static final int TOP_N = AppSettings.getInt("prewarm.top-n", 50);
+    private static final double MIN_SCORE = Double.parseDouble(AppSettings.get("prewarm.min-score", "3"));
+    private static final long INTERVAL_SECONDS = AppSettings.getLong("prewarm.interval-seconds", 300);
+    private static final long INITIAL_DELAY_SECONDS = AppSettings.getLong("prewarm.initial-delay-seconds", 30);
+    private static final long REFRESH_AHEAD_MILLIS = AppSettings.getLong("prewarm.refresh-ahead-minutes", 30) * 60_000;
+    private static final double HALF_LIFE_HOURS = Double.parseDouble(AppSettings.get("prewarm.half-life-hours", "24"));
+    private static final int MAX_CONCURRENT = Math.max(1, AppSettings.getInt("prewarm.max-concurrent", 1));
+    private static final int MAX_LIVE_REQUESTS = AppSettings.getInt("prewarm.max-live-requests", 4);
+    private static final double MAX_CPU = Double.parseDouble(AppSettings.get("prewarm.max-cpu", "0.7"));
+    private static final int MAX_TRACKED = AppSettings.getInt("prewarm.max-tracked", 10_000);
+    private static final Path SNAPSHOT = Path.of(AppSettings.get("prewarm.snapshot.file",
+            System.getProperty("user.home") + "/.dependency-tree/popularity.json"));
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ConcurrentHashMap<String, Entry> SCORES = new ConcurrentHashMap<>();
+    // Set on prewarm workers so their own resolutions do not count as demand
+    private static final ThreadLocal<Boolean> REFRESHING = ThreadLocal.withInitial(() -> false);
+
+    private static final AtomicLong CYCLES = new AtomicLong();
+    private static final AtomicLong TREES_REFRESHED = new AtomicLong();
+    private static final AtomicLong REPORTS_REFRESHED = new AtomicLong();
+    private static final AtomicLong FAILURES = new AtomicLong();
+    private static final AtomicLong YIELDED = new AtomicLong();
+    private static volatile Map<String, Object> lastCycle = Map.of();
+
+    private static ScheduledExecutorService scheduler;
+    private static ExecutorService workers;
+
+    // One popular coordinate; exclusions is the <exclusions> block it was requested with
+    record Entry(String groupId, String artifactId, String version, String exclusions, double score, boolean scanned) {
+    }
+
+    private Prewarmer() {
+    }
+
+    // A tree request for the dependency
+    public static void recordTree(String groupId, String artifactId, String version, String exclusionsBlock) {
+        track(groupId, artifactId, version, exclusionsBlock, 1, false);
+    }
+
+    // A scan that was answered without a tree request of its own (it shared another's result)
+    public static void recordScan(String groupId, String artifactId, String version, String exclusionsBlock) {
+        track(groupId, artifactId, version, exclusionsBlock, 1, true);
+    }
+
+    // Marks the dependency's vulnerability reports as wanted; the scan's tree request does the counting
+    public static void markScanned(String groupId, String artifactId, String version, String exclusionsBlock) {
+        track(groupId, artifactId, version, exclusionsBlock, 0, true);
+    }
+
+    private static void track(String groupId, String artifactId, String version, String exclusionsBlock,
+                              double increment, boolean scanned) {
+        if (!ENABLED || REFRESHING.get() || version.endsWith("-SNAPSHOT") || MavenVersions.isRange(version)) {
+            return;
+        }
+        String exclusions = exclusionsBlock == null ? "" : exclusionsBlock;
+        String key = DependencyTreeCache.coordinatesKey(groupId, artifactId, version, DependencyTreeGenerator.parseExclusions(exclusions));
+        SCORES.compute(key, (k, entry) -> entry == null
+                ? new Entry(groupId.trim(), artifactId.trim(), version.trim(), exclusions, increment, scanned)
+                : new Entry(entry.groupId(), entry.artifactId(), entry.version(), entry.exclusions(),
+                entry.score() + increment, entry.scanned() || scanned));
+    }
+
+    // Loads the snapshot and schedules refresh cycles; called once at start-up
+    public static synchronized void start() {
+        if (!ENABLED || scheduler != null) {
+            return;
+        }
+        loadSnapshot();
+        workers = VirtualThreads.newExecutor("prewarm", MAX_CONCURRENT);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prewarm-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(Prewarmer::cycle, INITIAL_DELAY_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(Prewarmer::saveSnapshot, "prewarm-snapshot"));
+    }
+
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", ENABLED);
+        stats.put("tracked", SCORES.size());
+        stats.put("cycles", CYCLES.get());
+        stats.put("treesRefreshed", TREES_REFRESHED.get());
+        stats.put("reportsRefreshed", REPORTS_REFRESHED.get());
+        stats.put("failures", FAILURES.get());
+        stats.put("yieldedCycles", YIELDED.get());
+        stats.put("lastCycle", lastCycle);
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (Entry entry : top(20, 0)) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("dependency", entry.groupId() + ":" + entry.artifactId() + ":" + entry.version());
+            row.put("score", Math.round(entry.score() * 100) / 100.0);
+            row.put("scanned", entry.scanned());
+            top.add(row);
+        }
+        stats.put("top", top);
+        return stats;
+    }
+
+    // One refresh pass over the top entries, then decay and snapshot
+    static void cycle() {
+        long started = System.nanoTime();
+        int trees = 0;
+        int reports = 0;
+        int failed = 0;
+        String stoppedBecause = null;
+        try {
+            List<Entry> candidates = top(TOP_N, MIN_SCORE);
+            Iterator<Entry> pending = candidates.iterator();
+            while (pending.hasNext() && (stoppedBecause = busy()) == null) {
+                // Hand out at most MAX_CONCURRENT entries at a time and check for live load in between
+                List<Future<Integer>> running = new ArrayList<>();
+                while (pending.hasNext() && running.size() < MAX_CONCURRENT) {
+                    Entry entry = pending.next();
+                    running.add(workers.submit(() -> refresh(entry)));
+                }
+                for (Future<Integer> future : running) {
+                    try {
+                        reports += future.get();
+                        trees++;
+                    } catch (ExecutionException e) {
+                        failed++;
+                        if (e.getCause() instanceof ResolutionExecutor.ResolutionRejectedException) {
+                            stoppedBecause = "resolution pool full";
+                        }
+                    }
+                }
+                if (stoppedBecause != null) {
+                    break;
+                }
+            }
+            if (stoppedBecause != null) {
+                YIELDED.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            stoppedBecause = "error: " + e.getMessage();
+        }
+        TREES_REFRESHED.addAndGet(trees);
+        REPORTS_REFRESHED.addAndGet(reports);
+        FAILURES.addAndGet(failed);
+        CYCLES.incrementAndGet();
+        decay();
+        saveSnapshot();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("finishedAt", new Date().toString());
+        summary.put("trees", trees);
+        summary.put("reports", reports);
+        summary.put("failed", failed);
+        summary.put("stoppedEarly", stoppedBecause);
+        summary.put("millis", (System.nanoTime() - started) / 1_000_000);
+        lastCycle = summary;
+    }
+
+    // Warms one tree and, for scanned entries, its expiring reports; returns reports re-fetched
+    private static int refresh(Entry entry) throws Exception {
+        REFRESHING.set(true);
+        try {
+            DependencyGraph graph = DependencyTreeGenerator.generateGraph(entry.groupId(), entry.artifactId(),
+                    entry.version(), entry.exclusions());
+            if (!entry.scanned() || graph.size() == 0) {
+                return 0;
+            }
+            return OssIndexClient.refreshAhead(graph.packageUrls(), REFRESH_AHEAD_MILLIS).get();
+        } finally {
+            REFRESHING.set(false);
+        }
+    }
+
+    // Why live traffic needs the capacity right now, or null when a refresh may go ahead
+    private static String busy() {
+        if (ResolutionExecutor.queuedCount() > 0) {
+            return "live resolutions queued";
+        }
+        if (AdmissionFilter.inFlight() > MAX_LIVE_REQUESTS) {
+            return "live requests in flight";
+        }
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os
+                && os.getProcessCpuLoad() > MAX_CPU) {
+            return "cpu above budget";
+        }
+        return null;
+    }
+
+    private static List<Entry> top(int limit, double minScore) {
+        return SCORES.values().stream()
+                .filter(entry -> entry.score() >= minScore)
+                .sorted(Comparator.comparingDouble(Entry::score).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    // Scores fade with the configured half-life; faded entries, and the tail beyond max-tracked, are dropped
+    private static void decay() {
+        double factor = Math.pow(0.5, INTERVAL_SECONDS / 3600.0 / HALF_LIFE_HOURS);
+        SCORES.replaceAll((key, entry) -> new Entry(entry.groupId(), entry.artifactId(), entry.version(),
+                entry.exclusions(), entry.score() * factor, entry.scanned()));
+        SCORES.values().removeIf(entry -> entry.score() < 0.1);
+        if (SCORES.size() > MAX_TRACKED) {
+            Set<Entry> keep = new HashSet<>(top(MAX_TRACKED, 0));
+            SCORES.values().removeIf(entry -> !keep.contains(entry));
+        }
+    }
+
+    private static synchronized void saveSnapshot() {
+        try {
+            Files.createDirectories(SNAPSHOT.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(SNAPSHOT.toAbsolutePath().getParent(), "popularity", ".tmp");
+            OBJECT_MAPPER.writeValue(temp.toFile(), new ArrayList<>(SCORES.values()));
+            Files.move(temp, SNAPSHOT, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Unable to save prewarm snapshot {}: {}", SNAPSHOT, e.getMessage());
+        }
+    }
+
+    private static void loadSnapshot() {
+        if (!Files.isRegularFile(SNAPSHOT)) {
+            return;
+        }
+        try {
+            List<Entry> entries = OBJECT_MAPPER.readValue(SNAPSHOT.toFile(), new TypeReference<List<Entry>>() {
+            });
+            for (Entry entry : entries) {
+                String key = DependencyTreeCache.coordinatesKey(entry.groupId(), entry.artifactId(), entry.version(),
+                        DependencyTreeGenerator.parseExclusions(entry.exclusions()));
+                SCORES.merge(key, entry, (current, saved) -> new Entry(current.groupId(), current.artifactId(),
+                        current.version(), current.exclusions(), current.score() + saved.score(),
+                        current.scanned() || saved.scanned()));
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to read prewarm snapshot {}: {}", SNAPSHOT, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.hackthon.dependecy;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs every tree resolution. At most dependency.tree.max-concurrent resolutions run at once
+// and up to dependency.tree.queue-capacity wait behind them; anything past that is rejected
+// immediately so callers can answer with 503 instead of tying up request threads.
+//
+// Both limits are semaphores rather than pool sizes, so the same bounds hold whether tasks run
+// on platform threads or, with execution.mode=virtual, on one virtual thread each.
+public class ResolutionExecutor {
+
+    // Admitted = running + waiting; workers = Maven processes or embedded resolutions in flight
+    private static volatile Limits limits = configuredLimits();
+    private static final ExecutorService EXECUTOR = createExecutor();
+    // The running task's cancellation, so it can say how to stop itself (see onCancel)
+    private static final ThreadLocal<Cancellation> CURRENT = new ThreadLocal<>();
+
+    private static Limits configuredLimits() {
+        return new Limits(AppSettings.getInt("dependency.tree.max-concurrent", Runtime.getRuntime().availableProcessors()),
+                AppSettings.getInt("dependency.tree.queue-capacity", 16),
+                AppSettings.getLong("dependency.tree.timeout-seconds", 300));
+    }
+
+    private static ExecutorService createExecutor() {
+        if (VirtualThreads.isEnabled()) {
+            return VirtualThreads.newExecutor("tree-resolver", limits.maxConcurrent() + limits.queueCapacity());
+        }
+        // Waiting tasks park a thread each, but admission caps them at queue-capacity. The pool
+        // itself is unbounded: a worker hands its admission back a moment before it is idle
+        // again, and a bounded pool would reject the next task in between.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), VirtualThreads.daemonThreads("tree-resolver"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // Replaces the limits for resolutions submitted from now on; ones already admitted keep theirs
+    static void configure(int maxConcurrent, int queueCapacity, long timeoutSeconds) {
+        limits = new Limits(maxConcurrent, queueCapacity, timeoutSeconds);
+    }
+
+    // Back to the dependency.tree.* settings
+    static void reset() {
+        limits = configuredLimits();
+    }
+
+    // Runs the task and waits for it; throws ResolutionRejectedException right away when
+    // max-concurrent resolutions are running and queue-capacity more are waiting.
+    public static <T> T run(Callable<T> task) throws IOException, InterruptedException {
+        Limits limits = ResolutionExecutor.limits;
+        if (!limits.admitted().tryAcquire()) {
+            throw new ResolutionRejectedException("Too many dependency resolutions in progress ("
+                    + limits.maxConcurrent() + " running, " + limits.queueCapacity() + " queued); retry later");
+        }
+        Future<T> future;
+        long submitted = System.nanoTime();
+        // Whoever claims the task releases its admission: the task once it starts, or the
+        // caller if it is cancelled before it ever runs
+        AtomicBoolean claimed = new AtomicBoolean();
+        Cancellation cancellation = new Cancellation();
+        try {
+            future = EXECUTOR.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                try {
+                    limits.workers().acquire();
+                    CURRENT.set(cancellation);
+                    try {
+                        PipelineMetrics.recordStage("queue-wait", submitted);
+                        return task.call();
+                    } finally {
+                        CURRENT.remove();
+                        limits.workers().release();
+                    }
+                } finally {
+                    limits.admitted().release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            limits.admitted().release();
+            throw new ResolutionRejectedException("Dependency resolution executor is shut down");
+        }
+        try {
+            return future.get(limits.timeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            cancel(future, claimed, cancellation, limits);
+            throw new IOException("Dependency resolution timed out after " + limits.timeoutSeconds() + "s");
+        } catch (InterruptedException e) {
+            cancel(future, claimed, cancellation, limits);
+            throw e;
+        } catch (CancellationException e) {
+            throw new IOException("Dependency resolution was cancelled");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof InterruptedException interrupted) {
+                throw interrupted;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    // Registers how to stop the calling task when its caller times out or is interrupted. Needed
+    // for work an interrupt cannot reach, such as a thread blocked reading a child process's
+    // output: the hook destroys the process, which ends the read. A hook registered after the
+    // cancellation runs at once. Does nothing outside a task run by this executor.
+    public static void onCancel(Runnable hook) {
+        Cancellation cancellation = CURRENT.get();
+        if (cancellation != null) {
+            cancellation.register(hook);
+        }
+    }
+
+    private static void cancel(Future<?> future, AtomicBoolean claimed, Cancellation cancellation, Limits limits) {
+        cancellation.cancel();
+        future.cancel(true);
+        if (claimed.compareAndSet(false, true)) {
+            limits.admitted().release();
+        }
+    }
+
+    public static int activeCount() {
+        Limits limits = ResolutionExecutor.limits;
+        return limits.maxConcurrent() - limits.workers().availablePermits();
+    }
+
+    public static int queuedCount() {
+        Limits limits = ResolutionExecutor.limits;
+        return Math.max(0, limits.maxConcurrent() + limits.queueCapacity() - limits.admitted().availablePermits()
+                - (limits.maxConcurrent() - limits.workers().availablePermits()));
+    }
+
+    private record Limits(int maxConcurrent, int queueCapacity, long timeoutSeconds, Semaphore admitted, Semaphore workers) {
+        Limits(int maxConcurrent, int queueCapacity, long timeoutSeconds) {
+            this(maxConcurrent, queueCapacity, timeoutSeconds,
+                    new Semaphore(maxConcurrent + queueCapacity), new Semaphore(maxConcurrent, true));
+        }
+    }
+
+    private static final class Cancellation {
+        private Runnable hook;
+        private boolean cancelled;
+
+        synchronized void register(Runnable hook) {
+            if (cancelled) {
+                hook.run();
+            } else {
+                this.hook = hook;
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (hook != null) {
+                hook.run();
+            }
+        }
+    }
+
+    public static class ResolutionRejectedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public ResolutionRejectedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.hackthon.dependecy;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/jobs")
+public class ScanJobController {
+
+    /**
+     * Queues a tree resolution or vulnerability scan for the posted <dependency> snippet (same
+     * format as /dependency-tree and /vulnerability) and returns 202 with the job id at once.
+     *
+     * "kind" is "vulnerability" (default) or "tree"; "priority" is "low", "normal" (default)
+     * or "high"; "resolver" works as on /dependency-tree.
+     */
+    @PostMapping(consumes = "application/xml", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> submit(@RequestBody String dependencyXml,
+                                                      @RequestParam(value = "kind", defaultValue = "vulnerability") String kind,
+                                                      @RequestParam(value = "priority", defaultValue = "normal") String priority,
+                                                      @RequestParam(value = "resolver", required = false) String resolver) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        try {
+            MavenDependencyRequest dependency = MavenDependencyRequest.fromXml(dependencyXml);
+            if (!dependency.isComplete()) {
+                response.put("error", "Invalid dependency XML. Ensure groupId, artifactId, and version are provided.");
+                return ResponseEntity.badRequest().body(response);
+            }
+            String id = ScanJobQueue.submit(ScanJobQueue.Kind.valueOf(kind.trim().toUpperCase(Locale.ROOT)), dependency,
+                    ScanJobQueue.Priority.valueOf(priority.trim().toUpperCase(Locale.ROOT)),
+                    DependencyTreeGenerator.ResolverMode.from(resolver));
+            response.put("id", id);
+            response.put("status", "queued");
+            response.put("statusUrl", "/jobs/" + id);
+            response.put("resultUrl", "/jobs/" + id + "/result");
+            return ResponseEntity.accepted().location(URI.create("/jobs/" + id)).body(response);
+        } catch (ResolutionExecutor.ResolutionRejectedException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("error", "Unknown kind, priority or resolver: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("error", "Invalid dependency XML: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    // Status and progress; 404 for unknown or expired ids
+    @GetMapping(value = "/{id}", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> status(@PathVariable("id") String id) throws Exception {
+        Map<String, Object> job = ScanJobQueue.status(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    // The finished job with its result, or 202 with the current status while it is still pending
+    @GetMapping(value = "/{id}/result", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> result(@PathVariable("id") String id) throws Exception {
+        Map<String, Object> job = ScanJobQueue.find(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if ("queued".equals(job.get("status")) || "running".equals(job.get("status"))) {
+            job.remove("result");
+            return ResponseEntity.accepted().header("Retry-After", "2").body(job);
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping(value = "/stats", produces = "application/json")
+    public Map<String, Object> stats() {
+        return ScanJobQueue.stats();
+    }
+}
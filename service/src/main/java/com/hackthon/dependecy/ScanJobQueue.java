@@ -0,0 +1,285 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Background jobs for tree resolutions and vulnerability scans, so a long Maven run never
+ * holds an HTTP request open.
+ *
+ * Submitted jobs wait in a priority queue (higher priority first, then submission order) and
+ * a fixed set of workers drains it; the workers still go through ResolutionExecutor, so scan
+ * concurrency is set by the resolution pool and not by how many clients are connected. A
+ * finished job is written to jobs.dir as JSON and dropped from memory, so completed results
+ * survive restarts; jobs still queued or running at shutdown are lost and must be resubmitted.
+ */
+public final class ScanJobQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScanJobQueue.class);
+
+    private static final int WORKERS = AppSettings.getInt("jobs.workers",
+            AppSettings.getInt("dependency.tree.max-concurrent", Runtime.getRuntime().availableProcessors()));
+    private static final int MAX_QUEUED = AppSettings.getInt("jobs.max-queued", 1000);
+    private static final long RETENTION_HOURS = AppSettings.getLong("jobs.retention-hours", 168);
+    private static final Path DIRECTORY = Path.of(AppSettings.get("jobs.dir",
+            System.getProperty("user.home") + "/.dependency-tree/jobs"));
+    private static final Pattern JOB_ID = Pattern.compile("[0-9a-f-]{36}");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public enum Kind { TREE, VULNERABILITY }
+
+    public enum Priority { LOW, NORMAL, HIGH }
+
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final PriorityBlockingQueue<Job> QUEUE = new PriorityBlockingQueue<>(64,
+            Comparator.comparing((Job job) -> job.priority).reversed().thenComparingLong(job -> job.sequence));
+    // Queued and running jobs; finished ones are only on disk
+    private static final ConcurrentHashMap<String, Job> ACTIVE = new ConcurrentHashMap<>();
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+    private static final AtomicLong SUCCEEDED = new AtomicLong();
+    private static final AtomicLong FAILED = new AtomicLong();
+
+    static {
+        for (int i = 1; i <= WORKERS; i++) {
+            Thread worker = new Thread(ScanJobQueue::workLoop, "scan-job-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scan-job-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(ScanJobQueue::deleteExpired, 1, 60, TimeUnit.MINUTES);
+    }
+
+    private ScanJobQueue() {
+    }
+
+    // Queues the job and returns its id; throws ResolutionRejectedException when the queue is full.
+    // Synchronized so the size check and the add are one step; workers only ever shrink the queue.
+    public static synchronized String submit(Kind kind, MavenDependencyRequest dependency, Priority priority,
+                                DependencyTreeGenerator.ResolverMode mode) {
+        if (QUEUE.size() >= MAX_QUEUED) {
+            throw new ResolutionExecutor.ResolutionRejectedException("Job queue is full (" + MAX_QUEUED
+                    + " queued); retry later");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), kind, dependency, priority, mode, SEQUENCE.incrementAndGet());
+        ACTIVE.put(job.id, job);
+        QUEUE.add(job);
+        return job.id;
+    }
+
+    // Status and progress without the result; null for unknown or expired ids
+    public static Map<String, Object> status(String id) throws IOException {
+        Map<String, Object> job = find(id);
+        if (job != null) {
+            job.remove("result");
+        }
+        return job;
+    }
+
+    // Full record including the result once the job has finished; null for unknown ids
+    public static Map<String, Object> find(String id) throws IOException {
+        if (!JOB_ID.matcher(id).matches()) {
+            return null;
+        }
+        Job active = ACTIVE.get(id);
+        if (active != null) {
+            return active.snapshot();
+        }
+        Path file = DIRECTORY.resolve(id + ".json");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stored = OBJECT_MAPPER.readValue(file.toFile(), LinkedHashMap.class);
+        return stored;
+    }
+
+    public static int queuedCount() {
+        return QUEUE.size();
+    }
+
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("workers", WORKERS);
+        stats.put("queued", QUEUE.size());
+        stats.put("running", RUNNING.get());
+        stats.put("maxQueued", MAX_QUEUED);
+        stats.put("succeeded", SUCCEEDED.get());
+        stats.put("failed", FAILED.get());
+        stats.put("directory", DIRECTORY.toString());
+        return stats;
+    }
+
+    private static void workLoop() {
+        while (true) {
+            Job job;
+            try {
+                job = QUEUE.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            job.start();
+            RUNNING.incrementAndGet();
+            try {
+                job.finish(Status.SUCCEEDED, execute(job), null);
+                SUCCEEDED.incrementAndGet();
+            } catch (Exception e) {
+                job.finish(Status.FAILED, null, e.getMessage() != null ? e.getMessage() : e.toString());
+                FAILED.incrementAndGet();
+            }
+            persist(job);
+            ACTIVE.remove(job.id);
+            RUNNING.decrementAndGet();
+        }
+    }
+
+    private static Object execute(Job job) throws Exception {
+        MavenDependencyRequest dependency = job.dependency;
+        if (job.kind == Kind.TREE) {
+            job.stage = "resolving";
+            DependencyGraph graph = withResolutionSlot(job, () -> DependencyTreeGenerator.generateGraph(
+                    dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion(),
+                    dependency.getExclusionsBlock(), job.mode));
+            Map<String, Object> tree = new LinkedHashMap<>();
+            tree.put("dependency", dependency.toString());
+            tree.put("nodes", graph.size());
+            tree.put("maxDepth", graph.maxDepth());
+            tree.put("tree", graph.render());
+            return tree;
+        }
+        // Lookups start while the tree is still being resolved
+        job.stage = "resolving and scanning";
+        return withResolutionSlot(job, () -> MavenVulnerabilityService.fetchVulnerabilities(dependency.getGroupId(),
+                dependency.getArtifactId(), dependency.getVersion(), dependency.getExclusionsBlock(), job.mode));
+    }
+
+    // A full resolution pool is back-pressure, not a failure: wait for a slot
+    private static <T> T withResolutionSlot(Job job, Callable<T> work) throws Exception {
+        String stage = job.stage;
+        long delayMs = 250;
+        while (true) {
+            try {
+                return work.call();
+            } catch (ResolutionExecutor.ResolutionRejectedException e) {
+                job.stage = "waiting for a resolution slot";
+                Thread.sleep(delayMs);
+                delayMs = Math.min(delayMs * 2, 5000);
+                job.stage = stage;
+            }
+        }
+    }
+
+    private static void persist(Job job) {
+        try {
+            Files.createDirectories(DIRECTORY);
+            Path temp = Files.createTempFile(DIRECTORY, "job", ".tmp");
+            OBJECT_MAPPER.writeValue(temp.toFile(), job.snapshot());
+            Files.move(temp, DIRECTORY.resolve(job.id + ".json"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Unable to persist job {}: {}", job.id, e.getMessage());
+        }
+    }
+
+    private static void deleteExpired() {
+        if (!Files.isDirectory(DIRECTORY)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(RETENTION_HOURS);
+        try (Stream<Path> files = Files.list(DIRECTORY)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".json")).forEach(file -> {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    LOG.warn("Unable to expire job {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            LOG.warn("Unable to list jobs in {}: {}", DIRECTORY, e.getMessage());
+        }
+    }
+
+    private static final class Job {
+        final String id;
+        final Kind kind;
+        final MavenDependencyRequest dependency;
+        final Priority priority;
+        final DependencyTreeGenerator.ResolverMode mode;
+        final long sequence;
+        final Instant submittedAt = Instant.now();
+        volatile Status status = Status.QUEUED;
+        volatile String stage = "queued";
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+        volatile Object result;
+
+        Job(String id, Kind kind, MavenDependencyRequest dependency, Priority priority,
+            DependencyTreeGenerator.ResolverMode mode, long sequence) {
+            this.id = id;
+            this.kind = kind;
+            this.dependency = dependency;
+            this.priority = priority;
+            this.mode = mode;
+            this.sequence = sequence;
+        }
+
+        void start() {
+            startedAt = Instant.now();
+            status = Status.RUNNING;
+        }
+
+        void finish(Status outcome, Object value, String failure) {
+            result = value;
+            error = failure;
+            finishedAt = Instant.now();
+            stage = outcome == Status.SUCCEEDED ? "done" : "failed";
+            status = outcome;
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("id", id);
+            snapshot.put("kind", kind.name().toLowerCase(Locale.ROOT));
+            snapshot.put("dependency", dependency.toString());
+            snapshot.put("priority", priority.name().toLowerCase(Locale.ROOT));
+            snapshot.put("status", status.name().toLowerCase(Locale.ROOT));
+            snapshot.put("stage", stage);
+            snapshot.put("submittedAt", submittedAt.toString());
+            if (startedAt != null) {
+                snapshot.put("startedAt", startedAt.toString());
+            }
+            if (finishedAt != null) {
+                snapshot.put("finishedAt", finishedAt.toString());
+                snapshot.put("elapsedMs", finishedAt.toEpochMilli() - startedAt.toEpochMilli());
+            }
+            if (error != null) {
+                snapshot.put("error", error);
+            }
+            if (result != null) {
+                snapshot.put("result", result);
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.hackthon.dependecy;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// One connection-pooled, non-blocking HTTP client for all outbound calls (OSS Index, npm
+// registry). Requests to the same host are capped at http.max-concurrent-per-host in flight;
+// extra requests wait in a queue without holding a thread.
+public class SharedHttpClient {
+
+    private static final int MAX_CONCURRENT_PER_HOST = AppSettings.getInt("http.max-concurrent-per-host", 8);
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(AppSettings.getLong("http.connect-timeout-seconds", 10)))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    private static final ConcurrentHashMap<String, HostLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    public static HttpClient client() {
+        return CLIENT;
+    }
+
+    public static <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        return limiterFor(request.uri()).submit(() -> CLIENT.sendAsync(request, handler));
+    }
+
+    private static HostLimiter limiterFor(URI uri) {
+        String host = uri.getScheme() + "://" + uri.getAuthority();
+        return LIMITERS.computeIfAbsent(host, key -> new HostLimiter(MAX_CONCURRENT_PER_HOST));
+    }
+
+    // Asynchronous counting semaphore: a task starts when a permit is free and hands the permit
+    // to the next queued task when its future completes.
+    private static final class HostLimiter {
+        private final AtomicInteger available;
+        private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+        HostLimiter(int permits) {
+            this.available = new AtomicInteger(permits);
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            waiting.add(() -> {
+                CompletableFuture<T> started;
+                try {
+                    started = task.get();
+                } catch (RuntimeException e) {
+                    started = CompletableFuture.failedFuture(e);
+                }
+                started.whenComplete((value, error) -> {
+                    release();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            });
+            drain();
+            return result;
+        }
+
+        private void release() {
+            available.incrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            while (!waiting.isEmpty()) {
+                int permits = available.get();
+                if (permits <= 0) {
+                    return;
+                }
+                if (!available.compareAndSet(permits, permits - 1)) {
+                    continue;
+                }
+                Runnable next = waiting.poll();
+                if (next == null) {
+                    available.incrementAndGet();
+                    continue;
+                }
+                next.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.hackthon.dependecy;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Collapses concurrent calls for the same key into one computation. The first caller for a key
+// starts the task on a thread of its own; it and every caller that arrives while the task is
+// running wait for it and get the same result or the same exception. A caller that is
+// interrupted stops waiting without touching the computation, which is only cancelled once no
+// caller is left waiting for it. Nothing is kept once the task finishes, so this only removes
+// duplicate work that overlaps in time; remembering results is the caches' job.
+public final class SingleFlight<K, V> {
+
+    private final String name;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+
+    public SingleFlight(String name) {
+        this.name = name;
+        // One thread per distinct key in flight; the work behind them is bounded elsewhere
+        this.executor = VirtualThreads.isEnabled()
+                ? VirtualThreads.newExecutor(name, 1)
+                : Executors.newCachedThreadPool(VirtualThreads.daemonThreads(name));
+    }
+
+    // Runs task, or waits for the identical one already running. ran is told whether this caller
+    // started the work, so a follower can replay anything the leader streamed while computing.
+    public V run(K key, Callable<V> task, boolean[] ran) throws IOException, InterruptedException {
+        Flight<V> created = new Flight<>();
+        Flight<V> flight = inFlight.compute(key, (k, current) -> current != null && current.join() ? current : created);
+        if (flight != created) {
+            shared.incrementAndGet();
+            ran[0] = false;
+            return await(key, flight);
+        }
+        executed.incrementAndGet();
+        ran[0] = true;
+        try {
+            created.start(executor.submit(() -> {
+                // Leaves the map before completing, so a caller that arrives once the result is
+                // out starts afresh instead of being handed a finished result
+                try {
+                    V value = task.call();
+                    inFlight.remove(key, created);
+                    created.result.complete(value);
+                } catch (Throwable e) {
+                    // Errors too, or waiting callers would wait forever
+                    inFlight.remove(key, created);
+                    created.result.completeExceptionally(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.result.completeExceptionally(e);
+        }
+        return await(key, created);
+    }
+
+    public V run(K key, Callable<V> task) throws IOException, InterruptedException {
+        return run(key, task, new boolean[1]);
+    }
+
+    public Map<String, Object> stats() {
+        long executedCount = executed.get();
+        long sharedCount = shared.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("inFlight", inFlight.size());
+        stats.put("executed", executedCount);
+        stats.put("shared", sharedCount);
+        stats.put("abandoned", abandoned.get());
+        stats.put("sharedRatio", executedCount + sharedCount == 0 ? 0.0 : (double) sharedCount / (executedCount + sharedCount));
+        return stats;
+    }
+
+    private V await(K key, Flight<V> flight) throws IOException, InterruptedException {
+        try {
+            return flight.result.get();
+        } catch (InterruptedException e) {
+            if (flight.leave()) {
+                // Counted before the cancel, so stats never show the flight gone but not abandoned
+                inFlight.remove(key, flight);
+                abandoned.incrementAndGet();
+                flight.cancel();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // The computation was interrupted, not this caller; report it as a failed resolution
+            if (cause instanceof InterruptedException) {
+                throw new IOException("Shared resolution was interrupted");
+            }
+            throw rethrow(cause);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) throws IOException, InterruptedException {
+        if (cause instanceof IOException io) {
+            throw io;
+        }
+        if (cause instanceof InterruptedException interrupted) {
+            throw interrupted;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new IOException(cause);
+    }
+
+    // One shared computation and the callers still waiting for it
+    private static final class Flight<V> {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        private int waiting = 1;
+        private Future<?> work;
+
+        // False once the last caller has left; a new caller then starts a fresh computation
+        synchronized boolean join() {
+            if (waiting == 0) {
+                return false;
+            }
+            waiting++;
+            return true;
+        }
+
+        synchronized void start(Future<?> work) {
+            this.work = work;
+            if (waiting == 0) {
+                work.cancel(true);
+            }
+        }
+
+        // Called by a caller that stops waiting; true if it was the last one and the
+        // computation, still running, should be cancelled
+        synchronized boolean leave() {
+            return --waiting == 0 && !result.isDone();
+        }
+
+        synchronized void cancel() {
+            if (work != null) {
+                work.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.hackthon.dependecy;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Answers "what changes if this dependency moves from one version (or exclusion set) to
+ * another": the structural diff of the two resolved trees and the vulnerability exposure the
+ * change introduces or removes.
+ *
+ * Both trees go through the normal generateGraph path, so they are served from the tree cache
+ * when possible, and they resolve concurrently: with the subprocess resolver the two Maven runs
+ * overlap, and with the embedded resolver the two sides share every POM model either loads.
+ * Coordinates present in both trees are looked up once; the report cache and the OSS Index
+ * batcher then only see each distinct coordinate a single time.
+ */
+public final class UpgradeImpactAnalyzer {
+
+    // Waits on the "to" side while the caller resolves "from"; the resolutions themselves stay
+    // bounded by ResolutionExecutor
+    private static final ExecutorService SIDES = VirtualThreads.isEnabled()
+            ? VirtualThreads.newExecutor("upgrade-side", 1)
+            : Executors.newCachedThreadPool(VirtualThreads.daemonThreads("upgrade-side"));
+
+    private UpgradeImpactAnalyzer() {
+    }
+
+    public static Map<String, Object> analyze(MavenDependencyRequest from, MavenDependencyRequest to,
+                                              DependencyTreeGenerator.ResolverMode mode, boolean scanVulnerabilities)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Future<DependencyGraph> pendingAfter = SIDES.submit(() -> DependencyTreeGenerator.generateGraph(to.getGroupId(),
+                to.getArtifactId(), to.getVersion(), to.getExclusionsBlock(), mode));
+        DependencyGraph before;
+        DependencyGraph after;
+        try {
+            try {
+                before = DependencyTreeGenerator.generateGraph(from.getGroupId(), from.getArtifactId(),
+                        from.getVersion(), from.getExclusionsBlock(), mode);
+            } catch (IOException e) {
+                throw sideFailure("from", e);
+            }
+            after = pendingAfter.get();
+        } catch (ExecutionException e) {
+            throw sideFailure("to", e.getCause());
+        } finally {
+            // Stops waiting for the other side if this one failed; its resolution carries on only
+            // while another request is sharing it. No-op once it is done
+            pendingAfter.cancel(true);
+        }
+
+        Map<String, Integer> beforeNodes = nodesByKey(before);
+        Map<String, Integer> afterNodes = nodesByKey(after);
+        List<Map<String, Object>> added = new ArrayList<>();
+        List<Map<String, Object>> removed = new ArrayList<>();
+        List<Map<String, Object>> changed = new ArrayList<>();
+        int unchanged = 0;
+        for (Map.Entry<String, Integer> entry : afterNodes.entrySet()) {
+            int node = entry.getValue();
+            Integer previous = beforeNodes.get(entry.getKey());
+            if (previous == null) {
+                added.add(describe(after, node));
+            } else if (!before.version(previous).equals(after.version(node))
+                    || !Objects.equals(before.scope(previous), after.scope(node))) {
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("artifact", entry.getKey());
+                change.put("fromVersion", before.version(previous));
+                change.put("toVersion", after.version(node));
+                if (!Objects.equals(before.scope(previous), after.scope(node))) {
+                    change.put("fromScope", before.scope(previous));
+                    change.put("toScope", after.scope(node));
+                }
+                change.put("path", path(after, node));
+                changed.add(change);
+            } else {
+                unchanged++;
+            }
+        }
+        for (Map.Entry<String, Integer> entry : beforeNodes.entrySet()) {
+            if (!afterNodes.containsKey(entry.getKey())) {
+                removed.add(describe(before, entry.getValue()));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from.toString());
+        result.put("to", to.toString());
+        List<String> fromExclusions = DependencyTreeGenerator.parseExclusions(from.getExclusionsBlock());
+        List<String> toExclusions = DependencyTreeGenerator.parseExclusions(to.getExclusionsBlock());
+        if (!fromExclusions.isEmpty() || !toExclusions.isEmpty()) {
+            result.put("fromExclusions", fromExclusions);
+            result.put("toExclusions", toExclusions);
+        }
+        result.put("fromNodes", before.size());
+        result.put("toNodes", after.size());
+        result.put("added", added);
+        result.put("removed", removed);
+        result.put("changed", changed);
+        result.put("unchanged", unchanged);
+        if (scanVulnerabilities) {
+            result.put("vulnerabilities", exposure(before, after));
+        }
+        result.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    // Names the side that failed; rejections and interrupts pass through unchanged so callers
+    // still answer them with 503 or stop
+    private static IOException sideFailure(String side, Throwable cause) throws InterruptedException {
+        if (cause instanceof IOException io) {
+            return new IOException("Resolving <" + side + "> failed: " + io.getMessage(), io);
+        }
+        if (cause instanceof InterruptedException interrupted) {
+            throw interrupted;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException("Resolving <" + side + "> failed: " + cause, cause);
+    }
+
+    // Vulnerabilities reachable only after the change, only before it, and in both
+    private static Map<String, Object> exposure(DependencyGraph before, DependencyGraph after) {
+        Set<String> beforeUrls = new LinkedHashSet<>(before.packageUrls());
+        Set<String> afterUrls = new LinkedHashSet<>(after.packageUrls());
+        Set<String> union = new LinkedHashSet<>(afterUrls);
+        union.addAll(beforeUrls);
+
+        Map<String, ComponentReport> reports = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+        for (ComponentReport report : OssIndexClient.componentReports(new ArrayList<>(union))) {
+            if (report.failed()) {
+                errors.add(report.error());
+            } else {
+                reports.put(report.coordinates(), report);
+            }
+        }
+
+        Map<String, Map<String, Object>> beforeVulnerabilities = vulnerabilities(beforeUrls, reports);
+        Map<String, Map<String, Object>> afterVulnerabilities = vulnerabilities(afterUrls, reports);
+        List<Map<String, Object>> introduced = new ArrayList<>();
+        List<Map<String, Object>> fixed = new ArrayList<>();
+        int remaining = 0;
+        for (Map.Entry<String, Map<String, Object>> entry : afterVulnerabilities.entrySet()) {
+            if (beforeVulnerabilities.containsKey(entry.getKey())) {
+                remaining++;
+            } else {
+                introduced.add(entry.getValue());
+            }
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : beforeVulnerabilities.entrySet()) {
+            if (!afterVulnerabilities.containsKey(entry.getKey())) {
+                fixed.add(entry.getValue());
+            }
+        }
+
+        Map<String, Object> exposure = new LinkedHashMap<>();
+        exposure.put("coordinatesChecked", union.size());
+        exposure.put("sharedCoordinates", beforeUrls.stream().filter(afterUrls::contains).count());
+        exposure.put("fromTotal", beforeVulnerabilities.size());
+        exposure.put("toTotal", afterVulnerabilities.size());
+        exposure.put("introduced", introduced);
+        exposure.put("fixed", fixed);
+        exposure.put("remaining", remaining);
+        if (!errors.isEmpty()) {
+            exposure.put("errors", errors);
+        }
+        return exposure;
+    }
+
+    // Vulnerability id -> summary with the affected coordinates of one tree
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> vulnerabilities(Set<String> urls,
+                                                                    Map<String, ComponentReport> reports) {
+        Map<String, Map<String, Object>> byId = new TreeMap<>();
+        for (String url : urls) {
+            ComponentReport report = reports.get(url);
+            if (report == null || !report.hasVulnerabilities()) {
+                continue;
+            }
+            for (ComponentReport.Vulnerability vulnerability : report.vulnerabilities()) {
+                if (vulnerability.id() == null) {
+                    continue;
+                }
+                Map<String, Object> summary = byId.computeIfAbsent(vulnerability.id(), id -> {
+                    Map<String, Object> created = new LinkedHashMap<>();
+                    created.put("id", id);
+                    created.put("title", vulnerability.title());
+                    created.put("cvssScore", vulnerability.cvssScore());
+                    created.put("coordinates", new ArrayList<String>());
+                    return created;
+                });
+                ((List<String>) summary.get("coordinates")).add(url);
+            }
+        }
+        return byId;
+    }
+
+    // Mediation leaves one node per artifact; keep the shallowest if a tree repeats one
+    private static Map<String, Integer> nodesByKey(DependencyGraph graph) {
+        Map<String, Integer> nodes = new LinkedHashMap<>();
+        for (int node = 0; node < graph.size(); node++) {
+            String classifier = graph.classifier(node);
+            nodes.putIfAbsent(graph.key(node) + ":" + graph.type(node) + (classifier != null ? ":" + classifier : ""), node);
+        }
+        return nodes;
+    }
+
+    private static Map<String, Object> describe(DependencyGraph graph, int node) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("coordinates", graph.coordinates(node));
+        description.put("depth", graph.depth(node));
+        description.put("path", path(graph, node));
+        return description;
+    }
+
+    // groupId:artifactId of every node from the first level down to this one
+    private static List<String> path(DependencyGraph graph, int node) {
+        LinkedList<String> path = new LinkedList<>();
+        for (int current = node; current >= 0; current = graph.parent(current)) {
+            path.addFirst(graph.key(current));
+        }
+        return path;
+    }
+}
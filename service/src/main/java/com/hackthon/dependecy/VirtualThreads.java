@@ -0,0 +1,62 @@
+package com.hackthon.dependecy;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Thread-per-task executors on virtual threads when the runtime has them (Java 21+), looked
+// up reflectively so the service still builds and runs on Java 17. Without virtual threads the
+// fallback is a fixed pool of daemon platform threads, so callers must size fallbackThreads to
+// the blocking concurrency they actually need.
+public final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_EXECUTOR = lookup();
+    private static final boolean REQUESTED = AppSettings.get("execution.mode", "platform").equalsIgnoreCase("virtual");
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isAvailable() {
+        return NEW_VIRTUAL_EXECUTOR != null;
+    }
+
+    // execution.mode=virtual on a runtime that supports it: request handling and the blocking
+    // work behind it run on virtual threads, and concurrency is bounded by semaphores only
+    public static boolean isEnabled() {
+        return REQUESTED && isAvailable();
+    }
+
+    public static boolean isRequested() {
+        return REQUESTED;
+    }
+
+    public static ExecutorService newExecutor(String name, int fallbackThreads) {
+        if (NEW_VIRTUAL_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        return Executors.newFixedThreadPool(Math.max(1, fallbackThreads), daemonThreads(name));
+    }
+
+    static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Method lookup() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,592 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Local copy of the OSV advisory database, used to match package URLs without calling OSS Index.
+ *
+ * An OSV dump (a directory of advisory JSON files or the per-ecosystem all.zip from osv.dev)
+ * is compiled into a single binary index at vulnerability.db.path, which is memory-mapped
+ * for lookups. Only the Maven and npm ecosystems are kept. The file holds:
+ *
+ *   header      magic, format, counts and section offsets
+ *   affected    per affected range: advisory number, events sorted by version, explicit versions
+ *   packages    fixed 12-byte records sorted by "ecosystem:name", pointing into affected
+ *   advisories  fixed 24-byte records: id, summary, reference, CVE, CVSS vector and score
+ *   strings     length-prefixed UTF-8, shared by all sections and referenced by offset
+ *
+ * A lookup is a binary search over the package records followed by evaluating that package's
+ * ranges with the ecosystem's version ordering (MavenVersions or NpmVersions), so it costs a
+ * few microseconds and touches only the pages it needs.
+ *
+ * vulnerability.db.mode picks the behaviour: "local-first" (default) answers from the index
+ * for ecosystems it holds and leaves the rest to OSS Index, "local-only" never goes remote,
+ * and "remote" ignores the index. If vulnerability.db.source is set, the index is (re)built
+ * from it at first use whenever the source is newer than the index.
+ */
+public class VulnerabilityDatabase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VulnerabilityDatabase.class);
+
+    private static final int MAGIC = 0x4F535631; // "OSV1"
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int PACKAGE_RECORD = 12;
+    private static final int ADVISORY_RECORD = 24;
+    private static final byte INTRODUCED = 0;
+    private static final byte FIXED = 1;
+    private static final byte LAST_AFFECTED = 2;
+    private static final List<String> ECOSYSTEMS = List.of("Maven", "npm");
+
+    private static final Path INDEX_PATH = Path.of(AppSettings.get("vulnerability.db.path",
+            System.getProperty("user.home") + "/.dependency-tree/osv.idx"));
+    private static final String SOURCE = AppSettings.get("vulnerability.db.source", null);
+    private static final String MODE = AppSettings.get("vulnerability.db.mode", "local-first");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final AtomicLong LOOKUPS = new AtomicLong();
+    private static final AtomicLong MATCHES = new AtomicLong();
+    private static volatile Index index;
+    private static volatile boolean opened;
+
+    public static boolean isLocalOnly() {
+        return MODE.equals("local-only");
+    }
+
+    // Report in OSS Index's component-report shape, or null when the index can't answer
+    public static ComponentReport componentReport(String packageUrl) {
+        if (MODE.equals("remote")) {
+            return null;
+        }
+        Index current = open();
+        Coordinate coordinate = Coordinate.parse(packageUrl);
+        if (current == null || coordinate == null || !current.ecosystems.contains(coordinate.ecosystem)) {
+            return null;
+        }
+        LOOKUPS.incrementAndGet();
+        List<ComponentReport.Vulnerability> vulnerabilities = current.match(coordinate);
+        if (!vulnerabilities.isEmpty()) {
+            MATCHES.incrementAndGet();
+        }
+        return new ComponentReport(packageUrl, "Matched against the local OSV database",
+                "https://osv.dev/list?ecosystem=" + coordinate.ecosystem + "&q=" + coordinate.name,
+                vulnerabilities, "osv-local", null, null);
+    }
+
+    // Rebuilds the index from vulnerability.db.source (if set) and maps the new file
+    public static synchronized Map<String, Object> reload() throws IOException {
+        if (SOURCE != null) {
+            build(Path.of(SOURCE), INDEX_PATH);
+        }
+        Index previous = index;
+        index = Files.isRegularFile(INDEX_PATH) ? Index.map(INDEX_PATH) : null;
+        opened = true;
+        if (previous != null) {
+            previous.close();
+        }
+        return stats();
+    }
+
+    // Answers lookups from the given index file instead of vulnerability.db.path
+    static synchronized void useIndex(Path indexFile) throws IOException {
+        Index previous = index;
+        index = Index.map(indexFile);
+        opened = true;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    public static Map<String, Object> stats() {
+        Index current = open();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", MODE);
+        stats.put("path", INDEX_PATH.toString());
+        stats.put("loaded", current != null);
+        if (current != null) {
+            stats.put("ecosystems", current.ecosystems);
+            stats.put("packages", current.packageCount);
+            stats.put("advisories", current.advisoryCount);
+            stats.put("bytes", current.size);
+            stats.put("builtAt", new Date(current.builtAt).toInstant().toString());
+        }
+        stats.put("lookups", LOOKUPS.get());
+        stats.put("matches", MATCHES.get());
+        return stats;
+    }
+
+    private static Index open() {
+        if (opened) {
+            return index;
+        }
+        synchronized (VulnerabilityDatabase.class) {
+            if (!opened) {
+                try {
+                    if (SOURCE != null && !MODE.equals("remote") && isStale(Path.of(SOURCE), INDEX_PATH)) {
+                        build(Path.of(SOURCE), INDEX_PATH);
+                    }
+                    index = Files.isRegularFile(INDEX_PATH) ? Index.map(INDEX_PATH) : null;
+                } catch (IOException | RuntimeException e) {
+                    LOG.warn("Local vulnerability database unavailable: {}", e.getMessage());
+                    index = null;
+                }
+                opened = true;
+            }
+            return index;
+        }
+    }
+
+    private static boolean isStale(Path source, Path indexFile) throws IOException {
+        return !Files.exists(indexFile)
+                || Files.getLastModifiedTime(source).compareTo(Files.getLastModifiedTime(indexFile)) > 0;
+    }
+
+
+    private record Coordinate(String ecosystem, String name, String version) {
+        String key() {
+            return ecosystem + ":" + name;
+        }
+
+        // pkg:maven/group/artifact@version and pkg:npm/name@version or pkg:npm/@scope/name@version
+        static Coordinate parse(String packageUrl) {
+            if (packageUrl == null || !packageUrl.startsWith("pkg:")) {
+                return null;
+            }
+            String rest = URLDecoder.decode(packageUrl.substring(4), StandardCharsets.UTF_8);
+            int query = rest.indexOf('?');
+            if (query >= 0) {
+                rest = rest.substring(0, query);
+            }
+            int slash = rest.indexOf('/');
+            int at = rest.lastIndexOf('@');
+            if (slash < 0 || at <= slash + 1) {
+                return null;
+            }
+            String type = rest.substring(0, slash);
+            String path = rest.substring(slash + 1, at);
+            String version = rest.substring(at + 1);
+            if (type.equals("maven")) {
+                int separator = path.lastIndexOf('/');
+                return separator < 0 ? null
+                        : new Coordinate("Maven", path.substring(0, separator) + ":" + path.substring(separator + 1), version);
+            }
+            return type.equals("npm") ? new Coordinate("npm", path, version) : null;
+        }
+    }
+
+    private static int compareVersions(String ecosystem, String left, String right) {
+        return ecosystem.equals("Maven") ? MavenVersions.compare(left, right) : NpmVersions.compare(left, right);
+    }
+
+
+    private static final class Index implements Closeable {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final long size;
+        private final int packageCount;
+        private final int advisoryCount;
+        private final int packagesOffset;
+        private final int advisoriesOffset;
+        private final long builtAt;
+        private final Set<String> ecosystems = new TreeSet<>();
+
+        private Index(Path path, FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+                throw new IOException("Not a vulnerability index: " + path);
+            }
+            this.packageCount = buffer.getInt(8);
+            this.advisoryCount = buffer.getInt(12);
+            this.packagesOffset = buffer.getInt(16);
+            this.advisoriesOffset = buffer.getInt(20);
+            this.builtAt = buffer.getLong(28);
+            for (int i = 0; i < packageCount; i++) {
+                String key = string(buffer.getInt(packagesOffset + i * PACKAGE_RECORD));
+                ecosystems.add(key.substring(0, key.indexOf(':')));
+            }
+        }
+
+        static Index map(Path path) throws IOException {
+            return new Index(path, FileChannel.open(path, StandardOpenOption.READ));
+        }
+
+        List<ComponentReport.Vulnerability> match(Coordinate coordinate) {
+            int record = find(coordinate.key());
+            if (record < 0) {
+                return List.of();
+            }
+            int position = buffer.getInt(record + 4);
+            int count = buffer.getInt(record + 8);
+            Set<Integer> matched = new LinkedHashSet<>();
+            for (int i = 0; i < count; i++) {
+                int advisory = buffer.getInt(position);
+                int eventCount = buffer.getShort(position + 4);
+                position += 6;
+                boolean affected = false;
+                for (int e = 0; e < eventCount; e++, position += 5) {
+                    byte type = buffer.get(position);
+                    String bound = string(buffer.getInt(position + 1));
+                    int order = bound.equals("0") && type == INTRODUCED ? 1
+                            : compareVersions(coordinate.ecosystem, coordinate.version, bound);
+                    if (type == INTRODUCED && order >= 0) {
+                        affected = true;
+                    } else if (type == FIXED && order >= 0) {
+                        affected = false;
+                    } else if (type == LAST_AFFECTED && order > 0) {
+                        affected = false;
+                    }
+                }
+                int explicitCount = buffer.getInt(position);
+                position += 4;
+                for (int v = 0; v < explicitCount; v++, position += 4) {
+                    if (!affected && string(buffer.getInt(position)).equals(coordinate.version)) {
+                        affected = true;
+                    }
+                }
+                if (affected) {
+                    matched.add(advisory);
+                }
+            }
+            List<ComponentReport.Vulnerability> vulnerabilities = new ArrayList<>();
+            for (int advisory : matched) {
+                vulnerabilities.add(advisory(advisory));
+            }
+            return vulnerabilities;
+        }
+
+        private int find(String key) {
+            int low = 0;
+            int high = packageCount - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int record = packagesOffset + middle * PACKAGE_RECORD;
+                int order = string(buffer.getInt(record)).compareTo(key);
+                if (order == 0) {
+                    return record;
+                }
+                if (order < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return -1;
+        }
+
+        // Same fields as an OSS Index vulnerability entry
+        private ComponentReport.Vulnerability advisory(int advisory) {
+            int record = advisoriesOffset + advisory * ADVISORY_RECORD;
+            String id = string(buffer.getInt(record));
+            float score = buffer.getFloat(record + 20);
+            Double cvssScore = Float.isNaN(score) ? null : Math.round(score * 10) / 10.0; // scores have one decimal
+            return new ComponentReport.Vulnerability(id, id, string(buffer.getInt(record + 4)), null, cvssScore,
+                    string(buffer.getInt(record + 16)), null, string(buffer.getInt(record + 12)),
+                    string(buffer.getInt(record + 8)), null);
+        }
+
+        private String string(int offset) {
+            if (offset < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[buffer.getInt(offset)];
+            buffer.get(offset + 4, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close(); // the mapping itself is released when the buffer is collected
+        }
+    }
+
+
+    private record Range(int advisory, List<Map.Entry<Byte, String>> events, List<String> versions) {
+    }
+
+    // Compiles an OSV directory or zip into the binary index, replacing the target atomically
+    public static Map<String, Object> build(Path source, Path target) throws IOException {
+        List<String[]> advisories = new ArrayList<>();
+        Map<String, List<Range>> packages = new TreeMap<>();
+
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.walk(source)) {
+                for (Path file : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".json"))::iterator) {
+                    try (InputStream in = Files.newInputStream(file)) {
+                        ingest(in, advisories, packages);
+                    }
+                }
+            }
+        } else {
+            try (ZipFile zip = new ZipFile(source.toFile())) {
+                for (ZipEntry entry : Collections.list(zip.entries())) {
+                    if (!entry.isDirectory() && entry.getName().endsWith(".json")) {
+                        try (InputStream in = zip.getInputStream(entry)) {
+                            ingest(in, advisories, packages);
+                        }
+                    }
+                }
+            }
+        }
+
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, "osv-", ".tmp");
+        try {
+            write(temporary, source.toString(), advisories, packages);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("advisories", advisories.size());
+        summary.put("packages", packages.size());
+        summary.put("bytes", Files.size(target));
+        return summary;
+    }
+
+    private static void ingest(InputStream in, List<String[]> advisories, Map<String, List<Range>> packages) {
+        JsonNode advisory;
+        try {
+            advisory = OBJECT_MAPPER.readTree(in);
+        } catch (IOException e) {
+            return; // not an advisory; dumps sometimes carry other JSON files
+        }
+        if (advisory == null || !advisory.hasNonNull("id") || advisory.hasNonNull("withdrawn")) {
+            return;
+        }
+        int number = -1;
+        for (JsonNode affected : advisory.path("affected")) {
+            String ecosystem = affected.path("package").path("ecosystem").asText("");
+            String name = affected.path("package").path("name").asText("");
+            if (!ECOSYSTEMS.contains(ecosystem) || name.isEmpty()) {
+                continue;
+            }
+            if (number < 0) {
+                number = advisories.size();
+                advisories.add(describe(advisory));
+            }
+            List<Range> ranges = packages.computeIfAbsent(ecosystem + ":" + name, key -> new ArrayList<>());
+            for (JsonNode range : affected.path("ranges")) {
+                if (range.path("type").asText().equals("GIT")) {
+                    continue; // commit ranges can't be matched against a version
+                }
+                List<Map.Entry<Byte, String>> events = new ArrayList<>();
+                for (JsonNode event : range.path("events")) {
+                    if (event.has("introduced")) {
+                        events.add(Map.entry(INTRODUCED, event.get("introduced").asText()));
+                    } else if (event.has("fixed")) {
+                        events.add(Map.entry(FIXED, event.get("fixed").asText()));
+                    } else if (event.has("last_affected")) {
+                        events.add(Map.entry(LAST_AFFECTED, event.get("last_affected").asText()));
+                    }
+                }
+                // Evaluation walks events in version order; "introduced: 0" means from the start
+                events.sort((a, b) -> {
+                    boolean zeroA = a.getKey() == INTRODUCED && a.getValue().equals("0");
+                    boolean zeroB = b.getKey() == INTRODUCED && b.getValue().equals("0");
+                    if (zeroA || zeroB) {
+                        return zeroA == zeroB ? 0 : (zeroA ? -1 : 1);
+                    }
+                    int order = compareVersions(ecosystem, a.getValue(), b.getValue());
+                    return order != 0 ? order : Byte.compare(a.getKey(), b.getKey());
+                });
+                ranges.add(new Range(number, events, List.of()));
+            }
+            List<String> versions = new ArrayList<>();
+            affected.path("versions").forEach(version -> versions.add(version.asText()));
+            if (!versions.isEmpty()) {
+                ranges.add(new Range(number, List.of(), versions));
+            }
+        }
+    }
+
+    // id, summary, reference, CVE alias, CVSS v3 vector
+    private static String[] describe(JsonNode advisory) {
+        String id = advisory.get("id").asText();
+        String summary = advisory.path("summary").asText(null);
+        if (summary == null) {
+            String details = advisory.path("details").asText("");
+            summary = details.length() > 200 ? details.substring(0, 200) + "..." : details;
+        }
+        String cve = null;
+        for (JsonNode alias : advisory.path("aliases")) {
+            if (alias.asText().startsWith("CVE-")) {
+                cve = alias.asText();
+                break;
+            }
+        }
+        String vector = null;
+        for (JsonNode severity : advisory.path("severity")) {
+            if (severity.path("type").asText().equals("CVSS_V3")) {
+                vector = severity.path("score").asText(null);
+            }
+        }
+        return new String[]{id, summary, "https://osv.dev/vulnerability/" + id, cve, vector};
+    }
+
+    private static void write(Path file, String source, List<String[]> advisories, Map<String, List<Range>> packages)
+            throws IOException {
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        Map<String, Integer> stringOffsets = new HashMap<>();
+        ByteArrayOutputStream affectedBytes = new ByteArrayOutputStream();
+        DataOutputStream affected = new DataOutputStream(affectedBytes);
+
+        // Offsets are absolute, so the string section's position must be known up front:
+        // lay out affected first, then fixed-size packages and advisories, then strings
+        List<int[]> packageRecords = new ArrayList<>();
+        List<String> keys = new ArrayList<>(packages.keySet());
+        List<Object[]> pendingStrings = new ArrayList<>();
+        for (String key : keys) {
+            List<Range> ranges = packages.get(key);
+            packageRecords.add(new int[]{affected.size(), ranges.size()});
+            for (Range range : ranges) {
+                affected.writeInt(range.advisory());
+                affected.writeShort(range.events().size());
+                for (Map.Entry<Byte, String> event : range.events()) {
+                    affected.writeByte(event.getKey());
+                    pendingStrings.add(new Object[]{affected.size(), event.getValue()});
+                    affected.writeInt(0);
+                }
+                affected.writeInt(range.versions().size());
+                for (String version : range.versions()) {
+                    pendingStrings.add(new Object[]{affected.size(), version});
+                    affected.writeInt(0);
+                }
+            }
+        }
+        int affectedOffset = HEADER_SIZE;
+        int packagesOffset = affectedOffset + affected.size();
+        int advisoriesOffset = packagesOffset + keys.size() * PACKAGE_RECORD;
+        int stringsOffset = advisoriesOffset + advisories.size() * ADVISORY_RECORD;
+
+        ByteBuffer affectedSection = ByteBuffer.wrap(affectedBytes.toByteArray());
+        for (Object[] pending : pendingStrings) {
+            affectedSection.putInt((Integer) pending[0], intern((String) pending[1], strings, stringOffsets, stringsOffset));
+        }
+        ByteBuffer packageSection = ByteBuffer.allocate(keys.size() * PACKAGE_RECORD);
+        for (int i = 0; i < keys.size(); i++) {
+            packageSection.putInt(intern(keys.get(i), strings, stringOffsets, stringsOffset));
+            packageSection.putInt(affectedOffset + packageRecords.get(i)[0]);
+            packageSection.putInt(packageRecords.get(i)[1]);
+        }
+        ByteBuffer advisorySection = ByteBuffer.allocate(advisories.size() * ADVISORY_RECORD);
+        for (String[] advisory : advisories) {
+            for (int field = 0; field < 5; field++) {
+                advisorySection.putInt(intern(advisory[field], strings, stringOffsets, stringsOffset));
+            }
+            advisorySection.putFloat(advisory[4] == null ? Float.NaN : (float) Cvss.baseScore(advisory[4]));
+        }
+        int sourceRef = intern(source, strings, stringOffsets, stringsOffset);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(FORMAT).putInt(keys.size()).putInt(advisories.size())
+                .putInt(packagesOffset).putInt(advisoriesOffset).putInt(stringsOffset)
+                .putLong(System.currentTimeMillis()).putInt(sourceRef);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            out.write(header.array());
+            out.write(affectedSection.array());
+            out.write(packageSection.array());
+            out.write(advisorySection.array());
+            strings.writeTo(out);
+        }
+    }
+
+    private static int intern(String value, ByteArrayOutputStream strings, Map<String, Integer> offsets, int base) {
+        if (value == null) {
+            return -1;
+        }
+        return offsets.computeIfAbsent(value, key -> {
+            int offset = base + strings.size();
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            strings.write(bytes.length >>> 24);
+            strings.write(bytes.length >>> 16);
+            strings.write(bytes.length >>> 8);
+            strings.write(bytes.length);
+            strings.write(bytes, 0, bytes.length);
+            return offset;
+        });
+    }
+
+    // CVSS v3.x base score from a vector string; NaN when the vector can't be scored
+    static final class Cvss {
+        private static final Map<String, Double> ATTACK_VECTOR = Map.of("N", 0.85, "A", 0.62, "L", 0.55, "P", 0.2);
+        private static final Map<String, Double> ATTACK_COMPLEXITY = Map.of("L", 0.77, "H", 0.44);
+        private static final Map<String, Double> PRIVILEGES = Map.of("N", 0.85, "L", 0.62, "H", 0.27);
+        private static final Map<String, Double> PRIVILEGES_CHANGED = Map.of("N", 0.85, "L", 0.68, "H", 0.5);
+        private static final Map<String, Double> USER_INTERACTION = Map.of("N", 0.85, "R", 0.62);
+        private static final Map<String, Double> IMPACT = Map.of("H", 0.56, "L", 0.22, "N", 0.0);
+
+        static double baseScore(String vector) {
+            Map<String, String> metrics = new HashMap<>();
+            for (String part : vector.split("/")) {
+                int colon = part.indexOf(':');
+                if (colon > 0) {
+                    metrics.put(part.substring(0, colon), part.substring(colon + 1));
+                }
+            }
+            String scope = metrics.get("S");
+            if (!"U".equals(scope) && !"C".equals(scope)) {
+                return Double.NaN;
+            }
+            boolean changed = scope.equals("C");
+            double av = weight(ATTACK_VECTOR, metrics.get("AV"));
+            double ac = weight(ATTACK_COMPLEXITY, metrics.get("AC"));
+            double pr = weight(changed ? PRIVILEGES_CHANGED : PRIVILEGES, metrics.get("PR"));
+            double ui = weight(USER_INTERACTION, metrics.get("UI"));
+            double c = weight(IMPACT, metrics.get("C"));
+            double i = weight(IMPACT, metrics.get("I"));
+            double a = weight(IMPACT, metrics.get("A"));
+            if (Double.isNaN(av + ac + pr + ui + c + i + a)) {
+                return Double.NaN; // missing or unknown metric
+            }
+            double iss = 1 - (1 - c) * (1 - i) * (1 - a);
+            double impact = changed ? 7.52 * (iss - 0.029) - 3.25 * Math.pow(iss - 0.02, 15) : 6.42 * iss;
+            double exploitability = 8.22 * av * ac * pr * ui;
+            if (impact <= 0) {
+                return 0;
+            }
+            return roundUp(Math.min((changed ? 1.08 : 1) * (impact + exploitability), 10));
+        }
+
+        private static double weight(Map<String, Double> weights, String value) {
+            Double weight = value == null ? null : weights.get(value);
+            return weight == null ? Double.NaN : weight;
+        }
+
+        // CVSS 3.1 Roundup: smallest one-decimal number >= value, robust to float noise
+        private static double roundUp(double value) {
+            long scaled = Math.round(value * 100_000);
+            return scaled % 10_000 == 0 ? scaled / 100_000.0 : (Math.floor(scaled / 10_000.0) + 1) / 10.0;
+        }
+    }
+
+    // Usage: VulnerabilityDatabase <osv-dir-or-zip> [index-file]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: VulnerabilityDatabase <osv-dir-or-zip> [index-file]");
+            System.exit(2);
+        }
+        Path target = args.length > 1 ? Path.of(args[1]) : INDEX_PATH;
+        long start = System.currentTimeMillis();
+        Map<String, Object> summary = build(Path.of(args[0]), target);
+        System.out.println("Built " + target + " " + summary + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
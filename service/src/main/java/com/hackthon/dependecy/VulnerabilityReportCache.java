@@ -0,0 +1,107 @@
+package com.hackthon.dependecy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-purl cache of OSS Index component reports. Reports that list vulnerabilities live for
+// vulnerability.cache.ttl-minutes; clean reports (the common case) are negative results and
+// use their own, usually shorter, vulnerability.cache.negative-ttl-minutes so newly published
+// advisories show up sooner. Error responses are never cached. When the cache is full and
+// nothing has expired, the reports closest to expiring make room for new ones.
+public class VulnerabilityReportCache {
+
+    private static final long TTL_MILLIS = AppSettings.getLong("vulnerability.cache.ttl-minutes", 720) * 60_000;
+    private static final long NEGATIVE_TTL_MILLIS = AppSettings.getLong("vulnerability.cache.negative-ttl-minutes", 180) * 60_000;
+    private static volatile int maxEntries = AppSettings.getInt("vulnerability.cache.max-entries", 50_000);
+
+    private static final ConcurrentHashMap<String, Entry> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EXPIRED = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private record Entry(ComponentReport report, long expiresAt) {
+    }
+
+    // Empties the cache and bounds it at the given number of reports from now on
+    static synchronized void reset(int maxReports) {
+        maxEntries = maxReports;
+        CACHE.clear();
+    }
+
+    public static ComponentReport get(String coordinates) {
+        Entry entry = CACHE.get(coordinates);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            HITS.incrementAndGet();
+            return entry.report();
+        }
+        if (entry != null && CACHE.remove(coordinates, entry)) {
+            EXPIRED.incrementAndGet();
+        }
+        MISSES.incrementAndGet();
+        return null;
+    }
+
+    // Time until the cached report expires, 0 when there is none; not counted as a lookup
+    public static long remainingMillis(String coordinates) {
+        Entry entry = CACHE.get(coordinates);
+        return entry == null ? 0 : Math.max(0, entry.expiresAt() - System.currentTimeMillis());
+    }
+
+    public static void put(String coordinates, ComponentReport report) {
+        if (CACHE.size() >= maxEntries && !CACHE.containsKey(coordinates)) {
+            purgeExpired();
+            if (CACHE.size() >= maxEntries) {
+                evictSoonestExpiring();
+            }
+        }
+        long ttl = report.hasVulnerabilities() ? TTL_MILLIS : NEGATIVE_TTL_MILLIS;
+        CACHE.put(coordinates, new Entry(report, System.currentTimeMillis() + ttl));
+    }
+
+    public static Map<String, Object> stats() {
+        long hits = HITS.get();
+        long misses = MISSES.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("expired", EXPIRED.get());
+        stats.put("evictions", EVICTIONS.get());
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        stats.put("entries", CACHE.size());
+        return stats;
+    }
+
+    // Frees a tenth of the cache at once, so a full cache sorts its entries once per many
+    // inserts rather than on every one
+    private static synchronized void evictSoonestExpiring() {
+        if (CACHE.size() < maxEntries) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> entries = new ArrayList<>(CACHE.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().expiresAt()));
+        int excess = CACHE.size() - maxEntries + 1;
+        int count = Math.min(entries.size(), Math.max(excess, maxEntries / 10));
+        for (Map.Entry<String, Entry> entry : entries.subList(0, count)) {
+            if (CACHE.remove(entry.getKey(), entry.getValue())) {
+                EVICTIONS.incrementAndGet();
+            }
+        }
+    }
+
+    private static void purgeExpired() {
+        long now = System.currentTimeMillis();
+        CACHE.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().expiresAt() <= now;
+            if (expired) {
+                EXPIRED.incrementAndGet();
+            }
+            return expired;
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    private static final String TREE = """
+            +- org.example:lib:jar:2.0:compile
+            |  +- org.example:core:jar:3.0:compile
+            |  \\- (org.example:util:jar:1.0:compile - omitted for conflict with 1.1)
+            \\- org.example:util:jar:1.1:runtime
+            """;
+
+    @Test
+    void parsesWhatItRenders() {
+        DependencyGraph graph = DependencyGraph.parse(TREE);
+        assertTrue(graph.isComplete());
+        assertEquals(3, graph.size());
+        assertEquals(1, graph.omittedCount());
+        assertEquals(TREE, graph.render(true));
+    }
+
+    // Truncated or hand-edited output can skip levels; such lines have no parent to attach to
+    @Test
+    void linesDeeperThanTheirPredecessorsAreUnresolved() {
+        DependencyGraph graph = DependencyGraph.parse("""
+                +- org.example:lib:jar:2.0:compile
+                |  |  |  \\- org.example:orphan:jar:1.0:compile
+                |  |  |     \\- org.example:orphan-child:jar:1.0:compile
+                \\- org.example:util:jar:1.1:runtime
+                """);
+        assertFalse(graph.isComplete());
+        assertEquals(2, graph.size());
+        assertEquals(List.of(
+                "Tree line without a parent: |  |  |  \\- org.example:orphan:jar:1.0:compile",
+                "Tree line without a parent: |  |  |     \\- org.example:orphan-child:jar:1.0:compile"),
+                graph.unresolved());
+    }
+
+    @Test
+    void deepTreesGrowPastTheInitialDepth() {
+        StringBuilder tree = new StringBuilder();
+        for (int depth = 0; depth < 40; depth++) {
+            tree.append("   ".repeat(depth)).append("\\- org.example:level-").append(depth).append(":jar:1.0:compile\n");
+        }
+        DependencyGraph graph = DependencyGraph.parse(tree.toString());
+        assertTrue(graph.isComplete());
+        assertEquals(40, graph.size());
+        assertEquals(40, graph.maxDepth());
+        assertEquals(tree.toString(), graph.render());
+    }
+}
@@ -0,0 +1,74 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyTreeCacheTest {
+
+    private static final String TREE = """
+            org.example:app:jar:1.0
+            +- org.example:lib:jar:2.0:compile
+            |  \\- org.example:core:jar:3.0:compile
+            \\- org.example:util:jar:1.1:runtime
+            """;
+
+    @TempDir
+    static Path cacheDirectory;
+
+    // One tree in memory, so the second put pushes the first out to disk only
+    @BeforeAll
+    static void useOneEntryCache() {
+        DependencyTreeCache.useDirectory(cacheDirectory, 1);
+    }
+
+    @Test
+    void keysSeparateResolverModes() {
+        String subprocess = DependencyTreeCache.key(DependencyTreeGenerator.ResolverMode.SUBPROCESS,
+                "org.example", "app", "1.0", List.of("b:b", "a:a", "a:a"));
+        String embedded = DependencyTreeCache.key(DependencyTreeGenerator.ResolverMode.EMBEDDED,
+                "org.example", "app", "1.0", List.of("a:a", "b:b"));
+        assertNotEquals(subprocess, embedded);
+        assertEquals("subprocess|org.example:app:1.0|a:a,b:b", subprocess);
+        assertEquals("embedded|org.example:app:1.0|a:a,b:b", embedded);
+    }
+
+    @Test
+    void onlyCachesReleases() {
+        assertTrue(DependencyTreeCache.isCacheable("1.0"));
+        assertFalse(DependencyTreeCache.isCacheable("1.0-SNAPSHOT"));
+        assertFalse(DependencyTreeCache.isCacheable("[1.0,2.0)"));
+    }
+
+    @Test
+    void readsEvictedTreesBackFromDisk() {
+        String first = DependencyTreeCache.key(DependencyTreeGenerator.ResolverMode.SUBPROCESS, "org.example", "first", "1.0", List.of());
+        String second = DependencyTreeCache.key(DependencyTreeGenerator.ResolverMode.SUBPROCESS, "org.example", "second", "1.0", List.of());
+        DependencyGraph tree = DependencyGraph.parse(TREE);
+        DependencyTreeCache.put(first, tree);
+        DependencyTreeCache.put(second, tree);
+
+        long diskHits = (Long) DependencyTreeCache.stats().get("diskHits");
+        DependencyGraph fromDisk = DependencyTreeCache.get(first);
+        assertNotNull(fromDisk);
+        assertEquals(tree.render(true), fromDisk.render(true));
+        assertEquals(diskHits + 1, DependencyTreeCache.stats().get("diskHits"));
+
+        DependencyGraph byId = DependencyTreeCache.getById(DependencyTreeCache.id(second));
+        assertNotNull(byId);
+        assertEquals(tree.size(), byId.size());
+        assertNull(DependencyTreeCache.get(DependencyTreeCache.key(DependencyTreeGenerator.ResolverMode.EMBEDDED,
+                "org.example", "first", "1.0", List.of())));
+    }
+
+    @Test
+    void unknownIdsAreNotFound() {
+        assertNull(DependencyTreeCache.getById("../../etc/passwd"));
+        assertNull(DependencyTreeCache.getById(DependencyTreeCache.id("never|stored")));
+    }
+}
@@ -0,0 +1,83 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The subprocess resolver with FakeMaven standing in for mvn
+class DependencyTreeGeneratorTest {
+
+    private static final DependencyTreeGenerator.ResolverMode SUBPROCESS = DependencyTreeGenerator.ResolverMode.SUBPROCESS;
+
+    @TempDir
+    static Path cacheDirectory;
+
+    @BeforeAll
+    static void useFakeMaven() {
+        DependencyTreeCache.useDirectory(cacheDirectory, 1000);
+        DependencyTreeGenerator.useMavenExecutable(fakeMaven(0));
+    }
+
+    // FakeMaven on this test class path, failing the given fraction of runs
+    static String fakeMaven(double errorRate) {
+        return String.join(" ",
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Dfake-maven.startup-ms=0", "-Dfake-maven.nodes=20", "-Dfake-maven.error-rate=" + errorRate,
+                "-cp", System.getProperty("java.class.path"), FakeMaven.class.getName());
+    }
+
+    @Test
+    void servesRepeatsFromTheCache() throws Exception {
+        DependencyGraph first = DependencyTreeGenerator.generateGraph("org.example", "app", "1.0", null, SUBPROCESS);
+        assertTrue(first.size() > 1);
+        assertTrue(first.isComplete());
+        assertEquals("org.example", first.groupId(first.roots()[0]));
+
+        long memoryHits = (Long) DependencyTreeCache.stats().get("memoryHits");
+        assertSame(first, DependencyTreeGenerator.generateGraph("org.example", "app", "1.0", "", SUBPROCESS));
+        assertEquals(memoryHits + 1, DependencyTreeCache.stats().get("memoryHits"));
+    }
+
+    @Test
+    void exclusionsAreAPartOfTheKey() throws Exception {
+        DependencyGraph plain = DependencyTreeGenerator.generateGraph("org.example", "lib", "2.0", "", SUBPROCESS);
+        DependencyGraph excluding = DependencyTreeGenerator.generateGraph("org.example", "lib", "2.0",
+                "<exclusions><exclusion><groupId>org.other</groupId><artifactId>gone</artifactId></exclusion></exclusions>",
+                SUBPROCESS);
+        assertNotSame(plain, excluding);
+        assertSame(excluding, DependencyTreeGenerator.generateGraph("org.example", "lib", "2.0",
+                "<exclusions><exclusion><groupId>org.other</groupId><artifactId>gone</artifactId></exclusion></exclusions>",
+                SUBPROCESS));
+    }
+
+    @Test
+    void resolvesSnapshotsEveryTime() throws Exception {
+        DependencyGraph first = DependencyTreeGenerator.generateGraph("org.example", "app", "1.1-SNAPSHOT", "", SUBPROCESS);
+        DependencyGraph second = DependencyTreeGenerator.generateGraph("org.example", "app", "1.1-SNAPSHOT", "", SUBPROCESS);
+        assertNotSame(first, second);
+        assertEquals(first.render(true), second.render(true));
+    }
+
+    // A Maven run that fails must come back marked incomplete and never be cached
+    @Test
+    void failedRunsAreNotCached() throws Exception {
+        DependencyTreeGenerator.useMavenExecutable(fakeMaven(1));
+        try {
+            long misses = (Long) DependencyTreeCache.stats().get("misses");
+            DependencyGraph first = DependencyTreeGenerator.generateGraph("org.example", "failing", "1.0", "", SUBPROCESS);
+            assertFalse(first.isComplete());
+            assertEquals(List.of("mvn dependency:tree exited with status 1"), first.unresolved());
+
+            DependencyGraph second = DependencyTreeGenerator.generateGraph("org.example", "failing", "1.0", "", SUBPROCESS);
+            assertNotSame(first, second);
+            assertEquals(misses + 2, DependencyTreeCache.stats().get("misses"));
+        } finally {
+            DependencyTreeGenerator.useMavenExecutable(fakeMaven(0));
+        }
+    }
+}
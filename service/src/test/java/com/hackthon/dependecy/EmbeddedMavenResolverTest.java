@@ -0,0 +1,160 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Resolves against the POMs under src/test/resources/embedded-repository. The expected trees
+// are what mvn dependency:tree -Dverbose printed for the same dependencies on that repository.
+class EmbeddedMavenResolverTest {
+
+    @BeforeAll
+    static void useFixtureRepository() throws Exception {
+        File repository = new File(EmbeddedMavenResolverTest.class.getResource("/embedded-repository").toURI());
+        EmbeddedMavenResolver.useRepository(repository.getPath(), true);
+    }
+
+    // Nearest wins (core, managed), an exclusion on a first-level dependency and one inside a
+    // transitive POM, test/provided/optional dependencies left out, runtime scope passed down
+    @Test
+    void matchesMavensTree() throws Exception {
+        EmbeddedMavenResolver.PomDependency libB = dependency("lib-b", "1.0");
+        libB.exclusions.add("org.fixture:excluded");
+
+        DependencyGraph graph = EmbeddedMavenResolver.resolveGraph(List.of(dependency("lib-a", "1.0"), libB), List.of());
+
+        assertTrue(graph.isComplete(), graph.unresolved().toString());
+        assertEquals(expectedTree("lib-a-lib-b.tree.txt").render(true), graph.render(true));
+    }
+
+    @Test
+    void rootManagementOverridesTransitiveVersions() {
+        EmbeddedMavenResolver.PomDependency leaf = dependency("leaf", "2.0");
+
+        DependencyGraph graph = EmbeddedMavenResolver.resolveGraph(List.of(dependency("lib-a", "1.0")), List.of(leaf));
+
+        assertEquals("""
+                \\- org.fixture:lib-a:jar:1.0:compile
+                   +- org.fixture:core:jar:2.0:compile
+                   +- org.fixture:managed:jar:1.5:compile
+                   \\- org.fixture:leaf:jar:2.0:compile
+                """, graph.render());
+    }
+
+    // Maven refuses cyclic BOM imports; the resolver skips the repeated import and keeps what
+    // the rest of the chain manages
+    @Test
+    void cyclicBomImportsTerminate() {
+        EmbeddedMavenResolver.PomModel model = EmbeddedMavenResolver.effectiveModel("org.fixture", "uses-cycle", "1.0");
+
+        assertNotNull(model);
+        assertEquals("managed", model.dependencies.get(0).artifactId);
+        assertEquals("1.5", model.dependencies.get(0).version);
+        assertEquals("leaf", model.dependencies.get(1).artifactId);
+        assertEquals("2.0", model.dependencies.get(1).version);
+    }
+
+    @Test
+    void interpolatesInheritedAndProjectProperties() {
+        EmbeddedMavenResolver.PomModel model = EmbeddedMavenResolver.effectiveModel("org.fixture", "lib-a", "1.0");
+
+        assertNotNull(model);
+        assertEquals("org.fixture", model.groupId);
+        assertEquals("2.0", model.dependencies.get(0).version);
+        assertEquals("1.5", model.dependencies.get(1).version);
+        assertEquals("1.0", model.dependencies.get(2).version);
+    }
+
+    @Test
+    void interpolatesNestedReferencesAndLeavesUnknownOnes() {
+        Map<String, String> properties = Map.of("a", "${b}-x", "b", "1.2");
+        assertEquals("1.2-x", EmbeddedMavenResolver.interpolate("${a}", properties));
+        assertEquals("${missing.property}", EmbeddedMavenResolver.interpolate("${missing.property}", properties));
+    }
+
+    // An uploaded project inherits from the repository's parent and its imported BOM, but only
+    // its own properties are interpolated: JVM system properties never leak into the result
+    @Test
+    void uploadedPomsInterpolateOnlyTheirOwnProperties() throws Exception {
+        String pom = """
+                <project>
+                    <parent>
+                        <groupId>org.fixture</groupId>
+                        <artifactId>parent</artifactId>
+                        <version>1.0</version>
+                    </parent>
+                    <artifactId>uploaded</artifactId>
+                    <properties>
+                        <leaf.version>2.0</leaf.version>
+                    </properties>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.fixture</groupId>
+                            <artifactId>core</artifactId>
+                            <version>${core.version}</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.fixture</groupId>
+                            <artifactId>managed</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.fixture</groupId>
+                            <artifactId>leaf</artifactId>
+                            <version>${leaf.version}</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.fixture</groupId>
+                            <artifactId>rt</artifactId>
+                            <version>${user.home}</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """;
+
+        EmbeddedMavenResolver.PomModel model = EmbeddedMavenResolver.projectModel(
+                EmbeddedMavenResolver.parsePom(pom.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("1.0", model.version);
+        assertEquals("2.0", model.dependencies.get(0).version);
+        assertEquals("1.5", model.dependencies.get(1).version);
+        assertEquals("2.0", model.dependencies.get(2).version);
+        assertEquals("${user.home}", model.dependencies.get(3).version);
+    }
+
+    @Test
+    void rangesPickTheHighestVersionInTheRepository() {
+        assertEquals("\\- org.fixture:leaf:jar:1.0:compile\n",
+                EmbeddedMavenResolver.resolveGraph("org.fixture", "leaf", "[1.0,2.0)", List.of()).render());
+        assertEquals("\\- org.fixture:leaf:jar:2.0:compile\n",
+                EmbeddedMavenResolver.resolveGraph("org.fixture", "leaf", "[1.0,)", List.of()).render());
+    }
+
+    @Test
+    void missingPomsAreReportedUnresolved() {
+        DependencyGraph graph = EmbeddedMavenResolver.resolveGraph("org.fixture", "absent", "1.0", List.of());
+
+        assertFalse(graph.isComplete());
+        assertEquals(List.of("org.fixture:absent:1.0 (POM not found)"), graph.unresolved());
+    }
+
+    private static EmbeddedMavenResolver.PomDependency dependency(String artifactId, String version) {
+        EmbeddedMavenResolver.PomDependency dependency = new EmbeddedMavenResolver.PomDependency();
+        dependency.groupId = "org.fixture";
+        dependency.artifactId = artifactId;
+        dependency.version = version;
+        return dependency;
+    }
+
+    private static DependencyGraph expectedTree(String name) throws Exception {
+        try (InputStream in = EmbeddedMavenResolverTest.class.getResourceAsStream("/embedded-repository/" + name)) {
+            return DependencyGraph.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
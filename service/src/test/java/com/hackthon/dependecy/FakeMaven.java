@@ -0,0 +1,145 @@
+package com.hackthon.dependecy;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * Stand-in for the mvn executable, for load-testing the subprocess resolver without Maven,
+ * a local repository or network.
+ *
+ * Understands the one command DependencyTreeGenerator runs ("dependency:tree -Dverbose -f
+ * pom.xml"): it reads the dependencies declared in the pom and prints a dependency:tree -Dverbose
+ * style report for them, with a synthetic subtree under each one. The subtree is derived from the
+ * dependency's coordinates, so the same request always gets the same tree, and artifacts are
+ * drawn from a shared pool so some are repeated or requested in a second version and show up
+ * as "omitted for duplicate/conflict" lines.
+ *
+ * Tunables (system properties or environment variables, as in AppSettings):
+ * fake-maven.startup-ms (default 300) delay before any output, standing in for JVM and plugin
+ * start-up; fake-maven.nodes (60) and fake-maven.fanout (4) size each subtree;
+ * fake-maven.error-rate (0) fraction of runs that end in BUILD FAILURE without a tree.
+ *
+ * Use: -Dmaven.executable="java -Dfake-maven.nodes=200 -cp <classpath> com.hackthon.dependecy.FakeMaven"
+ */
+public final class FakeMaven {
+
+    private static final long STARTUP_MS = AppSettings.getLong("fake-maven.startup-ms", 300);
+    private static final int NODES = AppSettings.getInt("fake-maven.nodes", 60);
+    private static final int FANOUT = Math.max(1, AppSettings.getInt("fake-maven.fanout", 4));
+    private static final double ERROR_RATE = Double.parseDouble(AppSettings.get("fake-maven.error-rate", "0"));
+    private static final int MAX_DEPTH = 6;
+
+    private FakeMaven() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String pomFile = "pom.xml";
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals("-f") || args[i].equals("--file")) {
+                pomFile = args[i + 1];
+            }
+        }
+        Thread.sleep(STARTUP_MS);
+
+        PrintStream out = new PrintStream(System.out, false);
+        out.println("[INFO] Scanning for projects...");
+        if (ERROR_RATE > 0 && new Random().nextDouble() < ERROR_RATE) {
+            out.println("[ERROR] Simulated failure");
+            out.println("[INFO] BUILD FAILURE");
+            out.flush();
+            System.exit(1);
+        }
+        EmbeddedMavenResolver.PomModel pom;
+        try (InputStream in = new FileInputStream(pomFile)) {
+            pom = EmbeddedMavenResolver.parsePom(in);
+        }
+        out.println("[INFO] --- dependency:3.8.1:tree (default-cli) @ " + pom.artifactId + " ---");
+        out.println("[INFO] " + pom.groupId + ":" + pom.artifactId + ":jar:" + pom.version);
+        List<String> entries = new ArrayList<>();
+        for (EmbeddedMavenResolver.PomDependency dependency : pom.dependencies) {
+            String version = dependency.version == null ? "1.0.0" : dependency.version;
+            String scope = dependency.scope == null ? "compile" : dependency.scope;
+            entries.add("1|" + dependency.groupId + ":" + dependency.artifactId + ":jar:" + version + ":" + scope);
+            subtree(dependency.artifactId, dependency.groupId + ":" + dependency.artifactId + ":" + version, scope, entries);
+        }
+        for (String line : render(entries)) {
+            out.println("[INFO] " + line);
+        }
+        out.println("[INFO] ------------------------------------------------------------------------");
+        out.println("[INFO] BUILD SUCCESS");
+        out.flush();
+    }
+
+    // Pre-order "depth|text" entries of the generated subtree below one first-level dependency
+    private static void subtree(String name, String coordinates, String scope, List<String> entries) {
+        Random random = new Random(coordinates.hashCode());
+        int pool = Math.max(1, NODES + NODES / 3);
+        Map<Integer, String> resolved = new HashMap<>();
+        List<int[]> generated = new ArrayList<>(); // {depth, artifact, 0 resolved / 1 duplicate / 2 conflict}
+        generate(2, random, pool, resolved, generated, new int[]{NODES});
+        for (int[] entry : generated) {
+            String artifact = "com.example.fake:" + name + "-lib-" + entry[1];
+            String winner = resolved.get(entry[1]);
+            if (entry[2] == 0) {
+                entries.add(entry[0] + "|" + artifact + ":jar:" + winner + ":" + scope);
+            } else {
+                String requested = entry[2] == 1 ? winner : "0.9." + entry[1] % 7;
+                entries.add(entry[0] + "|(" + artifact + ":jar:" + requested + ":" + scope + " - omitted for "
+                        + (entry[2] == 1 ? "duplicate" : "conflict with " + winner) + ")");
+            }
+        }
+    }
+
+    // Depth-first, up to FANOUT children per node, until the node budget is spent; an artifact
+    // already resolved in this subtree becomes an omitted line instead of a second node
+    private static void generate(int depth, Random random, int pool, Map<Integer, String> resolved,
+                                 List<int[]> entries, int[] remaining) {
+        if (depth > MAX_DEPTH) {
+            return;
+        }
+        int children = 1 + random.nextInt(FANOUT);
+        for (int i = 0; i < children && remaining[0] > 0; i++) {
+            int artifact = random.nextInt(pool);
+            if (resolved.containsKey(artifact)) {
+                entries.add(new int[]{depth, artifact, random.nextInt(3) == 0 ? 2 : 1});
+                continue;
+            }
+            resolved.put(artifact, "1." + artifact % 5 + ".0");
+            remaining[0]--;
+            entries.add(new int[]{depth, artifact, 0});
+            generate(depth + 1, random, pool, resolved, entries, remaining);
+        }
+    }
+
+    // Turns "depth|text" entries (pre-order) into tree lines with dependency:tree's markers
+    private static List<String> render(List<String> entries) {
+        int size = entries.size();
+        int[] depths = new int[size];
+        String[] texts = new String[size];
+        for (int i = 0; i < size; i++) {
+            int bar = entries.get(i).indexOf('|');
+            depths[i] = Integer.parseInt(entries.get(i).substring(0, bar));
+            texts[i] = entries.get(i).substring(bar + 1);
+        }
+        List<String> lines = new ArrayList<>(size);
+        boolean[] open = new boolean[MAX_DEPTH + 1]; // whether a later sibling follows at that depth
+        for (int i = 0; i < size; i++) {
+            boolean last = true;
+            for (int j = i + 1; j < size && depths[j] >= depths[i]; j++) {
+                if (depths[j] == depths[i]) {
+                    last = false;
+                    break;
+                }
+            }
+            open[depths[i]] = !last;
+            StringBuilder line = new StringBuilder();
+            for (int depth = 1; depth < depths[i]; depth++) {
+                line.append(open[depth] ? "|  " : "   ");
+            }
+            lines.add(line.append(last ? "\\- " : "+- ").append(texts[i]).toString());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,134 @@
+package com.hackthon.dependecy;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test for one endpoint: for each concurrency level, that many clients send
+ * requests back to back until the level's request count is used up, then latency percentiles,
+ * throughput and rejections are printed so levels (and execution modes) can be compared.
+ *
+ * java -cp ... com.hackthon.dependecy.LoadDriver --url http://localhost:8080/dependency-tree
+ *      --body-file dependency.xml --concurrency 1,8,32,128 --requests 400
+ *
+ * Clients run on virtual threads when the JVM has them, so the driver itself is never the
+ * concurrency limit. 503 and 429 are counted as rejections, not errors. LoadTestSuite runs the
+ * same measurement against every controller with local stand-ins for Maven and the registries.
+ */
+public final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    public record Result(int concurrency, int requests, int ok, int rejected, int errors, double seconds,
+                         double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        double throughput() {
+            return seconds == 0 ? 0 : requests / seconds;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8080/dependency-tree"));
+        String body = options.containsKey("body-file") ? Files.readString(Path.of(options.get("body-file")))
+                : options.getOrDefault("body", "<dependency><groupId>org.apache.commons</groupId>"
+                + "<artifactId>commons-text</artifactId><version>1.10.0</version></dependency>");
+        String contentType = options.getOrDefault("content-type", "application/xml");
+        int requests = Integer.parseInt(options.getOrDefault("requests", "200"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "20"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout-seconds", "300"))))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        run(client, request, 1, warmup);
+        printHeader();
+        for (String level : options.getOrDefault("concurrency", "1,4,16,64").split(",")) {
+            printRow(run(client, request, Integer.parseInt(level.trim()), requests));
+        }
+    }
+
+    static void printHeader() {
+        System.out.printf("%-11s %8s %6s %8s %6s %10s %9s %9s %9s %9s%n", "concurrency", "requests", "ok",
+                "rejected", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    }
+
+    static void printRow(Result result) {
+        System.out.printf("%-11d %8d %6d %8d %6d %10.1f %9.1f %9.1f %9.1f %9.1f%n", result.concurrency(),
+                result.requests(), result.ok(), result.rejected(), result.errors(), result.throughput(),
+                result.p50Ms(), result.p95Ms(), result.p99Ms(), result.maxMs());
+    }
+
+    public static Result run(HttpClient client, HttpRequest request, int concurrency, int requests)
+            throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = VirtualThreads.newExecutor("load-client", concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(() -> {
+                for (int index = next.getAndIncrement(); index < requests; index = next.getAndIncrement()) {
+                    long sent = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 503 || status == 429) {
+                            rejected.incrementAndGet();
+                        } else if (status >= 200 && status < 300) {
+                            ok.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - sent;
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.DAYS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return new Result(concurrency, requests, ok.get(), rejected.get(), errors.get(), seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                requests == 0 ? 0 : latencies[requests - 1] / 1e6);
+    }
+
+    // Nearest-rank percentile of sorted nanosecond latencies, in milliseconds
+    static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))] / 1e6;
+    }
+
+    // --name value pairs
+    static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,203 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Offline end-to-end load test: every controller measured at a set of concurrency levels, with
+ * p50/p95/p99 latency and throughput per level, so runs can be compared before a deploy.
+ *
+ * Unless --base-url points at a running service, the suite starts everything itself in this
+ * JVM: the OSS Index and npm registry stubs, and the application wired to them, resolving
+ * trees through FakeMaven instead of mvn. Caches are off by default (--caches true turns them
+ * on), so each request exercises resolution and lookups rather than a cache hit.
+ *
+ * The suite and its stubs live with the tests; run it on the service's test class path
+ * (target/test-classes, target/classes and the test-scoped dependencies):
+ *
+ * java -cp ... com.hackthon.dependecy.LoadTestSuite --concurrency 1,8,32 --requests 200
+ *      --ossindex-latency-ms 50 --npm-latency-ms 20 --maven-startup-ms 300 --output run.json
+ *      [--baseline previous.json --max-regression 0.2]
+ *
+ * With --baseline, a scenario and level whose throughput dropped or whose p95 grew by more than
+ * --max-regression (a fraction) is reported, and the suite exits with status 1.
+ */
+public final class LoadTestSuite {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String MAVEN_DEPENDENCY = "<dependency><groupId>org.example</groupId>"
+            + "<artifactId>load-test</artifactId><version>1.0.0</version></dependency>";
+
+    private LoadTestSuite() {
+    }
+
+    // One endpoint under test: path, content type and body
+    record Scenario(String name, String path, String contentType, String body) {
+    }
+
+    static final List<Scenario> SCENARIOS = List.of(
+            new Scenario("tree", "/dependency-tree", "application/xml", MAVEN_DEPENDENCY),
+            new Scenario("tree-conflicts", "/dependency-tree/query/conflicts", "application/xml", MAVEN_DEPENDENCY),
+            new Scenario("vulnerability", "/vulnerability", "application/xml", MAVEN_DEPENDENCY),
+            new Scenario("vulnerability-stream", "/vulnerability/stream", "application/xml", MAVEN_DEPENDENCY),
+            new Scenario("npm-resolve", "/npm-dependency/resolve", "application/json",
+                    "{\"dependency\":\"pkg-0\",\"version\":\"^1.0.0\"}"),
+            new Scenario("npm-vulnerability", "/vulnerability/npm", "application/json",
+                    "{\"dependency\":\"pkg-0\",\"version\":\"1.0.0\"}"));
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadDriver.options(args);
+        String baseUrl = options.containsKey("base-url") ? options.get("base-url") : startLocally(options);
+        int requests = Integer.parseInt(options.getOrDefault("requests", "100"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        List<String> selected = List.of(options.getOrDefault("scenarios",
+                String.join(",", SCENARIOS.stream().map(Scenario::name).toList())).split(","));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Scenario scenario : SCENARIOS) {
+            if (!selected.contains(scenario.name())) {
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + scenario.path()))
+                    .timeout(Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout-seconds", "300"))))
+                    .header("Content-Type", scenario.contentType())
+                    .POST(HttpRequest.BodyPublishers.ofString(scenario.body()))
+                    .build();
+            System.out.println();
+            System.out.println(scenario.name() + "  POST " + scenario.path());
+            LoadDriver.run(client, request, 1, warmup);
+            LoadDriver.printHeader();
+            for (String level : options.getOrDefault("concurrency", "1,4,16").split(",")) {
+                LoadDriver.Result result = LoadDriver.run(client, request, Integer.parseInt(level.trim()), requests);
+                LoadDriver.printRow(result);
+                results.add(row(scenario.name(), result));
+            }
+        }
+
+        if (options.containsKey("output")) {
+            OBJECT_MAPPER.writeValue(new File(options.get("output")), results);
+        }
+        int regressions = 0;
+        if (options.containsKey("baseline")) {
+            regressions = compare(results, OBJECT_MAPPER.readValue(new File(options.get("baseline")),
+                    new TypeReference<List<Map<String, Object>>>() {
+                    }), Double.parseDouble(options.getOrDefault("max-regression", "0.2")));
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // Starts both stubs and the application wired to them; returns the application's base URL
+    private static String startLocally(Map<String, String> options) throws IOException, InterruptedException {
+        OssIndexStubServer ossIndex = OssIndexStubServer.start(0,
+                Long.parseLong(options.getOrDefault("ossindex-latency-ms", "50")),
+                Double.parseDouble(options.getOrDefault("ossindex-error-rate", "0")),
+                Integer.parseInt(options.getOrDefault("ossindex-rate-limit", "0")));
+        NpmRegistryStubServer npm = NpmRegistryStubServer.start(0,
+                Integer.parseInt(options.getOrDefault("npm-packages", "500")),
+                Integer.parseInt(options.getOrDefault("npm-fanout", "3")),
+                Long.parseLong(options.getOrDefault("npm-latency-ms", "20")),
+                Double.parseDouble(options.getOrDefault("npm-error-rate", "0")), null);
+        int port = Integer.parseInt(options.getOrDefault("port", String.valueOf(freePort())));
+
+        // The application reads these through AppSettings, so they must be set before it starts.
+        // The class path is split on whitespace like any maven.executable, so it must not contain spaces.
+        String fakeMaven = String.join(" ", System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-Dfake-maven.startup-ms=" + options.getOrDefault("maven-startup-ms", "300"),
+                "-Dfake-maven.nodes=" + options.getOrDefault("maven-nodes", "60"),
+                "-Dfake-maven.error-rate=" + options.getOrDefault("maven-error-rate", "0"),
+                "-cp", System.getProperty("java.class.path"), FakeMaven.class.getName());
+        boolean caches = Boolean.parseBoolean(options.getOrDefault("caches", "false"));
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("server.port", String.valueOf(port));
+        settings.put("spring.devtools.restart.enabled", "false");
+        settings.put("logging.level.root", "WARN");
+        settings.put("maven.executable", fakeMaven);
+        settings.put("dependency.resolver", "subprocess");
+        settings.put("ossindex.url", ossIndex.url());
+        settings.put("npm.registry.url", npm.url());
+        settings.put("vulnerability.db.mode", "remote");
+        settings.put("prewarm.enabled", "false");
+        // Every virtual user shares one address, so the per-client limit would cap the whole run
+        settings.put("admission.per-client.max-in-flight", "0");
+        if (!caches) {
+            settings.put("dependency.tree.cache.enabled", "false");
+            settings.put("vulnerability.cache.ttl-minutes", "0");
+            settings.put("vulnerability.cache.negative-ttl-minutes", "0");
+            settings.put("npm.cache.ttl-seconds", "0");
+        }
+        settings.forEach((name, value) -> System.setProperty(name, options.getOrDefault(name, value)));
+        DependecyApplication.main(new String[0]);
+        System.out.println("Service on port " + port + ", OSS Index stub " + ossIndex.url() + ", npm stub " + npm.url()
+                + (caches ? "" : ", caches off"));
+        return "http://localhost:" + port;
+    }
+
+    private static Map<String, Object> row(String scenario, LoadDriver.Result result) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("scenario", scenario);
+        row.put("concurrency", result.concurrency());
+        row.put("requests", result.requests());
+        row.put("ok", result.ok());
+        row.put("rejected", result.rejected());
+        row.put("errors", result.errors());
+        row.put("throughput", result.throughput());
+        row.put("p50Ms", result.p50Ms());
+        row.put("p95Ms", result.p95Ms());
+        row.put("p99Ms", result.p99Ms());
+        row.put("maxMs", result.maxMs());
+        return row;
+    }
+
+    // Prints every scenario and level that got worse than the baseline by more than maxRegression
+    private static int compare(List<Map<String, Object>> results, List<Map<String, Object>> baseline, double maxRegression) {
+        Map<String, Map<String, Object>> previous = new HashMap<>();
+        for (Map<String, Object> row : baseline) {
+            previous.put(row.get("scenario") + "@" + row.get("concurrency"), row);
+        }
+        int regressions = 0;
+        System.out.println();
+        for (Map<String, Object> row : results) {
+            String key = row.get("scenario") + "@" + row.get("concurrency");
+            Map<String, Object> before = previous.get(key);
+            if (before == null) {
+                continue;
+            }
+            double throughput = number(row, "throughput");
+            double baseThroughput = number(before, "throughput");
+            double p95 = number(row, "p95Ms");
+            double baseP95 = number(before, "p95Ms");
+            if (throughput < baseThroughput * (1 - maxRegression) || p95 > baseP95 * (1 + maxRegression)) {
+                regressions++;
+                System.out.printf("REGRESSION %-28s req/s %.1f -> %.1f, p95 %.1f -> %.1f ms%n", key,
+                        baseThroughput, throughput, baseP95, p95);
+            }
+        }
+        System.out.println(regressions == 0 ? "No regressions against the baseline" : regressions + " regression(s)");
+        return regressions;
+    }
+
+    private static double number(Map<String, Object> row, String name) {
+        Object value = row.get(name);
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MavenVersionsTest {
+
+    @Test
+    void ordersLikeComparableVersion() {
+        assertTrue(MavenVersions.compare("1.10", "1.9") > 0);
+        assertTrue(MavenVersions.compare("1.0-alpha-1", "1.0-beta-1") < 0);
+        assertTrue(MavenVersions.compare("1.0-rc1", "1.0") < 0);
+        assertTrue(MavenVersions.compare("1.0-SNAPSHOT", "1.0") < 0);
+        assertTrue(MavenVersions.compare("1.0", "1.0-sp1") < 0);
+        assertTrue(MavenVersions.compare("32.1.2-android", "32.1.2") > 0);
+        assertEquals(0, MavenVersions.compare("1.0", "1.0.0"));
+    }
+
+    @Test
+    void matchesRanges() {
+        assertTrue(MavenVersions.isRange("[1.0,2.0)"));
+        assertFalse(MavenVersions.isRange("1.0"));
+        assertTrue(MavenVersions.inRange("1.5", "[1.0,2.0)"));
+        assertFalse(MavenVersions.inRange("2.0", "[1.0,2.0)"));
+        assertTrue(MavenVersions.inRange("1.5", "(,1.5]"));
+        assertTrue(MavenVersions.inRange("2.0", "[1.0],[2.0,)"));
+        assertFalse(MavenVersions.inRange("1.5", "[1.0],[2.0,)"));
+        assertTrue(MavenVersions.inRange("1.0", "1.0"));
+    }
+
+    @Test
+    void picksTheHighestCandidateInRange() {
+        List<String> candidates = List.of("1.0", "1.2", "1.10", "2.0", "2.1-beta");
+        assertEquals("1.10", MavenVersions.highestInRange(candidates, "[1.0,2.0)"));
+        assertEquals("2.1-beta", MavenVersions.highestInRange(candidates, "[2.0,)"));
+        assertNull(MavenVersions.highestInRange(candidates, "[3.0,)"));
+        assertEquals("1.0", MavenVersions.boundOf("[1.0,2.0)"));
+        assertEquals("1.5", MavenVersions.boundOf("(,1.5]"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Version selection and tree resolution against NpmRegistryStubServer: 13 packages with a
+// fanout of 3, each published as 1.0.0, 1.1.0 (latest) and 2.0.0-beta.1 (next)
+class NpmDependencyResolverTest {
+
+    private static NpmRegistryStubServer registry;
+
+    @BeforeAll
+    static void startRegistry() throws IOException {
+        registry = NpmRegistryStubServer.start(0, 13, 3, 0, 0, null);
+        NpmRegistryClient.useRegistry(registry.url(), Duration.ofSeconds(30));
+        NpmRegistryCache.reset(64L * 1024 * 1024, 300_000);
+    }
+
+    @AfterAll
+    static void stopRegistry() {
+        registry.stop();
+    }
+
+    @Test
+    void selectsLikeNpm() throws Exception {
+        JsonNode packument = NpmRegistryCache.packument("pkg-0");
+        assertEquals("1.1.0", NpmDependencyResolver.selectVersion(packument, ""));
+        assertEquals("1.1.0", NpmDependencyResolver.selectVersion(packument, "latest"));
+        assertEquals("2.0.0-beta.1", NpmDependencyResolver.selectVersion(packument, "next"));
+        assertEquals("1.1.0", NpmDependencyResolver.selectVersion(packument, "^1.0.0"));
+        assertEquals("1.0.0", NpmDependencyResolver.selectVersion(packument, "~1.0.0"));
+        assertEquals("1.0.0", NpmDependencyResolver.selectVersion(packument, "1.0.0"));
+        assertEquals("2.0.0-beta.1", NpmDependencyResolver.selectVersion(packument, "^2.0.0-beta.0"));
+        assertNull(NpmDependencyResolver.selectVersion(packument, "^2.0.0"));
+        assertNull(NpmDependencyResolver.selectVersion(packument, "^9"));
+        assertNull(NpmDependencyResolver.selectVersion(packument, "no-such-tag"));
+    }
+
+    @Test
+    void resolvesSharedPackagesOnce() throws Exception {
+        NpmDependencyResolver.Resolution resolution = NpmDependencyResolver.resolve("pkg-0", "^1.0.0");
+        assertEquals("pkg-0@1.1.0", resolution.rootKey);
+        assertEquals(13, resolution.packages.size());
+        for (NpmDependencyResolver.Package pkg : resolution.packages.values()) {
+            assertEquals("1.1.0", pkg.version, pkg.name);
+        }
+        List<NpmDependencyResolver.Edge> edges = resolution.packages.get("pkg-0@1.1.0").dependencies;
+        assertEquals(List.of("pkg-1@1.1.0", "pkg-2@1.1.0", "pkg-3@1.1.0"),
+                edges.stream().map(edge -> edge.resolvedKey).toList());
+    }
+
+    @Test
+    void unknownPackageIsAnError() {
+        IOException error = assertThrows(IOException.class, () -> NpmDependencyResolver.resolve("pkg-99", "^1.0.0"));
+        assertEquals("Package not found: pkg-99", error.getMessage());
+    }
+
+    @Test
+    void aRegistryThatDoesNotAnswerInTimeIsAFetchFailure() throws Exception {
+        NpmRegistryStubServer slow = NpmRegistryStubServer.start(0, 13, 3, 5_000, 0, null);
+        try {
+            NpmRegistryClient.useRegistry(slow.url(), Duration.ofSeconds(1));
+            long started = System.nanoTime();
+            assertThrows(IOException.class, () -> NpmRegistryClient.fetch("pkg-0", null, null));
+            assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(4));
+        } finally {
+            NpmRegistryClient.useRegistry(registry.url(), Duration.ofSeconds(30));
+            slow.stop();
+        }
+    }
+}
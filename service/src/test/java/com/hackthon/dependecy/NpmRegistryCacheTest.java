@@ -0,0 +1,102 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Freshness, revalidation, stale fallback and admission against NpmRegistryStubServer
+class NpmRegistryCacheTest {
+
+    private static final long MAX_BYTES = 64L * 1024 * 1024;
+    private static final long TTL_MILLIS = 300_000;
+
+    private static NpmRegistryStubServer registry;
+
+    @BeforeAll
+    static void startRegistry() throws IOException {
+        registry = NpmRegistryStubServer.start(0, 13, 3, 0, 0, null);
+    }
+
+    @AfterAll
+    static void stopRegistry() {
+        registry.stop();
+    }
+
+    @BeforeEach
+    void emptyCache() {
+        NpmRegistryClient.useRegistry(registry.url(), Duration.ofSeconds(30));
+        NpmRegistryCache.reset(MAX_BYTES, TTL_MILLIS);
+    }
+
+    @Test
+    void servesRepeatsFromTheCache() throws Exception {
+        NpmRegistryCache.packument("pkg-5");
+        long requests = (Long) registry.stats().get("requests");
+        long hits = stat("hits");
+
+        JsonNode again = NpmRegistryCache.packument("pkg-5");
+        assertEquals("pkg-5", again.path("name").asText());
+        assertEquals(requests, registry.stats().get("requests"));
+        assertEquals(hits + 1, stat("hits"));
+    }
+
+    @Test
+    void revalidatesExpiredEntriesWithTheirEtag() throws Exception {
+        NpmRegistryCache.reset(MAX_BYTES, 0);
+        NpmRegistryCache.packument("pkg-1");
+        long notModified = (Long) registry.stats().get("notModified");
+        long revalidated = stat("revalidated");
+
+        assertEquals("pkg-1", NpmRegistryCache.packument("pkg-1").path("name").asText());
+        assertEquals(notModified + 1, registry.stats().get("notModified"));
+        assertEquals(revalidated + 1, stat("revalidated"));
+    }
+
+    @Test
+    void servesTheStaleCopyWhenTheRegistryFails() throws Exception {
+        NpmRegistryCache.reset(MAX_BYTES, 0);
+        NpmRegistryStubServer shortLived = NpmRegistryStubServer.start(0, 13, 3, 0, 0, null);
+        NpmRegistryClient.useRegistry(shortLived.url(), Duration.ofSeconds(30));
+        NpmRegistryCache.packument("pkg-2");
+        shortLived.stop();
+        long staleServed = stat("staleServed");
+
+        assertEquals("pkg-2", NpmRegistryCache.packument("pkg-2").path("name").asText());
+        assertEquals(staleServed + 1, stat("staleServed"));
+    }
+
+    // Room for two documents: a third only displaces one once it is read more often
+    @Test
+    void admitsNewDocumentsByFrequency() throws Exception {
+        NpmRegistryCache.packument("pkg-0");
+        long oneDocument = stat("bytes");
+        NpmRegistryCache.reset(oneDocument * 5 / 2, TTL_MILLIS);
+        for (int i = 0; i < 3; i++) {
+            NpmRegistryCache.packument("pkg-0");
+            NpmRegistryCache.packument("pkg-1");
+        }
+        long rejected = stat("rejected");
+        long evictions = stat("evictions");
+
+        for (int i = 0; i < 3; i++) {
+            NpmRegistryCache.packument("pkg-2");
+        }
+        assertEquals(rejected + 3, stat("rejected"));
+        assertEquals(evictions, stat("evictions"));
+
+        NpmRegistryCache.packument("pkg-2");
+        assertEquals(evictions + 1, stat("evictions"));
+        assertEquals(2, NpmRegistryCache.stats().get("entries"));
+    }
+
+    private static long stat(String name) {
+        return ((Number) NpmRegistryCache.stats().get(name)).longValue();
+    }
+}
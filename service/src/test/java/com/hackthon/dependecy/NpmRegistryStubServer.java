@@ -0,0 +1,182 @@
+package com.hackthon.dependecy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for an npm registry, for exercising NpmDependencyResolver without network.
+ *
+ * Serves a generated package set: pkg-0 .. pkg-(N-1), each published as 1.0.0, 1.1.0 and
+ * 2.0.0-beta.1, where pkg-i depends on "^1.0.0" of pkg-(i*fanout+1) .. pkg-(i*fanout+fanout)
+ * and the leaves point back at one of pkg-0 .. pkg-6, which gives shared nodes and cycles.
+ * With --dir, GET /name is answered from <dir>/name.json first (scoped names use
+ * <dir>/@scope/name.json), so real packuments can be replayed.
+ *
+ * Run: java ... com.hackthon.dependecy.NpmRegistryStubServer --port 8090 --packages 500 --fanout 3 --latency-ms 20
+ * then start the application with -Dnpm.registry.url=http://localhost:8090/
+ */
+public class NpmRegistryStubServer {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    static {
+        // Without TCP_NODELAY the JDK server's separate header/body writes stall on delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final int packages;
+    private final int fanout;
+    private final long latencyMs;
+    private final double errorRate;
+    private final Path directory;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    private NpmRegistryStubServer(int port, int packages, int fanout, long latencyMs, double errorRate, Path directory)
+            throws IOException {
+        this.packages = packages;
+        this.fanout = fanout;
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+        this.directory = directory;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+    }
+
+    // port 0 picks a free port; directory may be null
+    public static NpmRegistryStubServer start(int port, int packages, int fanout, long latencyMs, double errorRate,
+                                              Path directory) throws IOException {
+        NpmRegistryStubServer stub = new NpmRegistryStubServer(port, packages, fanout, latencyMs, errorRate, directory);
+        stub.server.start();
+        return stub;
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("notModified", notModified.get());
+        return stats;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 500, "{\"error\":\"Simulated failure\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            String name = URLDecoder.decode(exchange.getRequestURI().getRawPath().substring(1), StandardCharsets.UTF_8);
+            byte[] body = packument(name);
+            if (body == null) {
+                respond(exchange, 404, "{\"error\":\"Not found\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            // Documents never change, so a content hash works as a strong validator
+            String etag = "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            respond(exchange, 200, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private byte[] packument(String name) throws IOException {
+        if (directory != null) {
+            Path file = directory.resolve(name + ".json").normalize();
+            if (file.startsWith(directory) && Files.isRegularFile(file)) {
+                return Files.readAllBytes(file);
+            }
+        }
+        if (!name.startsWith("pkg-")) {
+            return null;
+        }
+        int index;
+        try {
+            index = Integer.parseInt(name.substring(4));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (index < 0 || index >= packages) {
+            return null;
+        }
+
+        Map<String, String> dependencies = new LinkedHashMap<>();
+        for (int k = 1; k <= fanout; k++) {
+            int child = index * fanout + k;
+            if (child < packages) {
+                dependencies.put("pkg-" + child, "^1.0.0");
+            }
+        }
+        if (dependencies.isEmpty() && index > 0) {
+            dependencies.put("pkg-" + (index % Math.min(7, packages)), "^1.0.0");
+        }
+
+        Map<String, Object> versions = new LinkedHashMap<>();
+        for (String version : List.of("1.0.0", "1.1.0", "2.0.0-beta.1")) {
+            Map<String, Object> manifest = new LinkedHashMap<>();
+            manifest.put("name", name);
+            manifest.put("version", version);
+            manifest.put("dependencies", dependencies);
+            versions.put(version, manifest);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("name", name);
+        document.put("dist-tags", Map.of("latest", "1.1.0", "next", "2.0.0-beta.1"));
+        document.put("versions", versions);
+        return OBJECT_MAPPER.writeValueAsBytes(document);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        NpmRegistryStubServer stub = start(
+                Integer.parseInt(options.getOrDefault("port", "8090")),
+                Integer.parseInt(options.getOrDefault("packages", "500")),
+                Integer.parseInt(options.getOrDefault("fanout", "3")),
+                Long.parseLong(options.getOrDefault("latency-ms", "0")),
+                Double.parseDouble(options.getOrDefault("error-rate", "0")),
+                options.containsKey("dir") ? Path.of(options.get("dir")).toAbsolutePath().normalize() : null);
+        System.out.println("npm registry stub listening on " + stub.url());
+    }
+}
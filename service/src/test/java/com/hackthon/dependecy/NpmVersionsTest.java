@@ -0,0 +1,51 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NpmVersionsTest {
+
+    private static final List<String> PUBLISHED = List.of("0.9.0", "1.0.0", "1.2.3", "1.10.0", "2.0.0-beta.1", "2.0.0", "3.0.0-rc.1");
+
+    @Test
+    void ordersPrereleasesBeforeTheirRelease() {
+        assertTrue(NpmVersions.compare("1.10.0", "1.9.0") > 0);
+        assertTrue(NpmVersions.compare("2.0.0-beta.1", "2.0.0") < 0);
+        assertTrue(NpmVersions.compare("2.0.0-beta.2", "2.0.0-beta.11") < 0);
+        assertTrue(NpmVersions.compare("2.0.0-alpha", "2.0.0-alpha.1") < 0);
+        assertNull(NpmVersions.parse("1.2"));
+    }
+
+    @Test
+    void matchesRangeSyntax() {
+        assertTrue(NpmVersions.satisfies("1.10.0", "^1.0.0"));
+        assertFalse(NpmVersions.satisfies("2.0.0", "^1.0.0"));
+        assertTrue(NpmVersions.satisfies("0.9.5", "~0.9.0"));
+        assertFalse(NpmVersions.satisfies("0.10.0", "~0.9.0"));
+        assertFalse(NpmVersions.satisfies("0.10.0", "^0.9.0"));
+        assertTrue(NpmVersions.satisfies("1.2.3", "1.x"));
+        assertTrue(NpmVersions.satisfies("1.2.3", "1.0.0 - 1.2.3"));
+        assertTrue(NpmVersions.satisfies("1.2.3", ">=1.2.0 <1.3.0"));
+        assertTrue(NpmVersions.satisfies("3.0.0", "^1.0.0 || >=3"));
+        assertTrue(NpmVersions.satisfies("1.0.0", "*"));
+        assertFalse(NpmVersions.isValidRange("not a range"));
+    }
+
+    @Test
+    void prereleasesOnlySatisfyRangesThatNameThem() {
+        assertFalse(NpmVersions.satisfies("2.0.0-beta.1", ">=1.0.0"));
+        assertTrue(NpmVersions.satisfies("2.0.0-beta.1", ">=2.0.0-beta.0"));
+        assertFalse(NpmVersions.satisfies("3.0.0-rc.1", ">=2.0.0-beta.0"));
+    }
+
+    @Test
+    void picksTheHighestSatisfyingVersion() {
+        assertEquals("1.10.0", NpmVersions.maxSatisfying(PUBLISHED, "^1.0.0"));
+        assertEquals("2.0.0", NpmVersions.maxSatisfying(PUBLISHED, "*"));
+        assertEquals("2.0.0-beta.1", NpmVersions.maxSatisfying(PUBLISHED, "2.0.0-beta.1"));
+        assertNull(NpmVersions.maxSatisfying(PUBLISHED, "^4.0.0"));
+    }
+}
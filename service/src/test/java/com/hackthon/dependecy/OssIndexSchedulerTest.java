@@ -0,0 +1,84 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OssIndexSchedulerTest {
+
+    private static OssIndexStubServer ossIndex;
+
+    @BeforeAll
+    static void startOssIndex() throws IOException {
+        ossIndex = OssIndexStubServer.start(0, 0, 0, 0);
+    }
+
+    @AfterAll
+    static void stopOssIndex() {
+        ossIndex.stop();
+    }
+
+    @BeforeEach
+    void useWorkingOssIndex() {
+        OssIndexScheduler.useApi(ossIndex.url(), 4, 500);
+    }
+
+    @Test
+    void batchesLookupsUpToTheApiLimit() throws Exception {
+        long requests = (Long) ossIndex.stats().get("requests");
+        List<CompletableFuture<ComponentReport>> lookups = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            lookups.add(OssIndexScheduler.lookup("pkg:maven/org.example/batched-" + i + "@1.0"));
+        }
+        for (int i = 0; i < lookups.size(); i++) {
+            ComponentReport report = lookups.get(i).get(10, TimeUnit.SECONDS);
+            assertFalse(report.failed(), report.error());
+            assertEquals("pkg:maven/org.example/batched-" + i + "@1.0", report.coordinates());
+        }
+        // 300 coordinates fit in three batches of at most 128
+        long sent = (Long) ossIndex.stats().get("requests") - requests;
+        assertTrue(sent >= 3 && sent < 300, "requests: " + sent);
+    }
+
+    @Test
+    void coalescesConcurrentLookupsOfOneCoordinate() throws Exception {
+        CompletableFuture<ComponentReport> first = OssIndexScheduler.lookup("pkg:maven/org.example/shared@1.0");
+        CompletableFuture<ComponentReport> second = OssIndexScheduler.lookup("pkg:maven/org.example/shared@1.0");
+        assertSame(first, second);
+        assertEquals("pkg:maven/org.example/shared@1.0", first.get(10, TimeUnit.SECONDS).coordinates());
+    }
+
+    // A stub that always answers 500: lookups retry, then complete with an error report
+    @Test
+    void reportsTheErrorAfterTheLastRetry() throws Exception {
+        OssIndexStubServer failing = OssIndexStubServer.start(0, 0, 1, 0);
+        try {
+            OssIndexScheduler.useApi(failing.url(), 2, 10);
+            ComponentReport report = OssIndexScheduler.lookup("pkg:maven/org.example/failing@1.0").get(10, TimeUnit.SECONDS);
+            assertTrue(report.failed());
+            assertEquals("Received response code 500", report.error());
+            assertEquals("500", report.responseCode());
+            assertEquals(3L, failing.stats().get("requests"));
+        } finally {
+            failing.stop();
+        }
+    }
+
+    // A request that cannot even be built must fail its lookups rather than leave them waiting
+    @Test
+    void completesWithAnErrorReportWhenTheRequestCannotBeBuilt() throws Exception {
+        OssIndexScheduler.useApi("http://bad host/api/v3/component-report", 4, 500);
+        ComponentReport report = OssIndexScheduler.lookup("pkg:maven/org.example/unsent@1.0").get(10, TimeUnit.SECONDS);
+        assertTrue(report.failed());
+        assertTrue(report.error().startsWith("Error checking vulnerabilities: "), report.error());
+    }
+}
@@ -0,0 +1,182 @@
+package com.hackthon.dependecy;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the OSS Index component-report API, for exercising the scheduler's
+ * batching, rate limiting and retries without touching the real service.
+ *
+ * Answers POST /api/v3/component-report with one report per coordinate (roughly one in ten
+ * gets a fake vulnerability). Responses can be slowed down, made to fail with 500 at a given
+ * rate, and limited to a number of requests per second beyond which 429 is returned.
+ *
+ * Run: java ... com.hackthon.dependecy.OssIndexStubServer --port 8089 --latency-ms 50 --error-rate 0.05 --rate-limit 20
+ * then start the application with -Dossindex.url=http://localhost:8089/api/v3/component-report
+ */
+public class OssIndexStubServer {
+
+    private static final Gson GSON = new Gson();
+
+    static {
+        // Without TCP_NODELAY the JDK server's separate header/body writes stall on delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final long latencyMs;
+    private final double errorRate;
+    private final int rateLimitPerSecond;
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong coordinates = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private OssIndexStubServer(int port, long latencyMs, double errorRate, int rateLimitPerSecond) throws IOException {
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+        this.rateLimitPerSecond = rateLimitPerSecond;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/v3/component-report", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+    }
+
+    // rateLimitPerSecond <= 0 disables the limit; port 0 picks a free port
+    public static OssIndexStubServer start(int port, long latencyMs, double errorRate, int rateLimitPerSecond) throws IOException {
+        OssIndexStubServer stub = new OssIndexStubServer(port, latencyMs, errorRate, rateLimitPerSecond);
+        stub.server.start();
+        return stub;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String url() {
+        return "http://localhost:" + port() + "/api/v3/component-report";
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("coordinates", coordinates.get());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"error\":\"POST only\"}");
+                return;
+            }
+            requests.incrementAndGet();
+            if (!admit()) {
+                rejected.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, "{\"error\":\"Too Many Requests\"}");
+                return;
+            }
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 500, "{\"error\":\"Simulated failure\"}");
+                return;
+            }
+
+            Map<String, List<String>> body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = GSON.fromJson(new String(in.readAllBytes(), StandardCharsets.UTF_8),
+                        new TypeToken<Map<String, List<String>>>(){}.getType());
+            }
+            List<String> requested = body == null || body.get("coordinates") == null ? List.of() : body.get("coordinates");
+            if (requested.size() > OssIndexScheduler.BATCH_SIZE) {
+                respond(exchange, 400, "{\"error\":\"Too many coordinates\"}");
+                return;
+            }
+            coordinates.addAndGet(requested.size());
+
+            List<Map<String, Object>> reports = new ArrayList<>();
+            for (String coordinate : requested) {
+                reports.add(report(coordinate));
+            }
+            respond(exchange, 200, GSON.toJson(reports));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            respond(exchange, 400, "{\"error\":\"" + e.getClass().getSimpleName() + "\"}");
+        }
+    }
+
+    // Fixed one-second windows; good enough to make the client see 429s under load
+    private boolean admit() {
+        if (rateLimitPerSecond <= 0) {
+            return true;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long current = windowStart.get();
+        if (current != second && windowStart.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= rateLimitPerSecond;
+    }
+
+    private static Map<String, Object> report(String coordinate) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("coordinates", coordinate);
+        report.put("description", "Stub report");
+        report.put("reference", "http://localhost/component/" + coordinate);
+        List<Map<String, Object>> vulnerabilities = new ArrayList<>();
+        if (Math.floorMod(coordinate.hashCode(), 10) == 0) {
+            Map<String, Object> vulnerability = new LinkedHashMap<>();
+            vulnerability.put("id", "STUB-" + Integer.toHexString(coordinate.hashCode()));
+            vulnerability.put("title", "Simulated vulnerability in " + coordinate);
+            vulnerability.put("cvssScore", 7.5);
+            vulnerability.put("reference", "http://localhost/vulnerability/" + Integer.toHexString(coordinate.hashCode()));
+            vulnerabilities.add(vulnerability);
+        }
+        report.put("vulnerabilities", vulnerabilities);
+        return report;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        OssIndexStubServer stub = start(
+                Integer.parseInt(options.getOrDefault("port", "8089")),
+                Long.parseLong(options.getOrDefault("latency-ms", "0")),
+                Double.parseDouble(options.getOrDefault("error-rate", "0")),
+                Integer.parseInt(options.getOrDefault("rate-limit", "0")));
+        System.out.println("OSS Index stub listening on " + stub.url());
+    }
+}
@@ -0,0 +1,71 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResolutionExecutorTest {
+
+    @BeforeAll
+    static void oneRunningOneQueued() {
+        ResolutionExecutor.configure(1, 1, 1);
+    }
+
+    @AfterAll
+    static void resetLimits() {
+        ResolutionExecutor.reset();
+    }
+
+    @Test
+    void rejectsPastRunningPlusQueued() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> runUntil(release));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> runUntil(release));
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((ResolutionExecutor.activeCount() != 1 || ResolutionExecutor.queuedCount() != 1)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, ResolutionExecutor.activeCount());
+            assertEquals(1, ResolutionExecutor.queuedCount());
+            assertThrows(ResolutionExecutor.ResolutionRejectedException.class, () -> ResolutionExecutor.run(() -> "rejected"));
+        } finally {
+            release.countDown();
+        }
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+        assertEquals("done", queued.get(5, TimeUnit.SECONDS));
+        assertEquals("admitted", ResolutionExecutor.run(() -> "admitted"));
+    }
+
+    @Test
+    void timedOutTasksRunTheirCancelHookAndFreeTheirSlot() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        IOException error = assertThrows(IOException.class, () -> ResolutionExecutor.run(() -> {
+            ResolutionExecutor.onCancel(cancelled::countDown);
+            new CountDownLatch(1).await();
+            return "never";
+        }));
+        assertEquals("Dependency resolution timed out after 1s", error.getMessage());
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        assertEquals("admitted", ResolutionExecutor.run(() -> "admitted"));
+    }
+
+    private static String runUntil(CountDownLatch release) {
+        try {
+            return ResolutionExecutor.run(() -> {
+                release.await();
+                return "done";
+            });
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>("test");
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @Test
+    void followersShareOneComputation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Callable<String> task = () -> {
+            runs.incrementAndGet();
+            release.await();
+            return "tree";
+        };
+        Future<String> leader = callers.submit(() -> flights.run("key", task));
+        awaitInFlight(1);
+        Future<String> follower = callers.submit(() -> flights.run("key", task));
+        awaitShared(1);
+        release.countDown();
+
+        assertEquals("tree", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("tree", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void aLeaderThatStopsWaitingDoesNotFailItsFollowers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Callable<String> task = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "tree";
+        };
+        Future<String> leader = callers.submit(() -> flights.run("key", task));
+        awaitInFlight(1);
+        Future<String> follower = callers.submit(() -> flights.run("key", task));
+        awaitShared(1);
+
+        leader.cancel(true);
+        assertThrows(CancellationException.class, leader::get);
+        release.countDown();
+        assertEquals("tree", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, interrupted.getCount());
+    }
+
+    @Test
+    void theComputationStopsWhenNobodyIsWaiting() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Callable<String> task = () -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "never";
+        };
+        Future<String> leader = callers.submit(() -> flights.run("key", task));
+        awaitInFlight(1);
+        Future<String> follower = callers.submit(() -> flights.run("key", task));
+        awaitShared(1);
+
+        leader.cancel(true);
+        follower.cancel(true);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        awaitInFlight(0);
+        assertEquals(1L, flights.stats().get("abandoned"));
+        // A new caller starts afresh rather than joining the abandoned computation
+        assertEquals("again", flights.run("key", () -> "again"));
+    }
+
+    private void awaitInFlight(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Integer.valueOf(count).equals(flights.stats().get("inFlight")) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, flights.stats().get("inFlight"));
+    }
+
+    private void awaitShared(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Long.valueOf(count).equals(flights.stats().get("shared")) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, flights.stats().get("shared"));
+    }
+}
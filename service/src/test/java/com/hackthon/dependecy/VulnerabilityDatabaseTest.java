@@ -0,0 +1,94 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Builds an index from the advisories under src/test/resources/osv and matches against it
+class VulnerabilityDatabaseTest {
+
+    @TempDir
+    static Path directory;
+
+    @BeforeAll
+    static void buildIndex() throws Exception {
+        Path source = Path.of(VulnerabilityDatabaseTest.class.getResource("/osv").toURI());
+        Path index = directory.resolve("osv.idx");
+        Map<String, Object> summary = VulnerabilityDatabase.build(source, index);
+        assertEquals(2, summary.get("advisories"));
+        assertEquals(2, summary.get("packages"));
+        VulnerabilityDatabase.useIndex(index);
+    }
+
+    // introduced 1.0, fixed 1.5, introduced 2.0, last_affected 2.3, listed out of order
+    @Test
+    void matchesMavenRangesAtTheirBoundaries() {
+        for (String version : List.of("1.0", "1.4.9", "2.0", "2.3")) {
+            assertEquals(List.of("GHSA-test-maven"), ids("pkg:maven/org.example/lib@" + version), version);
+        }
+        for (String version : List.of("0.9", "1.5", "1.9", "2.3.1")) {
+            assertEquals(List.of(), ids("pkg:maven/org.example/lib@" + version), version);
+        }
+    }
+
+    // introduced 0, fixed 1.3.0, plus 2.0.0 listed explicitly
+    @Test
+    void matchesNpmRangesAndExplicitVersions() {
+        for (String version : List.of("0.0.1", "1.2.9", "2.0.0")) {
+            assertEquals(List.of("GHSA-test-npm"), ids("pkg:npm/left-pad@" + version), version);
+        }
+        for (String version : List.of("1.3.0", "1.9.9", "2.0.1")) {
+            assertEquals(List.of(), ids("pkg:npm/left-pad@" + version), version);
+        }
+    }
+
+    @Test
+    void reportsCarryTheAdvisoryDetails() {
+        ComponentReport.Vulnerability maven = VulnerabilityDatabase.componentReport("pkg:maven/org.example/lib@1.0")
+                .vulnerabilities().get(0);
+        assertEquals("Two affected ranges of org.example:lib", maven.title());
+        assertEquals("CVE-2099-0001", maven.cve());
+        assertEquals(9.8, maven.cvssScore());
+
+        ComponentReport.Vulnerability npm = VulnerabilityDatabase.componentReport("pkg:npm/left-pad@1.0.0")
+                .vulnerabilities().get(0);
+        assertEquals("Everything before 1.3.0 and one later release of left-pad", npm.title());
+        assertEquals(6.1, npm.cvssScore());
+    }
+
+    @Test
+    void leavesUnknownPackagesAndEcosystemsToOssIndex() {
+        assertEquals(List.of(), ids("pkg:maven/org.example/other@1.0"));
+        assertNull(VulnerabilityDatabase.componentReport("pkg:pypi/requests@1.0"));
+    }
+
+    @Test
+    void scoresKnownCvssVectors() {
+        assertEquals(9.8, VulnerabilityDatabase.Cvss.baseScore("CVSS:3.1/AV:N/AC:L/PR:N/UI:N/S:U/C:H/I:H/A:H"));
+        assertEquals(10.0, VulnerabilityDatabase.Cvss.baseScore("CVSS:3.1/AV:N/AC:L/PR:N/UI:N/S:C/C:H/I:H/A:H"));
+        assertEquals(7.8, VulnerabilityDatabase.Cvss.baseScore("CVSS:3.1/AV:L/AC:L/PR:L/UI:N/S:U/C:H/I:H/A:H"));
+        assertEquals(6.1, VulnerabilityDatabase.Cvss.baseScore("CVSS:3.1/AV:N/AC:L/PR:N/UI:R/S:C/C:L/I:L/A:N"));
+        assertEquals(5.9, VulnerabilityDatabase.Cvss.baseScore("CVSS:3.0/AV:N/AC:H/PR:N/UI:N/S:U/C:H/I:N/A:N"));
+        assertEquals(0.0, VulnerabilityDatabase.Cvss.baseScore("CVSS:3.1/AV:N/AC:L/PR:N/UI:N/S:U/C:N/I:N/A:N"));
+    }
+
+    @Test
+    void incompleteOrUnknownVectorsScoreNaN() {
+        assertTrue(Double.isNaN(VulnerabilityDatabase.Cvss.baseScore("CVSS:3.1/AC:L/PR:N/UI:N/S:U/C:H/I:H/A:H")));
+        assertTrue(Double.isNaN(VulnerabilityDatabase.Cvss.baseScore("CVSS:3.1/AV:N/AC:L/PR:N/UI:N/C:H/I:H/A:H")));
+        assertTrue(Double.isNaN(VulnerabilityDatabase.Cvss.baseScore("CVSS:3.1/AV:X/AC:L/PR:N/UI:N/S:U/C:H/I:H/A:H")));
+        assertTrue(Double.isNaN(VulnerabilityDatabase.Cvss.baseScore("not a vector")));
+    }
+
+    private static List<String> ids(String packageUrl) {
+        return VulnerabilityDatabase.componentReport(packageUrl).vulnerabilities().stream()
+                .map(ComponentReport.Vulnerability::id)
+                .toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.hackthon.dependecy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VulnerabilityReportCacheTest {
+
+    @BeforeEach
+    void emptyCacheOfTen() {
+        VulnerabilityReportCache.reset(10);
+    }
+
+    @Test
+    void makesRoomByEvictingTheSoonestExpiring() {
+        long evictions = (Long) VulnerabilityReportCache.stats().get("evictions");
+        for (int i = 0; i < 10; i++) {
+            VulnerabilityReportCache.put("pkg:maven/org.example/clean-" + i + "@1.0", report("clean-" + i, false));
+        }
+        // Vulnerable reports live longer than clean ones, so a clean report makes room
+        VulnerabilityReportCache.put("pkg:maven/org.example/vulnerable@1.0", report("vulnerable", true));
+
+        assertEquals(10, VulnerabilityReportCache.stats().get("entries"));
+        assertEquals(evictions + 1, VulnerabilityReportCache.stats().get("evictions"));
+        assertNotNull(VulnerabilityReportCache.get("pkg:maven/org.example/vulnerable@1.0"));
+        int clean = 0;
+        for (int i = 0; i < 10; i++) {
+            if (VulnerabilityReportCache.get("pkg:maven/org.example/clean-" + i + "@1.0") != null) {
+                clean++;
+            }
+        }
+        assertEquals(9, clean);
+    }
+
+    @Test
+    void cleanReportsExpireBeforeVulnerableOnes() {
+        VulnerabilityReportCache.put("pkg:maven/org.example/clean@1.0", report("clean", false));
+        VulnerabilityReportCache.put("pkg:maven/org.example/vulnerable@1.0", report("vulnerable", true));
+
+        long clean = VulnerabilityReportCache.remainingMillis("pkg:maven/org.example/clean@1.0");
+        long vulnerable = VulnerabilityReportCache.remainingMillis("pkg:maven/org.example/vulnerable@1.0");
+        assertTrue(clean > 0 && clean < vulnerable, clean + " vs " + vulnerable);
+        assertEquals(0, VulnerabilityReportCache.remainingMillis("pkg:maven/org.example/unknown@1.0"));
+    }
+
+    private static ComponentReport report(String name, boolean vulnerable) {
+        List<ComponentReport.Vulnerability> vulnerabilities = vulnerable
+                ? List.of(new ComponentReport.Vulnerability("CVE-0000-0001", null, "Test", null, 7.5, null, null, null, null, null))
+                : List.of();
+        return new ComponentReport("pkg:maven/org.example/" + name + "@1.0", null, null, vulnerabilities, null, null, null);
+    }
+}